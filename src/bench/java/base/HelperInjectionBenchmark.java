@@ -0,0 +1,61 @@
+package base;
+
+import benchmarks.StubElementDriver;
+import helpers.AppHelper;
+import helpers.HelperSetupBenchmark;
+import helpers.SeleniumElementsHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Field injection as done by TestBase for every test: into each helper and into the test instance.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HelperInjectionBenchmark {
+
+    private final Map<Class<?>, Object> helpers = new HashMap<>();
+    private final TestInstance testInstance = new TestInstance();
+
+    @Setup
+    public void setUp() {
+        WebDriver driver = new StubElementDriver();
+        SeleniumElementsHelper seleniumElementsHelper = new SeleniumElementsHelper(driver, new WebDriverWait(driver, 150));
+        helpers.put(SeleniumElementsHelper.class, seleniumElementsHelper);
+        helpers.putAll(AppHelper.initAppHelpers(seleniumElementsHelper));
+    }
+
+    @Benchmark
+    public Object injectHelpers() throws Throwable {
+        for (Object helper : helpers.values()) {
+            HelperInjector.forClass(helper.getClass()).inject(helper, helpers);
+        }
+        HelperInjector.forClass(TestInstance.class).inject(testInstance, helpers);
+        return testInstance;
+    }
+
+    static class TestInstance {
+        private SeleniumElementsHelper seleniumElementsHelper;
+        private HelperSetupBenchmark.FormHelper formHelper;
+        private HelperSetupBenchmark.TableHelper tableHelper;
+        private HelperSetupBenchmark.NavigationHelper navigationHelper;
+    }
+}
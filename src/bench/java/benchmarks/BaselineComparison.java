@@ -0,0 +1,110 @@
+package benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares two JMH JSON result files benchmark by benchmark. A benchmark regressed when it is slower than the
+ * baseline by more than the threshold and the difference is larger than the combined error of both scores.
+ */
+final class BaselineComparison {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final List<Row> rows = new ArrayList<>();
+
+    private BaselineComparison() { }
+
+    static BaselineComparison of(Path baseline, Path current, double threshold) throws IOException {
+        Map<String, JsonNode> baselineScores = read(baseline);
+        BaselineComparison comparison = new BaselineComparison();
+        for (Map.Entry<String, JsonNode> entry : read(current).entrySet()) {
+            comparison.rows.add(new Row(entry.getKey(), baselineScores.get(entry.getKey()), entry.getValue(), threshold));
+        }
+        return comparison;
+    }
+
+    boolean hasRegressions() {
+        return rows.stream().anyMatch(row -> row.regressed);
+    }
+
+    String toMarkdown() {
+        StringBuilder report = new StringBuilder("| Benchmark | Baseline | Current | Change | |\n|---|---:|---:|---:|---|\n");
+        for (Row row : rows) {
+            report.append(String.format("| %s | %s | %.1f ± %.1f %s | %s | %s |%n", row.name,
+                    row.baseline == null ? "-" : String.format("%.1f ± %.1f", row.baselineScore, row.baselineError),
+                    row.currentScore, row.currentError, row.unit,
+                    row.baseline == null ? "new" : String.format("%+.1f%%", row.change * 100),
+                    row.regressed ? "REGRESSION" : row.improved ? "improved" : ""));
+        }
+        return report.toString();
+    }
+
+    /**
+     * Keyed by benchmark method plus its parameters, e.g. {@code benchmarks.WaitBenchmark.click(engine=fluent)}.
+     */
+    private static Map<String, JsonNode> read(Path file) throws IOException {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode result : MAPPER.readTree(file.toFile())) {
+            StringBuilder name = new StringBuilder(result.path("benchmark").asText());
+            JsonNode params = result.path("params");
+            if (params.size() > 0) {
+                List<String> values = new ArrayList<>();
+                for (Iterator<Map.Entry<String, JsonNode>> fields = params.fields(); fields.hasNext(); ) {
+                    Map.Entry<String, JsonNode> param = fields.next();
+                    values.add(param.getKey() + "=" + param.getValue().asText());
+                }
+                name.append('(').append(String.join(",", values)).append(')');
+            }
+            results.put(name.toString(), result);
+        }
+        return results;
+    }
+
+    private static final class Row {
+        private final String name;
+        private final JsonNode baseline;
+        private final double baselineScore;
+        private final double baselineError;
+        private final double currentScore;
+        private final double currentError;
+        private final String unit;
+        private final double change;
+        private final boolean regressed;
+        private final boolean improved;
+
+        private Row(String name, JsonNode baseline, JsonNode current, double threshold) {
+            this.name = name;
+            this.baseline = baseline;
+            this.currentScore = current.path("primaryMetric").path("score").asDouble();
+            this.currentError = errorOf(current);
+            this.unit = current.path("primaryMetric").path("scoreUnit").asText();
+            boolean higherIsBetter = "thrpt".equals(current.path("mode").asText());
+            if (baseline == null) {
+                baselineScore = baselineError = change = 0;
+                regressed = improved = false;
+                return;
+            }
+            this.baselineScore = baseline.path("primaryMetric").path("score").asDouble();
+            this.baselineError = errorOf(baseline);
+            double delta = higherIsBetter ? baselineScore - currentScore : currentScore - baselineScore;
+            this.change = baselineScore == 0 ? 0 : (currentScore - baselineScore) / baselineScore;
+            boolean significant = Math.abs(delta) > baselineError + currentError;
+            this.regressed = significant && delta > threshold * baselineScore;
+            this.improved = significant && -delta > threshold * baselineScore;
+        }
+
+        private static double errorOf(JsonNode result) {
+            double error = result.path("primaryMetric").path("scoreError").asDouble(0);
+            return Double.isNaN(error) ? 0 : error;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package benchmarks;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import utils.FrameworkConfig;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Runs the framework-overhead benchmarks and compares them with the checked-in baseline; started by
+ * {@code mvn -Pbenchmark test-compile exec:exec@run-benchmarks}. Arguments are passed on to JMH (e.g. a benchmark regex, {@code -f 2}). Settings:
+ * <ul>
+ *     <li>{@code fast.benchmark.baseline} - default {@code src/bench/resources/benchmark-baseline.json}</li>
+ *     <li>{@code fast.benchmark.outputDir} - results and comparison report, default {@code target/benchmarks}</li>
+ *     <li>{@code fast.benchmark.threshold} - allowed slowdown, default {@code 0.25} (25%)</li>
+ *     <li>{@code fast.benchmark.failOnRegression} - exit with 1 on a regression, default {@code true}</li>
+ *     <li>{@code fast.benchmark.updateBaseline} - replace the baseline with this run, default {@code false}</li>
+ * </ul>
+ */
+public final class BenchmarkRunner {
+    private static final Logger LOG = LogManager.getLogger(BenchmarkRunner.class);
+
+    private BenchmarkRunner() { }
+
+    public static void main(String[] args) throws Exception {
+        Path baseline = Paths.get(FrameworkConfig.get("fast.benchmark.baseline", "src/bench/resources/benchmark-baseline.json"));
+        Path outputDirectory = Paths.get(FrameworkConfig.get("fast.benchmark.outputDir", "target/benchmarks"));
+        Path results = outputDirectory.resolve("results.json");
+        Files.createDirectories(outputDirectory);
+
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .resultFormat(ResultFormatType.JSON)
+                .result(results.toString())
+                .build();
+        new Runner(options).run();
+
+        if (FrameworkConfig.getBoolean("fast.benchmark.updateBaseline", false) || !Files.exists(baseline)) {
+            Files.createDirectories(baseline.toAbsolutePath().getParent());
+            Files.copy(results, baseline, StandardCopyOption.REPLACE_EXISTING);
+            LOG.info("Baseline {} updated from {}", baseline, results);
+            return;
+        }
+        double threshold = Double.parseDouble(FrameworkConfig.get("fast.benchmark.threshold", "0.25"));
+        BaselineComparison comparison = BaselineComparison.of(baseline, results, threshold);
+        String report = comparison.toMarkdown();
+        Files.write(outputDirectory.resolve("comparison.md"), report.getBytes(StandardCharsets.UTF_8));
+        LOG.info("Benchmarks compared with {} (threshold {}%):{}{}", baseline, Math.round(threshold * 100), System.lineSeparator(), report);
+        if (comparison.hasRegressions()) {
+            LOG.error("Framework overhead regressed by more than {}%, see {}", Math.round(threshold * 100), outputDirectory.resolve("comparison.md"));
+            if (FrameworkConfig.getBoolean("fast.benchmark.failOnRegression", true)) {
+                System.exit(1);
+            }
+        }
+    }
+}
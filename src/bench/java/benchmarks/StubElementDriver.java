@@ -0,0 +1,55 @@
+package benchmarks;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.WebElement;
+import utils.drivers.StubWebDriver;
+
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * {@link StubWebDriver} whose lookups always find one visible, enabled element, so helper and wait code runs its
+ * success path without a browser. Benchmarks measure the framework around the driver, not the driver.
+ */
+public class StubElementDriver extends StubWebDriver {
+
+    private final WebElement element = (WebElement) Proxy.newProxyInstance(getClass().getClassLoader(),
+            new Class<?>[]{WebElement.class}, (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "isDisplayed":
+                    case "isEnabled":
+                        return true;
+                    case "isSelected":
+                        return false;
+                    case "getText":
+                    case "getAttribute":
+                        return "text";
+                    case "getLocation":
+                        return new Point(0, 0);
+                    case "findElements":
+                        return Collections.emptyList();
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "equals":
+                        return proxy == args[0];
+                    default:
+                        return null;
+                }
+            });
+
+    public StubElementDriver() {
+        super("chrome");
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        return element;
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        return Collections.singletonList(element);
+    }
+}
@@ -0,0 +1,64 @@
+package benchmarks;
+
+import helpers.AdaptiveWaitEngine;
+import helpers.FluentWaitEngine;
+import helpers.SeleniumElementsHelper;
+import helpers.WaitEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overhead of the SeleniumElementsHelper wait path (condition, engine, statistics) when the element is already there.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WaitBenchmark {
+
+    private static final By LOCATOR = By.id("submit");
+
+    @Param({"adaptive", "fluent"})
+    public String engine;
+
+    private SeleniumElementsHelper seleniumElementsHelper;
+
+    @Setup
+    public void setUp() {
+        WebDriver driver = new StubElementDriver();
+        WaitEngine waitEngine = "fluent".equals(engine) ? new FluentWaitEngine(driver) : new AdaptiveWaitEngine(driver);
+        seleniumElementsHelper = new SeleniumElementsHelper(driver, new WebDriverWait(driver, 150), waitEngine);
+    }
+
+    @Benchmark
+    public WebElement findElement() {
+        return seleniumElementsHelper.findElement(LOCATOR);
+    }
+
+    @Benchmark
+    public void click() {
+        seleniumElementsHelper.click(LOCATOR);
+    }
+
+    @Benchmark
+    public String getElementText() {
+        return seleniumElementsHelper.getElementText(LOCATOR);
+    }
+}
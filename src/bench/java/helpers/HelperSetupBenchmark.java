@@ -0,0 +1,68 @@
+package helpers;
+
+import benchmarks.StubElementDriver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-test cost of {@link AppHelper#initAppHelpers}. The nested helpers are what the registry discovers here;
+ * the first call (the classpath scan) happens in setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HelperSetupBenchmark {
+
+    private SeleniumElementsHelper seleniumElementsHelper;
+
+    @Setup
+    public void setUp() {
+        WebDriver driver = new StubElementDriver();
+        seleniumElementsHelper = new SeleniumElementsHelper(driver, new WebDriverWait(driver, 150));
+        AppHelper.initAppHelpers(seleniumElementsHelper);
+    }
+
+    @Benchmark
+    public Map<Class<? extends AppHelper>, AppHelper> initAppHelpers() {
+        return AppHelper.initAppHelpers(seleniumElementsHelper);
+    }
+
+    public static class FormHelper extends AppHelper {
+        public FormHelper(SeleniumElementsHelper seleniumElementsHelper) {
+            super(seleniumElementsHelper);
+        }
+    }
+
+    public static class TableHelper extends AppHelper {
+        private FormHelper formHelper;
+
+        public TableHelper(SeleniumElementsHelper seleniumElementsHelper) {
+            super(seleniumElementsHelper);
+        }
+    }
+
+    public static class NavigationHelper extends AppHelper {
+        private FormHelper formHelper;
+        private TableHelper tableHelper;
+
+        public NavigationHelper(SeleniumElementsHelper seleniumElementsHelper) {
+            super(seleniumElementsHelper);
+        }
+    }
+}
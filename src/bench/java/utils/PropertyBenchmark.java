@@ -0,0 +1,77 @@
+package utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Property lookups through {@link IPropertyGet}: plain, with message parameters, and parsed as numbers and dates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PropertyBenchmark {
+
+    @PropertyFile("benchmark.properties")
+    public enum BenchmarkProperty implements IPropertyGet {
+        BASE_URL,
+        WELCOME_MESSAGE,
+        TIMEOUT,
+        RELEASE_DATE,
+        RELEASE_DATETIME
+    }
+
+    @Setup
+    public void setUp() {
+        PropertyHelper.initProperties(BenchmarkProperty.class, BenchmarkProperty.class.getAnnotation(PropertyFile.class).value());
+    }
+
+    @Benchmark
+    public String get() {
+        return BenchmarkProperty.BASE_URL.get();
+    }
+
+    @Benchmark
+    public String getWithParameters() {
+        return BenchmarkProperty.WELCOME_MESSAGE.get("John", "Doe");
+    }
+
+    @Benchmark
+    public Integer getInt() {
+        return BenchmarkProperty.TIMEOUT.getInt();
+    }
+
+    @Benchmark
+    public int getIntWithDefault() {
+        return BenchmarkProperty.TIMEOUT.getInt(0);
+    }
+
+    @Benchmark
+    public Date getDate() {
+        return BenchmarkProperty.RELEASE_DATE.getDate();
+    }
+
+    @Benchmark
+    public Date getDateTime() {
+        return BenchmarkProperty.RELEASE_DATETIME.getDateTime();
+    }
+
+    @Benchmark
+    public LocalDate getLocalDate() {
+        return BenchmarkProperty.RELEASE_DATE.getLocalDate();
+    }
+}
@@ -0,0 +1,164 @@
+package api;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.model.Attachment;
+import okhttp3.HttpUrl;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import utils.FrameworkConfig;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Records API exchanges as Allure attachments of the test that sent them. Bodies are cut at
+ * {@code fast.api.attachment.maxBytes} (default 16 KB) so suites with thousands of calls keep small reports;
+ * {@code fast.api.attachments=false} turns the attachments off. Exchanges of async calls are attached to the test
+ * that started them, whichever thread completes them.
+ */
+final class ApiAttachments {
+    private static final Logger LOG = LogManager.getLogger(ApiAttachments.class);
+
+    static final int MAX_BYTES = FrameworkConfig.getInt("fast.api.attachment.maxBytes", 16 * 1024);
+    private static final boolean ENABLED = FrameworkConfig.getBoolean("fast.api.attachments", true);
+
+    private ApiAttachments() { }
+
+    static Exchange start(String method, HttpUrl url, byte[] requestBody) {
+        String testCase = null;
+        if (ENABLED) {
+            Optional<String> current = Allure.getLifecycle().getCurrentTestCase();
+            testCase = current.orElse(null);
+        }
+        return new Exchange(method, url.toString(), requestBody, testCase);
+    }
+
+    static byte[] preview(byte[] content) {
+        return content.length <= MAX_BYTES ? content : Arrays.copyOf(content, MAX_BYTES);
+    }
+
+    static final class Exchange {
+        private final String method;
+        private final String url;
+        private final byte[] requestBody;
+        private final String testCase;
+        private final Thread thread = Thread.currentThread();
+        private final long start = System.nanoTime();
+
+        private Exchange(String method, String url, byte[] requestBody, String testCase) {
+            this.method = method;
+            this.url = url;
+            this.requestBody = requestBody;
+            this.testCase = testCase;
+        }
+
+        String getMethod() {
+            return method;
+        }
+
+        String getUrl() {
+            return url;
+        }
+
+        long elapsedNanos() {
+            return System.nanoTime() - start;
+        }
+
+        void finish(int status, byte[] responsePreview, long responseBytes) {
+            long nanos = elapsedNanos();
+            ApiClient.record(nanos, status >= 400);
+            attach(method + " " + url + " -> " + status, describe(nanos, "< " + status, responsePreview, responseBytes));
+        }
+
+        void fail(IOException e) {
+            long nanos = elapsedNanos();
+            ApiClient.record(nanos, true);
+            attach(method + " " + url + " -> " + e.getClass().getSimpleName(), describe(nanos, "< " + e, new byte[0], 0));
+        }
+
+        private String describe(long nanos, String outcome, byte[] responsePreview, long responseBytes) {
+            StringBuilder text = new StringBuilder(method).append(' ').append(url).append('\n');
+            if (requestBody != null) {
+                text.append(new String(requestBody, StandardCharsets.UTF_8)).append('\n');
+            }
+            text.append('\n').append(outcome).append(" (").append(nanos / 1_000_000).append(" ms, ").append(responseBytes).append(" bytes)\n")
+                    .append(new String(responsePreview, StandardCharsets.UTF_8));
+            if (responseBytes > responsePreview.length) {
+                text.append("\n... ").append(responseBytes - responsePreview.length).append(" more bytes");
+            }
+            return text.toString();
+        }
+
+        private void attach(String name, String content) {
+            if (testCase == null) {
+                return;
+            }
+            if (Thread.currentThread() == thread) {
+                Allure.addAttachment(name, "text/plain", content, ".txt");
+                return;
+            }
+            AllureLifecycle lifecycle = Allure.getLifecycle();
+            String source = UUID.randomUUID() + "-attachment.txt";
+            try {
+                lifecycle.writeAttachment(source, new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+                lifecycle.updateTestCase(testCase, result -> result.getAttachments()
+                        .add(new Attachment().setName(name).setType("text/plain").setSource(source)));
+            } catch (RuntimeException e) {
+                LOG.debug("Could not attach {} to test {}: {}", name, testCase, e.toString());
+            }
+        }
+    }
+
+    /**
+     * Keeps a copy of the first {@link #MAX_BYTES} bytes of a streamed response body for the attachment.
+     */
+    static final class CapturingInputStream extends FilterInputStream {
+        private final ByteArrayOutputStream captured = new ByteArrayOutputStream();
+        private long totalBytes;
+
+        CapturingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                totalBytes++;
+                if (captured.size() < MAX_BYTES) {
+                    captured.write(b);
+                }
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                totalBytes += read;
+                int room = MAX_BYTES - captured.size();
+                if (room > 0) {
+                    captured.write(buffer, offset, Math.min(room, read));
+                }
+            }
+            return read;
+        }
+
+        byte[] getCaptured() {
+            return captured.toByteArray();
+        }
+
+        long getTotalBytes() {
+            return totalBytes;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package api;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.NonNull;
+import okhttp3.Call;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.EventListener;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import utils.FrameworkConfig;
+import utils.LatencyHistogram;
+
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Entry point of the API layer: creates requests against a base URL.
+ *
+ * <pre>
+ * ApiClient bookStore = new ApiClient(FrameworkConfig.get("fast.api.baseUrl", "https://demoqa.com"));
+ * BookList books = bookStore.get("/BookStore/v1/Books").executeAs(BookList.class);
+ * CompletableFuture&lt;ApiResponse&gt; token = bookStore.post("/Account/v1/GenerateToken").json(credentials).executeAsync();
+ * </pre>
+ *
+ * All clients share one OkHttp connection pool and dispatcher per JVM, so connections are reused across tests and
+ * threads; HTTP/2 is negotiated on TLS connections. Settings:
+ * <ul>
+ *     <li>{@code fast.api.maxIdleConnections} - default 64, {@code fast.api.keepAliveSeconds} - default 300</li>
+ *     <li>{@code fast.api.maxRequests} - concurrent async calls, default 256;
+ *     {@code fast.api.maxRequestsPerHost} - default 64</li>
+ *     <li>{@code fast.api.timeoutSeconds} - connect, read and write timeout, default 30</li>
+ * </ul>
+ * Every exchange is attached to the running Allure test, see {@link ApiAttachments}.
+ */
+public class ApiClient {
+
+    static final ObjectMapper MAPPER = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private static final LatencyHistogram LATENCY = new LatencyHistogram();
+    private static final AtomicLong FAILURES = new AtomicLong();
+    private static final AtomicLong CONNECTIONS_OPENED = new AtomicLong();
+
+    private final HttpUrl baseUrl;
+    private final Map<String, String> headers;
+
+    // Initialization-on-demand holder: one pool and dispatcher for all clients
+    private static final class Shared {
+        private static final OkHttpClient HTTP_CLIENT = createHttpClient();
+    }
+
+    public ApiClient(@NonNull String baseUrl) {
+        this(parse(baseUrl), Collections.emptyMap());
+    }
+
+    private ApiClient(HttpUrl baseUrl, Map<String, String> headers) {
+        this.baseUrl = baseUrl;
+        this.headers = headers;
+    }
+
+    /**
+     * @return a client that sends the header with every request; this client is unchanged.
+     */
+    public ApiClient withHeader(@NonNull String name, @NonNull String value) {
+        Map<String, String> newHeaders = new LinkedHashMap<>(headers);
+        newHeaders.put(name, value);
+        return new ApiClient(baseUrl, Collections.unmodifiableMap(newHeaders));
+    }
+
+    public ApiClient withBearerToken(@NonNull String token) {
+        return withHeader("Authorization", "Bearer " + token);
+    }
+
+    public ApiRequest get(@NonNull String path) {
+        return request("GET", path);
+    }
+
+    public ApiRequest post(@NonNull String path) {
+        return request("POST", path);
+    }
+
+    public ApiRequest put(@NonNull String path) {
+        return request("PUT", path);
+    }
+
+    public ApiRequest patch(@NonNull String path) {
+        return request("PATCH", path);
+    }
+
+    public ApiRequest delete(@NonNull String path) {
+        return request("DELETE", path);
+    }
+
+    public ApiRequest request(@NonNull String method, @NonNull String path) {
+        HttpUrl url = baseUrl.resolve(path.startsWith("/") ? path.substring(1) : path);
+        if (url == null) {
+            throw new IllegalArgumentException("Invalid path '" + path + "' for " + baseUrl);
+        }
+        ApiRequest request = new ApiRequest(Shared.HTTP_CLIENT, method, url);
+        headers.forEach(request::header);
+        return request;
+    }
+
+    public HttpUrl getBaseUrl() {
+        return baseUrl;
+    }
+
+    public static ObjectMapper getObjectMapper() {
+        return MAPPER;
+    }
+
+    public static String getStatistics() {
+        ConnectionPool pool = Shared.HTTP_CLIENT.connectionPool();
+        return String.format("API calls: %s, failed=%d, connections=%d (idle %d, opened %d)",
+                LATENCY, FAILURES.get(), pool.connectionCount(), pool.idleConnectionCount(), CONNECTIONS_OPENED.get());
+    }
+
+    /**
+     * @return how many connections the shared client has opened so far; calls served by a pooled connection open none.
+     */
+    public static long getConnectionsOpened() {
+        return CONNECTIONS_OPENED.get();
+    }
+
+    static void record(long nanos, boolean failed) {
+        LATENCY.record(nanos);
+        if (failed) {
+            FAILURES.incrementAndGet();
+        }
+    }
+
+    private static HttpUrl parse(String baseUrl) {
+        HttpUrl url = HttpUrl.parse(baseUrl.endsWith("/") ? baseUrl : baseUrl + "/");
+        if (url == null) {
+            throw new IllegalArgumentException("Invalid base URL: " + baseUrl);
+        }
+        return url;
+    }
+
+    private static OkHttpClient createHttpClient() {
+        AtomicInteger threads = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60, TimeUnit.SECONDS, new SynchronousQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "fast-api-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Dispatcher dispatcher = new Dispatcher(executor);
+        dispatcher.setMaxRequests(FrameworkConfig.getInt("fast.api.maxRequests", 256));
+        dispatcher.setMaxRequestsPerHost(FrameworkConfig.getInt("fast.api.maxRequestsPerHost", 64));
+        long timeoutSeconds = FrameworkConfig.getLong("fast.api.timeoutSeconds", 30);
+        return new OkHttpClient.Builder()
+                .connectionPool(new ConnectionPool(FrameworkConfig.getInt("fast.api.maxIdleConnections", 64),
+                        FrameworkConfig.getLong("fast.api.keepAliveSeconds", 300), TimeUnit.SECONDS))
+                .dispatcher(dispatcher)
+                .eventListener(new EventListener() {
+                    @Override
+                    public void connectStart(Call call, InetSocketAddress inetSocketAddress, Proxy proxy) {
+                        CONNECTIONS_OPENED.incrementAndGet();
+                    }
+                })
+                .protocols(Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1))
+                .connectTimeout(timeoutSeconds, TimeUnit.SECONDS)
+                .readTimeout(timeoutSeconds, TimeUnit.SECONDS)
+                .writeTimeout(timeoutSeconds, TimeUnit.SECONDS)
+                .build();
+    }
+}
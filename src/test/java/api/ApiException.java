@@ -0,0 +1,28 @@
+package api;
+
+/**
+ * An API call that failed: no response (I/O error, timeout) or a response with an unexpected status.
+ */
+public class ApiException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int status;
+
+    public ApiException(String message, int status) {
+        super(message);
+        this.status = status;
+    }
+
+    public ApiException(String message, Throwable cause) {
+        super(message, cause);
+        this.status = -1;
+    }
+
+    /**
+     * @return HTTP status of the response, or -1 when no response was received.
+     */
+    public int getStatus() {
+        return status;
+    }
+}
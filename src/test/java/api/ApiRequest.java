@@ -0,0 +1,219 @@
+package api;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import lombok.NonNull;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.FormBody;
+import okhttp3.HttpUrl;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * A request under construction. Send it with {@link #execute()}, {@link #executeAsync()}, or, for large bodies,
+ * deserialize the response while it is read with {@link #executeAs(Class)} and {@link #stream(String, Class, Consumer)}.
+ */
+public class ApiRequest {
+
+    private static final MediaType JSON = MediaType.parse("application/json; charset=utf-8");
+
+    private final OkHttpClient httpClient;
+    private final String method;
+    private final HttpUrl.Builder url;
+    private final Request.Builder request = new Request.Builder();
+    private RequestBody body;
+    private byte[] bodyPreview;
+
+    ApiRequest(OkHttpClient httpClient, String method, HttpUrl url) {
+        this.httpClient = httpClient;
+        this.method = method;
+        this.url = url.newBuilder();
+    }
+
+    public ApiRequest header(@NonNull String name, @NonNull String value) {
+        request.header(name, value);
+        return this;
+    }
+
+    public ApiRequest query(@NonNull String name, Object value) {
+        url.addQueryParameter(name, value == null ? null : String.valueOf(value));
+        return this;
+    }
+
+    /**
+     * Sends the object serialized as JSON.
+     */
+    public ApiRequest json(@NonNull Object value) {
+        byte[] content;
+        try {
+            content = ApiClient.MAPPER.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialize " + value.getClass().getSimpleName() + " to JSON", e);
+        }
+        return body(content, JSON);
+    }
+
+    public ApiRequest body(@NonNull String content, @NonNull String contentType) {
+        MediaType mediaType = MediaType.parse(contentType);
+        return body(content.getBytes(mediaType != null && mediaType.charset() != null ? mediaType.charset() : StandardCharsets.UTF_8), mediaType);
+    }
+
+    public ApiRequest form(@NonNull Map<String, String> fields) {
+        FormBody.Builder form = new FormBody.Builder();
+        fields.forEach(form::add);
+        this.body = form.build();
+        this.bodyPreview = ApiAttachments.preview(fields.toString().getBytes(StandardCharsets.UTF_8));
+        return this;
+    }
+
+    private ApiRequest body(byte[] content, MediaType mediaType) {
+        this.body = RequestBody.create(mediaType, content);
+        this.bodyPreview = ApiAttachments.preview(content);
+        return this;
+    }
+
+    public ApiResponse execute() {
+        ApiAttachments.Exchange exchange = ApiAttachments.start(method, url.build(), bodyPreview);
+        try (Response response = httpClient.newCall(build()).execute()) {
+            return complete(exchange, response);
+        } catch (IOException e) {
+            throw fail(exchange, e);
+        }
+    }
+
+    /**
+     * Sends the request without blocking; the future completes on an OkHttp dispatcher thread.
+     */
+    public CompletableFuture<ApiResponse> executeAsync() {
+        ApiAttachments.Exchange exchange = ApiAttachments.start(method, url.build(), bodyPreview);
+        CompletableFuture<ApiResponse> future = new CompletableFuture<>();
+        httpClient.newCall(build()).enqueue(new Callback() {
+            @Override
+            public void onResponse(Call call, Response response) {
+                try (Response closing = response) {
+                    future.complete(complete(exchange, closing));
+                } catch (IOException e) {
+                    future.completeExceptionally(fail(exchange, e));
+                } catch (RuntimeException e) {
+                    future.completeExceptionally(e);
+                }
+            }
+
+            @Override
+            public void onFailure(Call call, IOException e) {
+                future.completeExceptionally(fail(exchange, e));
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Deserializes a successful response while it is read, without buffering the body.
+     *
+     * @throws ApiException when the status is not 2xx.
+     */
+    public <T> T executeAs(@NonNull Class<T> type) {
+        return executeStreaming(input -> ApiClient.MAPPER.readValue(input, type));
+    }
+
+    /**
+     * Deserializes the elements of a JSON array one at a time and hands them to the consumer, so arbitrarily large
+     * lists are processed in constant memory.
+     *
+     * @param arrayField field of the root object holding the array, or null when the body is the array.
+     * @return number of elements read.
+     */
+    public <T> long stream(String arrayField, @NonNull Class<T> elementType, @NonNull Consumer<? super T> consumer) {
+        return executeStreaming(input -> {
+            try (JsonParser parser = ApiClient.MAPPER.getFactory().createParser(input)) {
+                moveToArray(parser, arrayField);
+                long count = 0;
+                JsonToken token;
+                while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                    if (token == null) {
+                        throw new ApiException("Truncated JSON array after " + count + " elements", -1);
+                    }
+                    consumer.accept(parser.readValueAs(elementType));
+                    count++;
+                }
+                return count;
+            }
+        });
+    }
+
+    private static void moveToArray(JsonParser parser, String arrayField) throws IOException {
+        JsonToken token = parser.nextToken();
+        if (arrayField == null) {
+            if (token != JsonToken.START_ARRAY) {
+                throw new ApiException("Expected a JSON array but got " + token, -1);
+            }
+            return;
+        }
+        while ((token = parser.nextToken()) != null && token != JsonToken.END_OBJECT) {
+            if (token == JsonToken.FIELD_NAME && arrayField.equals(parser.getCurrentName())) {
+                if (parser.nextToken() != JsonToken.START_ARRAY) {
+                    throw new ApiException("Field '" + arrayField + "' is not a JSON array", -1);
+                }
+                return;
+            }
+            parser.nextToken();
+            parser.skipChildren();
+        }
+        throw new ApiException("No array field '" + arrayField + "' in the response", -1);
+    }
+
+    private interface BodyReader<T> {
+        T read(InputStream input) throws IOException;
+    }
+
+    private <T> T executeStreaming(BodyReader<T> reader) {
+        ApiAttachments.Exchange exchange = ApiAttachments.start(method, url.build(), bodyPreview);
+        try (Response response = httpClient.newCall(build()).execute()) {
+            if (!response.isSuccessful()) {
+                ApiResponse failed = complete(exchange, response);
+                throw new ApiException(failed + ": " + new String(ApiAttachments.preview(failed.getBodyBytes()), StandardCharsets.UTF_8), failed.getStatus());
+            }
+            ResponseBody responseBody = response.body();
+            ApiAttachments.CapturingInputStream input = new ApiAttachments.CapturingInputStream(responseBody.byteStream());
+            T value = reader.read(input);
+            exchange.finish(response.code(), input.getCaptured(), input.getTotalBytes());
+            return value;
+        } catch (IOException e) {
+            throw fail(exchange, e);
+        }
+    }
+
+    private Request build() {
+        return request.url(url.build()).method(method, body != null ? body : emptyBodyFor(method)).build();
+    }
+
+    private static RequestBody emptyBodyFor(String method) {
+        return "POST".equals(method) || "PUT".equals(method) || "PATCH".equals(method) ? RequestBody.create(null, new byte[0]) : null;
+    }
+
+    private static ApiResponse complete(ApiAttachments.Exchange exchange, Response response) throws IOException {
+        byte[] content = response.body() != null ? response.body().bytes() : new byte[0];
+        ApiResponse apiResponse = new ApiResponse(exchange.getMethod(), exchange.getUrl(), response.code(), response.headers(),
+                content, exchange.elapsedNanos(), response.protocol());
+        exchange.finish(response.code(), ApiAttachments.preview(content), content.length);
+        return apiResponse;
+    }
+
+    private static ApiException fail(ApiAttachments.Exchange exchange, IOException e) {
+        exchange.fail(e);
+        return new ApiException(exchange.getMethod() + " " + exchange.getUrl() + " failed: " + e, e);
+    }
+}
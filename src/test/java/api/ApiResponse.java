@@ -0,0 +1,106 @@
+package api;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.NonNull;
+import okhttp3.Headers;
+import okhttp3.Protocol;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A received response with its body fully read.
+ */
+public final class ApiResponse {
+
+    private final String method;
+    private final String url;
+    private final int status;
+    private final Headers headers;
+    private final byte[] body;
+    private final long elapsedNanos;
+    private final Protocol protocol;
+
+    ApiResponse(String method, String url, int status, Headers headers, byte[] body, long elapsedNanos, Protocol protocol) {
+        this.method = method;
+        this.url = url;
+        this.status = status;
+        this.headers = headers;
+        this.body = body;
+        this.elapsedNanos = elapsedNanos;
+        this.protocol = protocol;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public boolean isSuccessful() {
+        return status >= 200 && status < 300;
+    }
+
+    public String getHeader(@NonNull String name) {
+        return headers.get(name);
+    }
+
+    public Headers getHeaders() {
+        return headers;
+    }
+
+    public String getBody() {
+        return new String(body, StandardCharsets.UTF_8);
+    }
+
+    public byte[] getBodyBytes() {
+        return body.clone();
+    }
+
+    public long getElapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+    }
+
+    public Protocol getProtocol() {
+        return protocol;
+    }
+
+    public <T> T as(@NonNull Class<T> type) {
+        try {
+            return ApiClient.MAPPER.readValue(body, type);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read the response of " + method + " " + url + " as " + type.getSimpleName(), e);
+        }
+    }
+
+    public <T> T as(@NonNull TypeReference<T> type) {
+        try {
+            return ApiClient.MAPPER.readValue(body, type);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read the response of " + method + " " + url + " as " + type.getType(), e);
+        }
+    }
+
+    public JsonNode asJson() {
+        return as(JsonNode.class);
+    }
+
+    /**
+     * @throws ApiException with the status and the start of the body when the status is none of the expected ones.
+     */
+    public ApiResponse assertStatus(int... expected) {
+        for (int code : expected) {
+            if (code == status) {
+                return this;
+            }
+        }
+        throw new ApiException(method + " " + url + " returned " + status + ": "
+                + new String(ApiAttachments.preview(body), StandardCharsets.UTF_8), status);
+    }
+
+    @Override
+    public String toString() {
+        return method + " " + url + " -> " + status + " (" + getElapsedMillis() + " ms, " + body.length + " bytes)";
+    }
+}
@@ -0,0 +1,135 @@
+package api;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.NonNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Embedded HTTP server on a free local port that stands in for a real API in tests of the API layer.
+ * Routes are matched on method and path; anything else gets a 404.
+ *
+ * <pre>
+ * try (LocalApiServer server = LocalApiServer.start()) {
+ *     server.json("GET", "/BookStore/v1/Books", 200, books);
+ *     BookList list = new ApiClient(server.getBaseUrl()).get("/BookStore/v1/Books").executeAs(BookList.class);
+ * }
+ * </pre>
+ */
+public class LocalApiServer implements AutoCloseable {
+
+    public interface Handler {
+        void handle(HttpExchange exchange) throws IOException;
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Map<String, Handler> routes = new ConcurrentHashMap<>();
+    private final AtomicLong requests = new AtomicLong();
+
+    private LocalApiServer(HttpServer server, ExecutorService executor) {
+        this.server = server;
+        this.executor = executor;
+    }
+
+    public static LocalApiServer start() throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 256);
+        AtomicInteger threads = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(16, runnable -> {
+            Thread thread = new Thread(runnable, "local-api-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        LocalApiServer localApiServer = new LocalApiServer(server, executor);
+        server.createContext("/", localApiServer::dispatch);
+        server.setExecutor(executor);
+        server.start();
+        return localApiServer;
+    }
+
+    public LocalApiServer route(@NonNull String method, @NonNull String path, @NonNull Handler handler) {
+        routes.put(method + " " + path, handler);
+        return this;
+    }
+
+    /**
+     * Answers every request of the route with the object serialized as JSON.
+     */
+    public LocalApiServer json(@NonNull String method, @NonNull String path, int status, @NonNull Object body) {
+        byte[] content = toJson(body);
+        return route(method, path, exchange -> respond(exchange, status, "application/json", content));
+    }
+
+    public String getBaseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    public static byte[] readBody(HttpExchange exchange) throws IOException {
+        try (InputStream input = exchange.getRequestBody()) {
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = input.read(buffer)) > 0) {
+                body.write(buffer, 0, read);
+            }
+            return body.toByteArray();
+        }
+    }
+
+    public static void respond(HttpExchange exchange, int status, String contentType, byte[] content) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, content.length == 0 ? -1 : content.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(content);
+        }
+    }
+
+    public static byte[] toJson(Object value) {
+        try {
+            return ApiClient.MAPPER.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void dispatch(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        try {
+            Handler handler = routes.get(exchange.getRequestMethod() + " " + exchange.getRequestURI().getPath());
+            if (handler == null) {
+                readBody(exchange);
+                respond(exchange, 404, "application/json",
+                        ("{\"code\":\"404\",\"message\":\"No route for " + exchange.getRequestURI().getPath() + "\"}").getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+            handler.handle(exchange);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,33 @@
+package base;
+
+import org.apache.logging.log4j.Logger;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import utils.ThreadLogger;
+import utils.reporting.AllureResults;
+import utils.reporting.FailureArtifacts;
+
+/**
+ * Registered in {@code META-INF/services/org.testng.ITestNGListener}. Test classes come first on the classpath,
+ * so TestNG creates this listener before the Allure listener, which picks up the lifecycle installed here.
+ */
+public class AllureResultsListener implements ISuiteListener {
+
+    private static final Logger LOG = ThreadLogger.getLogger(AllureResultsListener.class);
+
+    static {
+        AllureResults.install();
+    }
+
+    @Override
+    public void onStart(ISuite suite) {
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        FailureArtifacts.flush();  // screenshots and page sources of the last failures may still be queued
+        AllureResults.flush();  // the report is generated right after the suite
+        LOG.info(FailureArtifacts.getStatistics());
+        LOG.info(AllureResults.getStatistics());
+    }
+}
@@ -0,0 +1,183 @@
+package base;
+
+import org.apache.logging.log4j.Logger;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestContext;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+import utils.FrameworkConfig;
+import utils.LocalDurationStore;
+import utils.TestDurationHistory;
+import utils.ThreadLogger;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Orders test methods longest first, so the slow tests start while every worker is still busy instead of running
+ * alone at the end of a parallel run. Durations come from the Allure history (see {@link TestDurationHistory})
+ * overridden by the local history store {@code fast.schedule.historyFile} (default {@code target/test-durations.json}),
+ * which is updated with the measured durations after every suite.
+ *
+ * <p>Tests can be tagged through TestNG groups:
+ * <ul>
+ *     <li>{@code fast.schedule.isolatedGroups} (default {@code isolated}) - resource-heavy tests that run alone;
+ *     they are scheduled last, when the other workers would run out of work anyway</li>
+ *     <li>{@code fast.schedule.serialGroups} (default {@code serial}) - tests of the same group never run
+ *     at the same time, e.g. because they share an account, but run alongside everything else</li>
+ * </ul>
+ * Disable the reordering with {@code -Dfast.schedule.longestFirst=false}; isolation still applies. Recorded durations
+ * exclude the time a test waited for isolation.
+ */
+public class DurationScheduler implements IMethodInterceptor, IInvokedMethodListener, ISuiteListener {
+
+    private static final Logger LOG = ThreadLogger.getLogger(DurationScheduler.class);
+
+    private static final ReadWriteLock ISOLATION = new ReentrantReadWriteLock();
+    private static final Map<String, Lock> SERIAL_GROUPS = new ConcurrentHashMap<>();
+    private static final ThreadLocal<Deque<Lock>> HELD = ThreadLocal.withInitial(ArrayDeque::new);
+    private static final ThreadLocal<Long> STARTED = new ThreadLocal<>();
+
+    private static final class StoreHolder {
+        private static final LocalDurationStore STORE = LocalDurationStore.load(historyFile());
+        private static final TestDurationHistory HISTORY =
+                TestDurationHistory.load(TestDurationHistory.localResultsDirectories()).withDurations(STORE.getMillis());
+    }
+
+    private final Set<String> isolatedGroups = groups("fast.schedule.isolatedGroups", "isolated");
+    private final Set<String> serialGroups = groups("fast.schedule.serialGroups", "serial");
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        if (!FrameworkConfig.getBoolean("fast.schedule.longestFirst", true) || methods.size() < 2) {
+            return methods;
+        }
+        TestDurationHistory history = StoreHolder.HISTORY;
+        long estimate = history.getMedianMillis(FrameworkConfig.getLong("fast.shard.defaultDurationMillis", 30_000));
+        List<IMethodInstance> ordered = new ArrayList<>(methods);
+        ordered.sort(Comparator.<IMethodInstance, Boolean>comparing(method -> isIsolated(method.getMethod()))
+                .thenComparing(Comparator.<IMethodInstance>comparingLong(method -> history.getMillis(nameOf(method.getMethod()), estimate)).reversed()));
+        int threads = Math.max(1, context.getSuite().getXmlSuite().getThreadCount());
+        LOG.info("Scheduled " + methods.size() + " methods of '" + context.getName() + "' longest first: estimated "
+                + makespan(ordered, history, estimate, threads) / 1000.0 + " s on " + threads + " threads (declaration order: "
+                + makespan(methods, history, estimate, threads) / 1000.0 + " s)");
+        return ordered;
+    }
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (!method.isTestMethod()) {
+            return;
+        }
+        ITestNGMethod testMethod = method.getTestMethod();
+        Deque<Lock> held = HELD.get();
+        for (String group : testMethod.getGroups()) {
+            if (serialGroups.contains(group)) {
+                acquire(SERIAL_GROUPS.computeIfAbsent(group, name -> new ReentrantLock()), held);
+            }
+        }
+        acquire(isIsolated(testMethod) ? ISOLATION.writeLock() : ISOLATION.readLock(), held);
+        STARTED.set(System.currentTimeMillis());
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (!method.isTestMethod()) {
+            return;
+        }
+        Deque<Lock> held = HELD.get();
+        while (!held.isEmpty()) {
+            held.pop().unlock();
+        }
+        Long started = STARTED.get();
+        STARTED.remove();
+        if (started != null && (testResult.getStatus() == ITestResult.SUCCESS || testResult.getStatus() == ITestResult.FAILURE)) {
+            StoreHolder.STORE.record(nameOf(method.getTestMethod()), System.currentTimeMillis() - started);
+        }
+    }
+
+    @Override
+    public void onStart(ISuite suite) {
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        StoreHolder.STORE.save();
+    }
+
+    private boolean isIsolated(ITestNGMethod method) {
+        for (String group : method.getGroups()) {
+            if (isolatedGroups.contains(group)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void acquire(Lock lock, Deque<Lock> held) {
+        lock.lock();
+        held.push(lock);
+    }
+
+    /**
+     * Simulates handing the methods in order to the first free thread, which is how the suite's pool runs them;
+     * isolated methods are counted as running one after another.
+     */
+    private long makespan(List<IMethodInstance> methods, TestDurationHistory history, long estimate, int threads) {
+        PriorityQueue<Long> finishTimes = new PriorityQueue<>();
+        for (int thread = 0; thread < threads; thread++) {
+            finishTimes.add(0L);
+        }
+        long makespan = 0;
+        long isolated = 0;
+        for (IMethodInstance method : methods) {
+            long duration = history.getMillis(nameOf(method.getMethod()), estimate);
+            if (isIsolated(method.getMethod())) {
+                isolated += duration;
+                continue;
+            }
+            long finish = finishTimes.poll() + duration;
+            finishTimes.add(finish);
+            makespan = Math.max(makespan, finish);
+        }
+        return makespan + isolated;
+    }
+
+    private static String nameOf(ITestNGMethod method) {
+        return method.getQualifiedName();
+    }
+
+    private static Set<String> groups(String key, String defaultValue) {
+        Set<String> groups = new HashSet<>();
+        for (String group : Arrays.asList(FrameworkConfig.get(key, defaultValue).split(","))) {
+            if (!group.trim().isEmpty()) {
+                groups.add(group.trim());
+            }
+        }
+        return groups;
+    }
+
+    private static Path historyFile() {
+        return Paths.get(FrameworkConfig.get("fast.schedule.historyFile", "target/test-durations.json"));
+    }
+}
@@ -0,0 +1,101 @@
+package base;
+
+import org.apache.logging.log4j.Logger;
+import org.testng.SkipException;
+import utils.FrameworkConfig;
+import utils.ThreadLogger;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Stops a run early when the environment is down, instead of letting every remaining test run into its timeouts.
+ * After an {@link FailureKind#ENVIRONMENT} failure the application ({@code fast.failFast.probeUrl}, default
+ * {@code baseUrl}) is probed; the run is aborted when it does not answer within {@code fast.failFast.probeTimeoutSeconds}
+ * (default 5) or after {@code fast.failFast.maxEnvironmentFailures} (default 3) environment failures in a row.
+ * The remaining tests are then skipped before they acquire a browser. Disable with {@code -Dfast.failFast.enabled=false}.
+ */
+public final class EnvironmentGuard {
+
+    private static final Logger LOG = ThreadLogger.getLogger(EnvironmentGuard.class);
+
+    private static final long PROBE_INTERVAL_MILLIS = TimeUnit.SECONDS.toMillis(10);
+
+    private static final AtomicInteger CONSECUTIVE_FAILURES = new AtomicInteger();
+    private static volatile String abortReason;
+    private static long lastProbe;
+    private static boolean lastProbeReachable = true;
+
+    private EnvironmentGuard() { }
+
+    /**
+     * @throws SkipException when the run has been aborted.
+     */
+    public static void check() {
+        String reason = abortReason;
+        if (reason != null) {
+            throw new SkipException("Skipped because the test environment is unavailable: " + reason);
+        }
+    }
+
+    public static boolean isAborted() {
+        return abortReason != null;
+    }
+
+    static void recordSuccess() {
+        CONSECUTIVE_FAILURES.set(0);
+    }
+
+    static void recordFailure(FailureKind kind, Throwable failure) {
+        if (kind != FailureKind.ENVIRONMENT) {
+            CONSECUTIVE_FAILURES.set(0);
+            return;
+        }
+        if (!FrameworkConfig.getBoolean("fast.failFast.enabled", true) || isAborted()) {
+            return;
+        }
+        int failures = CONSECUTIVE_FAILURES.incrementAndGet();
+        String probeUrl = FrameworkConfig.get("fast.failFast.probeUrl", FrameworkConfig.get("baseUrl", "https://demoqa.com"));
+        if (!isReachable(probeUrl)) {
+            abort(probeUrl + " is not reachable (" + describe(failure) + ")");
+        } else if (failures >= FrameworkConfig.getInt("fast.failFast.maxEnvironmentFailures", 3)) {
+            abort(failures + " environment failures in a row, the last one: " + describe(failure));
+        }
+    }
+
+    private static void abort(String reason) {
+        abortReason = reason;
+        LOG.error("Aborting the remaining tests: {}", reason);
+    }
+
+    private static String describe(Throwable failure) {
+        String message = String.valueOf(failure.getMessage());
+        int lineEnd = message.indexOf('\n');
+        return failure.getClass().getSimpleName() + ": " + (lineEnd >= 0 ? message.substring(0, lineEnd) : message);
+    }
+
+    private static synchronized boolean isReachable(String url) {
+        long now = System.currentTimeMillis();
+        if (now - lastProbe < PROBE_INTERVAL_MILLIS) {
+            return lastProbeReachable;
+        }
+        lastProbe = now;
+        int timeoutMillis = (int) TimeUnit.SECONDS.toMillis(FrameworkConfig.getInt("fast.failFast.probeTimeoutSeconds", 5));
+        try {
+            HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+            connection.setConnectTimeout(timeoutMillis);
+            connection.setReadTimeout(timeoutMillis);
+            connection.setRequestMethod("HEAD");
+            int status = connection.getResponseCode();
+            connection.disconnect();
+            lastProbeReachable = status < 500;
+        } catch (IOException e) {
+            LOG.warn("Probe of {} failed: {}", url, e.toString());
+            lastProbeReachable = false;
+        }
+        return lastProbeReachable;
+    }
+}
@@ -0,0 +1,106 @@
+package base;
+
+import api.ApiException;
+import org.openqa.selenium.ElementClickInterceptedException;
+import org.openqa.selenium.ElementNotInteractableException;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.UnreachableBrowserException;
+
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Why a test failed, as far as the exception tells:
+ * <ul>
+ *     <li>{@link #ASSERTION} - the application behaved differently than expected; retrying does not help</li>
+ *     <li>{@link #FLAKY} - timing problems such as timeouts, stale or covered elements; worth a retry</li>
+ *     <li>{@link #BROWSER} - the browser session crashed or hung; worth a retry in a new session</li>
+ *     <li>{@link #ENVIRONMENT} - the application, the network or the browser infrastructure is unavailable</li>
+ *     <li>{@link #UNKNOWN} - anything else, e.g. a bug in the test</li>
+ * </ul>
+ */
+public enum FailureKind {
+    ASSERTION,
+    FLAKY,
+    BROWSER,
+    ENVIRONMENT,
+    UNKNOWN;
+
+    // Chrome and Firefox network error pages, reported as WebDriverException by driver.get()
+    private static final List<String> NETWORK_ERRORS = Arrays.asList(
+            "err_name_not_resolved", "err_connection_refused", "err_connection_reset", "err_connection_timed_out",
+            "err_internet_disconnected", "err_address_unreachable", "err_proxy_connection_failed",
+            "dnsnotfound", "connectionfailure", "nettimeout");
+
+    private static final List<String> BROWSER_ERRORS = Arrays.asList(
+            "chrome not reachable", "session deleted because of page crash", "tab crashed", "browser has closed",
+            "failed to decode response from marionette");
+
+    public static FailureKind of(Throwable failure) {
+        FailureKind kind = UNKNOWN;
+        for (Throwable cause = failure; cause != null; cause = cause.getCause() == cause ? null : cause.getCause()) {
+            FailureKind causeKind = classify(cause);
+            if (causeKind == ENVIRONMENT || causeKind == BROWSER) {
+                return causeKind;  // a wrapped infrastructure error outweighs whatever the wrapper says
+            }
+            if (kind == UNKNOWN) {
+                kind = causeKind;
+            }
+        }
+        return kind;
+    }
+
+    public boolean isRetriable() {
+        return this == FLAKY || this == BROWSER;
+    }
+
+    /**
+     * Whether the browser session is no longer usable and must not go back to the pool.
+     */
+    public boolean needsNewSession() {
+        return this == BROWSER || this == ENVIRONMENT;
+    }
+
+    private static FailureKind classify(Throwable failure) {
+        if (failure instanceof AssertionError) {
+            return ASSERTION;
+        }
+        if (failure instanceof UnknownHostException || failure instanceof ConnectException
+                || failure instanceof NoRouteToHostException || failure instanceof SessionNotCreatedException) {
+            return ENVIRONMENT;
+        }
+        if (failure instanceof ApiException) {
+            int status = ((ApiException) failure).getStatus();
+            return status == 502 || status == 503 || status == 504 ? ENVIRONMENT : UNKNOWN;
+        }
+        if (failure instanceof UnreachableBrowserException || failure instanceof NoSuchSessionException) {
+            return BROWSER;
+        }
+        if (failure instanceof TimeoutException || failure instanceof StaleElementReferenceException
+                || failure instanceof ElementClickInterceptedException || failure instanceof ElementNotInteractableException
+                || failure instanceof NoSuchElementException
+                || failure instanceof SocketTimeoutException) {
+            return FLAKY;
+        }
+        if (failure instanceof WebDriverException) {
+            String message = String.valueOf(failure.getMessage()).toLowerCase(Locale.ROOT);
+            if (NETWORK_ERRORS.stream().anyMatch(message::contains)) {
+                return ENVIRONMENT;
+            }
+            if (BROWSER_ERRORS.stream().anyMatch(message::contains)) {
+                return BROWSER;
+            }
+        }
+        return UNKNOWN;
+    }
+}
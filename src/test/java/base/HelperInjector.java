@@ -0,0 +1,82 @@
+package base;
+
+import helpers.AppHelper;
+import helpers.SeleniumElementsHelper;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Injects helpers into fields of test classes and helpers. The injectable fields of a class are looked up
+ * once and turned into MethodHandle setters; later injections into that class only invoke the cached setters.
+ */
+final class HelperInjector {
+
+    private static final Map<Class<?>, HelperInjector> INJECTORS = new ConcurrentHashMap<>();
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final List<InjectionPoint> injectionPoints;
+
+    private HelperInjector(List<InjectionPoint> injectionPoints) {
+        this.injectionPoints = injectionPoints;
+    }
+
+    static HelperInjector forClass(Class<?> type) {
+        return INJECTORS.computeIfAbsent(type, HelperInjector::create);
+    }
+
+    boolean hasInjectionPoints() {
+        return !injectionPoints.isEmpty();
+    }
+
+    void inject(Object target, Map<Class<?>, Object> helpers) throws Throwable {
+        for (InjectionPoint injectionPoint : injectionPoints) {
+            Object helper = helpers.get(injectionPoint.type);
+            if (helper != null) {
+                injectionPoint.setter.invokeExact(target, helper);
+            }
+        }
+    }
+
+    private static HelperInjector create(Class<?> type) {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        List<InjectionPoint> injectionPoints = new ArrayList<>();
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || Modifier.isFinal(field.getModifiers()) || !isInjectable(field.getType())) {
+                    continue;
+                }
+                try {
+                    field.setAccessible(true);
+                    MethodHandle setter = lookup.unreflectSetter(field).asType(SETTER_TYPE);
+                    injectionPoints.add(new InjectionPoint(field.getType(), setter));
+                } catch (IllegalAccessException e) {
+                    throw new IllegalStateException("Cannot inject helper into " + current.getName() + "." + field.getName(), e);
+                }
+            }
+        }
+        return new HelperInjector(injectionPoints.isEmpty() ? Collections.emptyList() : injectionPoints);
+    }
+
+    private static boolean isInjectable(Class<?> fieldType) {
+        return AppHelper.class.isAssignableFrom(fieldType) || fieldType == SeleniumElementsHelper.class;
+    }
+
+    private static final class InjectionPoint {
+        private final Class<?> type;
+        private final MethodHandle setter;
+
+        private InjectionPoint(Class<?> type, MethodHandle setter) {
+            this.type = type;
+            this.setter = setter;
+        }
+    }
+}
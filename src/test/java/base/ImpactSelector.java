@@ -0,0 +1,225 @@
+package base;
+
+import org.apache.logging.log4j.Logger;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestContext;
+import utils.FrameworkConfig;
+import utils.ThreadLogger;
+import utils.impact.ImpactRecorder;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs only the tests affected by a change, using the footprints {@link ImpactRecorder} kept from earlier runs.
+ * Selection is off unless one of these is given:
+ * <ul>
+ *     <li>{@code fast.impact.changedFiles} - comma separated repository paths, e.g. from the CI system</li>
+ *     <li>{@code fast.impact.base} - a git revision; the changed files are {@code git diff --name-only <base>},
+ *     including uncommitted changes</li>
+ *     <li>{@code fast.impact.areas} - comma separated page areas, matched against the recorded URLs, locators and
+ *     helpers, e.g. {@code /login,/profile}</li>
+ * </ul>
+ * A changed test class selects its own tests, a changed helper the tests that called it. Tests without a footprint
+ * always run. The full suite runs when there are no footprints, git fails, or a changed file is neither a test nor a
+ * helper any test used (e.g. {@code pom.xml}, {@code base/}); files matching {@code fast.impact.ignore} (globs,
+ * default {@code **.md,*.md}, the latter for root-level files such as {@code README.md}) are not considered changes.
+ */
+public class ImpactSelector implements IMethodInterceptor, ISuiteListener {
+
+    private static final Logger LOG = ThreadLogger.getLogger(ImpactSelector.class);
+
+    private static final String SOURCE_ROOT = "src/test/java/";
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        List<String> changedFiles = changedFiles();
+        List<String> areas = split(FrameworkConfig.get("fast.impact.areas", ""));
+        if (changedFiles == null && areas.isEmpty()) {
+            return methods;
+        }
+        Map<String, Set<String>> footprints = ImpactRecorder.load(ImpactRecorder.getFile());
+        if (footprints.isEmpty()) {
+            LOG.info("No test footprints in {}; running the full suite", ImpactRecorder.getFile());
+            return methods;
+        }
+        Set<String> suiteClasses = new LinkedHashSet<>();
+        for (IMethodInstance method : methods) {
+            suiteClasses.add(method.getMethod().getRealClass().getName());
+        }
+        Set<String> dependencies = new LinkedHashSet<>();
+        Set<String> testClasses = new LinkedHashSet<>();
+        for (String file : changedFiles != null ? changedFiles : Collections.<String>emptyList()) {
+            String className = classNameOf(file);
+            if (className == null) {
+                LOG.info("{} is not test code; running the full suite", file);
+                return methods;
+            }
+            if (suiteClasses.contains(className) || isTestClass(className, footprints)) {
+                testClasses.add(className);
+            } else if (isUsedHelper(className, footprints)) {
+                dependencies.add(className);
+            } else {
+                LOG.info("{} is not a test or a helper used by a recorded test; running the full suite", file);
+                return methods;
+            }
+        }
+
+        List<IMethodInstance> selected = new ArrayList<>();
+        for (IMethodInstance method : methods) {
+            String test = method.getMethod().getQualifiedName();
+            Set<String> footprint = footprints.get(test);
+            if (footprint == null || testClasses.contains(method.getMethod().getRealClass().getName())
+                    || usesAny(footprint, dependencies) || matchesAnyArea(footprint, areas)) {
+                selected.add(method);
+            }
+        }
+        LOG.info("Impact analysis selected {} of {} methods of '{}' (changed: {}, areas: {})",
+                selected.size(), methods.size(), context.getName(), changedFiles, areas);
+        return selected;
+    }
+
+    @Override
+    public void onStart(ISuite suite) {
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        ImpactRecorder.save();
+    }
+
+    /**
+     * @return the changed files without the ignored ones, or null when selection by change is off.
+     */
+    private static List<String> changedFiles() {
+        List<String> files;
+        String configured = FrameworkConfig.get("fast.impact.changedFiles", null);
+        String base = FrameworkConfig.get("fast.impact.base", null);
+        if (configured != null) {
+            files = split(configured);
+        } else if (base != null) {
+            files = gitDiff(base);
+            if (files == null) {
+                return null;
+            }
+        } else {
+            return null;
+        }
+        List<PathMatcher> ignored = new ArrayList<>();
+        for (String pattern : split(FrameworkConfig.get("fast.impact.ignore", "**.md,*.md"))) {
+            ignored.add(FileSystems.getDefault().getPathMatcher("glob:" + pattern));
+        }
+        List<String> changed = new ArrayList<>();
+        for (String file : files) {
+            if (ignored.stream().noneMatch(matcher -> matcher.matches(Paths.get(file)))) {
+                changed.add(file.replace('\\', '/'));
+            }
+        }
+        return changed;
+    }
+
+    private static List<String> gitDiff(String base) {
+        try {
+            Process process = new ProcessBuilder("git", "diff", "--name-only", base).redirectErrorStream(true).start();
+            List<String> files = new ArrayList<>();
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (!line.trim().isEmpty()) {
+                        files.add(line.trim());
+                    }
+                }
+            }
+            if (!process.waitFor(30, TimeUnit.SECONDS) || process.exitValue() != 0) {
+                LOG.warn("git diff --name-only {} failed: {}; running the full suite", base, files);
+                return null;
+            }
+            return files;
+        } catch (IOException e) {
+            LOG.warn("Could not run git ({}); running the full suite", e.getMessage());
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private static String classNameOf(String file) {
+        int root = file.indexOf(SOURCE_ROOT);
+        if (root < 0 || !file.endsWith(".java")) {
+            return null;
+        }
+        return file.substring(root + SOURCE_ROOT.length(), file.length() - ".java".length()).replace('/', '.');
+    }
+
+    private static boolean isTestClass(String className, Map<String, Set<String>> footprints) {
+        String prefix = className + ".";
+        for (String test : footprints.keySet()) {
+            if (test.startsWith(prefix) && test.indexOf('.', prefix.length()) < 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isUsedHelper(String className, Map<String, Set<String>> footprints) {
+        for (Set<String> footprint : footprints.values()) {
+            if (usesAny(footprint, Collections.singleton(className))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean usesAny(Set<String> footprint, Set<String> classNames) {
+        for (String className : classNames) {
+            if (footprint.contains("helper:" + className)) {
+                return true;
+            }
+            String methodPrefix = "method:" + className + ".";
+            for (String entry : footprint) {
+                if (entry.startsWith(methodPrefix) && entry.indexOf('.', methodPrefix.length()) < 0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean matchesAnyArea(Set<String> footprint, List<String> areas) {
+        for (String area : areas) {
+            for (String entry : footprint) {
+                if (entry.contains(area)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static List<String> split(String value) {
+        List<String> values = new ArrayList<>();
+        for (String item : Arrays.asList(value.split(","))) {
+            if (!item.trim().isEmpty()) {
+                values.add(item.trim());
+            }
+        }
+        return values;
+    }
+}
@@ -0,0 +1,35 @@
+package base;
+
+import org.apache.logging.log4j.Logger;
+import org.testng.IAlterSuiteListener;
+import org.testng.xml.XmlSuite;
+import utils.FrameworkConfig;
+import utils.ThreadLogger;
+
+import java.util.List;
+
+/**
+ * Applies the parallel execution settings from the command line to every suite before it starts:
+ * {@code -Dfast.parallel=methods|classes|tests|instances|none} and {@code -Dfast.threads=N}.
+ * Without overrides the values declared in the suite XML are kept.
+ */
+public class ParallelSuiteListener implements IAlterSuiteListener {
+
+    private static final Logger LOG = ThreadLogger.getLogger(ParallelSuiteListener.class);
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        String parallel = FrameworkConfig.get("fast.parallel", null);
+        int threads = FrameworkConfig.getInt("fast.threads", 0);
+        for (XmlSuite suite : suites) {
+            if (parallel != null) {
+                suite.setParallel(XmlSuite.ParallelMode.getValidParallel(parallel));
+            }
+            if (threads > 0) {
+                suite.setThreadCount(threads);
+            }
+            LOG.info("Suite '" + suite.getName() + "' runs with parallel=" + suite.getParallel()
+                    + ", thread-count=" + suite.getThreadCount());
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package base;
+
+import org.apache.logging.log4j.Logger;
+import org.testng.IRetryAnalyzer;
+import org.testng.ITestResult;
+import utils.FrameworkConfig;
+import utils.ThreadLogger;
+
+/**
+ * Retries a failed test up to {@code fast.retry.maxRetries} times (default 1) when the failure is one that a rerun can
+ * fix, see {@link FailureKind#isRetriable()}. Assertion failures and environment outages are not retried.
+ * TestBase has already returned the browser to the pool by then, reset or, after a crash, replaced by a new session.
+ * Set on every test by {@link RetryListener}.
+ */
+public class RetryAnalyzer implements IRetryAnalyzer {
+
+    private static final Logger LOG = ThreadLogger.getLogger(RetryAnalyzer.class);
+
+    private int retries;
+
+    @Override
+    public boolean retry(ITestResult result) {
+        FailureKind kind = FailureKind.of(result.getThrowable());
+        int maxRetries = FrameworkConfig.getInt("fast.retry.maxRetries", 1);
+        if (!kind.isRetriable() || retries >= maxRetries || EnvironmentGuard.isAborted()) {
+            return false;
+        }
+        retries++;
+        LOG.warn("Retrying {} ({} of {}) after a {} failure: {}", result.getMethod().getQualifiedName(), retries, maxRetries,
+                kind, result.getThrowable());
+        return true;
+    }
+}
@@ -0,0 +1,69 @@
+package base;
+
+import org.testng.IAnnotationTransformer;
+import org.testng.IConfigurationListener;
+import org.testng.ITestContext;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+import org.testng.annotations.ITestAnnotation;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+
+/**
+ * Installs {@link RetryAnalyzer} on every test that does not declare its own, and reports test and configuration
+ * outcomes to {@link EnvironmentGuard}, so failed browser launches count as environment failures too.
+ */
+public class RetryListener implements IAnnotationTransformer, ITestListener, IConfigurationListener {
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public void transform(ITestAnnotation annotation, Class testClass, Constructor testConstructor, Method testMethod) {
+        if (annotation.getRetryAnalyzer() == null) {
+            annotation.setRetryAnalyzer(RetryAnalyzer.class);
+        }
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        EnvironmentGuard.recordSuccess();
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        EnvironmentGuard.recordFailure(FailureKind.of(result.getThrowable()), result.getThrowable());
+    }
+
+    @Override
+    public void onConfigurationFailure(ITestResult result) {
+        EnvironmentGuard.recordFailure(FailureKind.of(result.getThrowable()), result.getThrowable());
+    }
+
+    @Override
+    public void onTestStart(ITestResult result) {
+    }
+
+    @Override
+    public void onTestSkipped(ITestResult result) {
+    }
+
+    @Override
+    public void onTestFailedButWithinSuccessPercentage(ITestResult result) {
+    }
+
+    @Override
+    public void onStart(ITestContext context) {
+    }
+
+    @Override
+    public void onFinish(ITestContext context) {
+    }
+
+    @Override
+    public void onConfigurationSuccess(ITestResult result) {
+    }
+
+    @Override
+    public void onConfigurationSkip(ITestResult result) {
+    }
+}
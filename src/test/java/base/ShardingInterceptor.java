@@ -0,0 +1,188 @@
+package base;
+
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.json.Json;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestContext;
+import org.testng.ITestResult;
+import utils.FrameworkConfig;
+import utils.LocalDurationStore;
+import utils.TestDurationHistory;
+import utils.ThreadLogger;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Runs only this node's share of the test methods: {@code -Dfast.shard.total=N -Dfast.shard.index=i} (0-based).
+ *
+ * <p>Methods are balanced by their historical duration from the Allure results ({@code fast.shard.history},
+ * comma separated; default: the committed {@code allure-results}), overridden by the shared duration file
+ * {@code fast.shard.durationsFile} (default {@code shard-durations.json}): longest first, each to the shard with the
+ * least work so far. Every node must see the same history to compute the same split, which is why the runs kept under
+ * {@code target/allure-runs} on each node are not used.
+ *
+ * <p>Since runs no longer write to {@code allure-results}, each node publishes the durations it measured, averaged
+ * with the shared ones, to {@code target/shards/durations-shard-<i>-of-<N>.json}. The shards ran disjoint tests, so
+ * CI updates the shared file for the next run with a union of the files, e.g.
+ * {@code jq -s add shard-durations.json target/shards/durations-shard-*.json}, and keeps it (commit or cache) where
+ * every node reads it. Without that step the split stays at the committed history. The history fingerprint is written to
+ * {@code target/shards/shard-<i>-of-<N>-<test>.json} together with the assigned tests, so a merge step can verify that.
+ * Tests without history are estimated at the median known duration ({@code fast.shard.defaultDurationMillis}
+ * when there is no history at all). Allure results are uuid-named, so the shards' result directories merge by copying.
+ */
+public class ShardingInterceptor implements IMethodInterceptor, IInvokedMethodListener, ISuiteListener {
+
+    private static final Logger LOG = ThreadLogger.getLogger(ShardingInterceptor.class);
+
+    private static final Set<String> MEASURED = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Loaded once, before this run writes results of its own, so every {@code <test>} of the suite is split
+     * with the same history.
+     */
+    private static final class HistoryHolder {
+        private static final LocalDurationStore DURATIONS = LocalDurationStore.load(durationsFile());
+        private static final TestDurationHistory HISTORY =
+                TestDurationHistory.load(historyDirectories()).withDurations(DURATIONS.getMillis());
+    }
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        int total = FrameworkConfig.getInt("fast.shard.total", 1);
+        int index = FrameworkConfig.getInt("fast.shard.index", 0);
+        if (total <= 1) {
+            return methods;
+        }
+        if (index < 0 || index >= total) {
+            throw new IllegalArgumentException("fast.shard.index must be between 0 and " + (total - 1) + ", was " + index);
+        }
+        TestDurationHistory history = HistoryHolder.HISTORY;
+        long estimate = history.getMedianMillis(FrameworkConfig.getLong("fast.shard.defaultDurationMillis", 30_000));
+
+        List<IMethodInstance> sorted = new ArrayList<>(methods);
+        sorted.sort(Comparator.<IMethodInstance>comparingLong(method -> history.getMillis(nameOf(method), estimate)).reversed()
+                .thenComparing(ShardingInterceptor::nameOf));
+        long[] load = new long[total];
+        List<List<IMethodInstance>> shards = new ArrayList<>();
+        for (int shard = 0; shard < total; shard++) {
+            shards.add(new ArrayList<>());
+        }
+        for (IMethodInstance method : sorted) {
+            int lightest = 0;
+            for (int shard = 1; shard < total; shard++) {
+                if (load[shard] < load[lightest]) {
+                    lightest = shard;
+                }
+            }
+            shards.get(lightest).add(method);
+            load[lightest] += history.getMillis(nameOf(method), estimate);
+        }
+
+        List<IMethodInstance> selected = shards.get(index);
+        LOG.info("Shard " + (index + 1) + "/" + total + " of '" + context.getName() + "' runs " + selected.size() + " of "
+                + methods.size() + " methods, estimated " + load[index] / 1000 + " s (slowest shard: "
+                + maxOf(load) / 1000 + " s, history " + history.getFingerprint() + ")");
+        writeManifest(context, total, index, selected, load, history, estimate);
+        return selected;
+    }
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (!method.isTestMethod() || FrameworkConfig.getInt("fast.shard.total", 1) <= 1
+                || (testResult.getStatus() != ITestResult.SUCCESS && testResult.getStatus() != ITestResult.FAILURE)) {
+            return;
+        }
+        String name = method.getTestMethod().getQualifiedName();
+        HistoryHolder.DURATIONS.record(name, testResult.getEndMillis() - testResult.getStartMillis());
+        MEASURED.add(name);
+    }
+
+    @Override
+    public void onStart(ISuite suite) {
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        if (MEASURED.isEmpty()) {
+            return;
+        }
+        int total = FrameworkConfig.getInt("fast.shard.total", 1);
+        int index = FrameworkConfig.getInt("fast.shard.index", 0);
+        Path file = Paths.get(FrameworkConfig.get("fast.shard.manifestDir", "target/shards"),
+                "durations-shard-" + index + "-of-" + total + ".json");
+        HistoryHolder.DURATIONS.save(file, MEASURED);
+        LOG.info("Published the durations of " + MEASURED.size() + " tests to " + file);
+    }
+
+    private static Path durationsFile() {
+        return Paths.get(FrameworkConfig.get("fast.shard.durationsFile", "shard-durations.json"));
+    }
+
+    private static List<Path> historyDirectories() {
+        String configured = FrameworkConfig.get("fast.shard.history", null);
+        if (configured == null) {
+            return TestDurationHistory.sharedResultsDirectories();  // run directories differ per node, so would the split
+        }
+        List<Path> directories = new ArrayList<>();
+        for (String directory : configured.split(",")) {
+            directories.add(Paths.get(directory.trim()));
+        }
+        return directories;
+    }
+
+    private static String nameOf(IMethodInstance method) {
+        return method.getMethod().getQualifiedName();
+    }
+
+    private static long maxOf(long[] values) {
+        long max = 0;
+        for (long value : values) {
+            max = Math.max(max, value);
+        }
+        return max;
+    }
+
+    private static void writeManifest(ITestContext context, int total, int index, List<IMethodInstance> selected,
+                                      long[] load, TestDurationHistory history, long estimate) {
+        Map<String, Object> manifest = new LinkedHashMap<>();
+        manifest.put("suite", context.getSuite().getName());
+        manifest.put("test", context.getName());
+        manifest.put("shardIndex", index);
+        manifest.put("shardTotal", total);
+        manifest.put("historyFingerprint", history.getFingerprint());
+        manifest.put("estimatedMillis", load[index]);
+        Map<String, Long> tests = new LinkedHashMap<>();
+        for (IMethodInstance method : selected) {
+            tests.put(nameOf(method), history.getMillis(nameOf(method), estimate));
+        }
+        manifest.put("tests", tests);
+        Path file = Paths.get(FrameworkConfig.get("fast.shard.manifestDir", "target/shards"),
+                "shard-" + index + "-of-" + total + "-" + context.getName().replaceAll("[^A-Za-z0-9._-]", "_") + ".json");
+        try {
+            Files.createDirectories(file.getParent());
+            Files.write(file, new Json().toJson(manifest).getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            LOG.warn("Could not write shard manifest " + file + ": " + e.getMessage());
+        }
+    }
+}
@@ -1,90 +1,194 @@
 package base;
 
 import helpers.AppHelper;
+import helpers.ElementCache;
+import helpers.WaitStatistics;
+import helpers.pages.Page;
+import io.qameta.allure.Allure;
 import io.qameta.allure.Step;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.support.ui.WebDriverWait;
+import org.testng.ITestContext;
 import org.testng.ITestResult;
 import org.testng.annotations.AfterMethod;
+import org.testng.annotations.AfterSuite;
 import org.testng.annotations.BeforeMethod;
+import org.testng.xml.XmlSuite;
+import state.SessionSnapshots;
+import state.StateSetup;
+import state.TestState;
 import utils.BrowserManager;
+import utils.FrameworkConfig;
+import utils.ExecutionProfile;
 import helpers.SeleniumElementsHelper;
 import utils.ThreadLogger;
+import utils.WebDriverPool;
+import utils.drivers.DriverProviders;
+import utils.impact.ImpactRecorder;
+import utils.profiling.CommandMetrics;
+import utils.profiling.ProfileReport;
+import utils.profiling.Profiler;
+import utils.reporting.FailureArtifacts;
 
 import java.io.IOException;
-import java.io.InputStream;
-import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
 
 public class TestBase {
 
-    protected WebDriver driver;
-    protected WebDriverWait driverWait;
-    protected SeleniumElementsHelper seleniumElementsHelper;
-
     private static final int WEB_DRIVER_TIMEOUT = 150;
+    private static final int PROFILE_HOT_SPOTS = 50;
     protected boolean disableWebSecurity = false;
 
     private static final Logger LOG = ThreadLogger.getLogger(TestBase.class);
 
-    private List<Boolean> testStepsResults = new ArrayList<>();
-    private int testStepCounter;
-
-    private Map<Class, Object> allHelpers = new HashMap<>();
-
     @BeforeMethod(alwaysRun = true)
-    protected void setupBeforeTest() throws Exception {
-        testStepCounter = 0;  // Reset step counter before each test method
+    protected void setupBeforeTest(Method testMethod, ITestContext testContext) throws Exception {
+        EnvironmentGuard.check();  // skip instead of waiting for timeouts once the environment is known to be down
+        TestContext.start();  // Each test method invocation gets its own driver, helpers and step counter
+        String testName = testMethod.getDeclaringClass().getSimpleName() + "." + testMethod.getName();
+        ThreadLogger.startTest(testName);
+        ImpactRecorder.startTest(getClass().getName() + "." + testMethod.getName());
+        Profiler.startTest(testName);
+        Profiler.step("setup");  // driver acquisition and helper setup until the first testStep
         LOG.info("Setup before the test has just started.");
-        setupDriver(BrowserManager.DriverType.LOCAL);  // Przykładowe użycie SAUCELABS, można zmienić w zależności od potrzeb
-        setupHelpers();
+        setupDriver(DriverProviders.getConfiguredName());  // -Dfast.driver.provider=local|grid|container|saucelabs|stub
+        setupHelpers(isSharedBetweenThreads(testContext));
+        if (TestState.hasPreconditions(testMethod)) {
+            Profiler.step("preconditions");  // @Precondition state is set up through the API instead of the UI
+            TestState.establish(testMethod, getDriver(), getBaseUrl());
+        }
         LOG.info("Setup done.");
     }
 
     @AfterMethod(alwaysRun = true)
     protected void cleanUpAfterTest(ITestResult testResult) {
         LOG.info("Cleaning up after test.");
-        testDone("TEST DONE", !testResult.isSuccess());  // Zamyka ostatni test
-        if (driver != null) {
-            driver.quit();
+        TestContext context = TestContext.currentOrNull();
+        ProfileReport profile = Profiler.endTest();  // the session reset below is not part of the test
+        TestState.clear();
+        ImpactRecorder.endTest(testResult.isSuccess());
+        if (context == null) {
+            ThreadLogger.endTest();
+            return;
+        }
+        try {
+            testDone("TEST DONE", !testResult.isSuccess());  // Zamyka ostatni test
+            attachProfile(profile);
+            FailureKind failureKind = testResult.getThrowable() != null ? FailureKind.of(testResult.getThrowable()) : null;
+            if (failureKind != null) {
+                LOG.warn("Test failed with a {} failure: {}", failureKind, testResult.getThrowable().toString());
+            }
+            if (testResult.getStatus() == ITestResult.FAILURE) {
+                // the browser still shows the failure; only the driver round-trips happen here, writing is async
+                FailureArtifacts.capture(context.getDriver(), getClass().getSimpleName() + "." + testResult.getMethod().getMethodName(),
+                        testResult.getThrowable(), profile);
+            }
+            if (failureKind != null && failureKind.needsNewSession()) {
+                WebDriverPool.getInstance().invalidate(context.getDriver());  // a retry gets a new browser
+                TestState.invalidateWorkerCache();  // ... and preconditions created from scratch, not the state the crash left behind
+            } else {
+                WebDriverPool.getInstance().release(context.getDriver());  // Reset and keep the browser warm for the next test
+            }
+        } finally {
+            TestContext.end();
+            LOG.info("Cleanup done.");
+            ThreadLogger.endTest();
         }
-        LOG.info("Cleanup done.");
+    }
+
+    @AfterSuite(alwaysRun = true)
+    protected void closeBrowserSessions() {
+        LOG.info(WebDriverPool.getInstance().getStatistics());
+        LOG.info(DriverProviders.getStatistics());
+        WebDriverPool.getInstance().closeAll();
+    }
+
+    @AfterSuite(alwaysRun = true)
+    protected void logHelperStatistics() {
+        LOG.info(WaitStatistics.getReport(20));
+        LOG.info(ElementCache.getStatistics());
+        LOG.info(Page.getStatistics());
+        LOG.info(TestState.getStatistics());
+        LOG.info(SessionSnapshots.getStatistics());
+        if (CommandMetrics.isEnabled()) {
+            LOG.info(CommandMetrics.getInstance().getReport());
+        }
+        writeSuiteProfile();
+    }
+
+    protected WebDriver getDriver() {
+        return TestContext.current().getDriver();
+    }
+
+    protected WebDriverWait getDriverWait() {
+        return TestContext.current().getDriverWait();
+    }
+
+    protected SeleniumElementsHelper getSeleniumElementsHelper() {
+        return TestContext.current().getSeleniumElementsHelper();
     }
 
     protected void setupDriver(BrowserManager.DriverType driverType) throws Exception {
+        setupDriver(driverType.getProviderName());
+    }
+
+    protected void setupDriver(String providerName) throws Exception {
+        TestContext context = TestContext.current();
         BrowserManager browserManager = new BrowserManager();
-        driver = browserManager.getDriver(getBrowserFromProperties(), driverType);
-        configureWebDriver(driver);
-        driverWait = new WebDriverWait(driver, WEB_DRIVER_TIMEOUT);
+        String browser = getBrowser();
+        ExecutionProfile profile = ExecutionProfile.current();
+        WebDriver driver = WebDriverPool.getInstance().acquire(browser + "/" + providerName + "/" + profile, () -> {
+            WebDriver newDriver = browserManager.getDriver(browser, providerName, profile);
+            configureWebDriver(newDriver);
+            return newDriver;
+        });
+        context.setDriver(driver);
+        context.setDriverWait(new WebDriverWait(driver, WEB_DRIVER_TIMEOUT));
     }
 
     protected void configureWebDriver(WebDriver driver) {
         driver.manage().timeouts().pageLoadTimeout(WEB_DRIVER_TIMEOUT, java.util.concurrent.TimeUnit.SECONDS);
-        driver.manage().window().maximize();
+        driver.manage().timeouts().setScriptTimeout(WEB_DRIVER_TIMEOUT, java.util.concurrent.TimeUnit.SECONDS);  // In-page waits run as async scripts
+        if (ExecutionProfile.current().isMaximized()) {
+            driver.manage().window().maximize();  // The fast profile launches with a fixed viewport instead
+        }
     }
 
-    private String getBrowserFromProperties() {
-        final String defaultBrowser = "chrome";
-        Properties properties = new Properties();
-        try (InputStream inputStream = getClass().getClassLoader().getResourceAsStream("applicationConfig.properties")) {
-            if (inputStream == null) {
-                LOG.warn("Property file 'applicationConfig.properties' not found in the classpath; using default browser: " + defaultBrowser);
-                return defaultBrowser;
-            }
-            properties.load(inputStream);
-        } catch (IOException e) {
-            LOG.error("Failed to load 'applicationConfig.properties'; using default browser: " + defaultBrowser, e);
-            return defaultBrowser;
-        }
-        return properties.getProperty("browser", defaultBrowser);
+    protected String getBrowser() {
+        return FrameworkConfig.get("browser", "chrome");
+    }
+
+    /**
+     * Start page of the application under test, {@code baseUrl} in the configuration.
+     */
+    protected String getBaseUrl() {
+        return FrameworkConfig.get("baseUrl", "https://demoqa.com");
+    }
+
+    /**
+     * Opens a page of the application directly, e.g. {@code navigateTo("/login")}, instead of clicking through the menus.
+     */
+    protected void navigateTo(String path) {
+        getDriver().get(getBaseUrl() + path);
+        getSeleniumElementsHelper().waitForPageLoad();
+    }
+
+    /**
+     * Returns the state established for a {@link state.Precondition} of the current test, e.g. the logged-in user's session.
+     */
+    protected <T> T getState(Class<? extends StateSetup<T>> setupClass) {
+        return TestState.get(setupClass);
     }
 
     @Step("{message}")
     protected void testStep(String message, boolean result) {
-        testStepCounter++;
-        testStepsResults.add(result);
-        LOG.info("[STEP " + testStepCounter + "] " + message);
+        Profiler.step(message);
+        int testStepCounter = TestContext.current().nextStep(result);
+        LOG.info("[STEP {}] {}", testStepCounter, message);
     }
 
     protected void testStep(String message) {
@@ -92,8 +196,9 @@ public class TestBase {
     }
 
     protected void testDone(String message, boolean result) {
+        List<Boolean> testStepsResults = TestContext.current().getTestStepsResults();
         if (!testStepsResults.isEmpty()) {
-            LOG.info("[TEST RESULT]: " + message + " - " + (result ? "PASSED" : "FAILED"));
+            LOG.info("[TEST RESULT]: {} - {}", message, result ? "PASSED" : "FAILED");
             testStepsResults.clear();
         }
     }
@@ -102,28 +207,80 @@ public class TestBase {
         testDone(message, true);
     }
 
-    private void setupHelpers() {
-        this.seleniumElementsHelper = new SeleniumElementsHelper(driver, driverWait);
-        initializeHelpers(Arrays.asList(seleniumElementsHelper));
+    /**
+     * Returns the helper instance of the current test. Unlike helper fields on the test class, this also works
+     * with parallel="methods", where all threads share one test class instance.
+     */
+    protected <T extends AppHelper> T getHelper(Class<T> helperClass) {
+        Object helper = TestContext.current().getHelpers().get(helperClass);
+        if (helper == null) {
+            throw new IllegalArgumentException("No helper registered for " + helperClass.getName());
+        }
+        return helperClass.cast(helper);
     }
 
-    private void initializeHelpers(List<Object> helpers) {
-        for (Object helper : helpers) {
-            try {
-                allHelpers.putAll(AppHelper.initAppHelpers((SeleniumElementsHelper) helper));
-                injectHelpersInto(helper);
-            } catch (Exception e) {
-                LOG.error("Error initializing helpers: " + e.getMessage(), e);
-            }
+    private void attachProfile(ProfileReport profile) {
+        if (profile == null) {
+            return;
         }
+        LOG.debug(profile.getSummary(5));
+        Allure.addAttachment("Test profile", "application/json", profile.toJson(PROFILE_HOT_SPOTS), ".json");
+        Allure.addAttachment("Test profile (folded stacks)", "text/plain", profile.toFolded(), ".folded");
     }
 
-    private void injectHelpersInto(Object target) throws IllegalAccessException {
-        for (Field field : target.getClass().getDeclaredFields()) {
-            if (allHelpers.containsKey(field.getType())) {
-                field.setAccessible(true);
-                field.set(target, allHelpers.get(field.getType()));
-            }
+    /**
+     * Writes the suite profile to {@code fast.profiler.outputDir} (default {@code target/profiles}):
+     * suite.json and suite.folded, which flamegraph.pl or speedscope.app render as a flame graph.
+     */
+    private void writeSuiteProfile() {
+        ProfileReport suiteProfile = Profiler.getSuiteReport();
+        if (suiteProfile.getTestCount() == 0) {
+            return;
+        }
+        LOG.info(suiteProfile.getSummary(10));
+        Path directory = Paths.get(FrameworkConfig.get("fast.profiler.outputDir", "target/profiles"));
+        try {
+            suiteProfile.writeTo(directory, "suite", PROFILE_HOT_SPOTS);
+        } catch (IOException e) {
+            LOG.warn("Could not write the suite profile to {}: {}", directory, e.getMessage());
+        }
+    }
+
+    /**
+     * With parallel="methods" TestNG runs every method of a class on one test instance from several threads. The
+     * {@code <test>} setting wins over the suite's; TestNG already maps the deprecated "true" to "methods".
+     */
+    private static boolean isSharedBetweenThreads(ITestContext testContext) {
+        return testContext.getCurrentXmlTest().getParallel() == XmlSuite.ParallelMode.METHODS;
+    }
+
+    private void setupHelpers(boolean sharedTestInstance) {
+        TestContext context = TestContext.current();
+        SeleniumElementsHelper seleniumElementsHelper = new SeleniumElementsHelper(context.getDriver(), context.getDriverWait());
+        context.setSeleniumElementsHelper(seleniumElementsHelper);
+        Map<Class<?>, Object> helpers = context.getHelpers();
+        helpers.put(SeleniumElementsHelper.class, seleniumElementsHelper);
+        helpers.putAll(AppHelper.initAppHelpers(seleniumElementsHelper));
+        for (Object helper : helpers.values()) {
+            injectHelpersInto(helper, helpers);
+        }
+        if (sharedTestInstance && HelperInjector.forClass(getClass()).hasInjectionPoints()) {
+            // another thread would overwrite the fields with its own helpers and drive this test's steps in its browser
+            throw new IllegalStateException(getClass().getSimpleName() + " declares helper fields, which all threads share with "
+                    + "parallel=\"methods\". Use getHelper(...) instead, or run the class with parallel=\"classes\" or \"instances\".");
+        }
+        injectHelpersInto(this, helpers);
+    }
+
+    private void injectHelpersInto(Object target, Map<Class<?>, Object> helpers) {
+        HelperInjector injector = HelperInjector.forClass(target.getClass());
+        if (!injector.hasInjectionPoints()) {
+            return;
+        }
+        try {
+            injector.inject(target, helpers);
+        } catch (Throwable e) {
+            LOG.error("Error injecting helpers into {}: {}", target.getClass().getSimpleName(), e.getMessage(), e);
         }
     }
-}
\ No newline at end of file
+}
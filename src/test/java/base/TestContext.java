@@ -0,0 +1,91 @@
+package base;
+
+import helpers.SeleniumElementsHelper;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Holds every resource that belongs to a single test method invocation.
+ * TestNG runs @BeforeMethod, @Test and @AfterMethod of one invocation on the same worker thread,
+ * so binding the context to that thread keeps parallel invocations fully isolated.
+ */
+public final class TestContext {
+
+    private static final ThreadLocal<TestContext> CURRENT = new ThreadLocal<>();
+
+    private WebDriver driver;
+    private WebDriverWait driverWait;
+    private SeleniumElementsHelper seleniumElementsHelper;
+
+    private final List<Boolean> testStepsResults = new ArrayList<>();
+    private int testStepCounter;
+
+    private final Map<Class<?>, Object> helpers = new HashMap<>();
+
+    private TestContext() { }
+
+    static TestContext start() {
+        TestContext context = new TestContext();
+        CURRENT.set(context);
+        return context;
+    }
+
+    static TestContext current() {
+        TestContext context = CURRENT.get();
+        if (context == null) {
+            throw new IllegalStateException("No test context bound to thread " + Thread.currentThread().getName()
+                    + "; driver and helpers are only available between @BeforeMethod and @AfterMethod.");
+        }
+        return context;
+    }
+
+    static TestContext currentOrNull() {
+        return CURRENT.get();
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    WebDriver getDriver() {
+        return driver;
+    }
+
+    void setDriver(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    WebDriverWait getDriverWait() {
+        return driverWait;
+    }
+
+    void setDriverWait(WebDriverWait driverWait) {
+        this.driverWait = driverWait;
+    }
+
+    SeleniumElementsHelper getSeleniumElementsHelper() {
+        return seleniumElementsHelper;
+    }
+
+    void setSeleniumElementsHelper(SeleniumElementsHelper seleniumElementsHelper) {
+        this.seleniumElementsHelper = seleniumElementsHelper;
+    }
+
+    int nextStep(boolean result) {
+        testStepsResults.add(result);
+        return ++testStepCounter;
+    }
+
+    List<Boolean> getTestStepsResults() {
+        return testStepsResults;
+    }
+
+    Map<Class<?>, Object> getHelpers() {
+        return helpers;
+    }
+}
@@ -0,0 +1,109 @@
+package helpers;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.ElementNotInteractableException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import utils.FrameworkConfig;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Polls with exponential backoff: the first re-check happens after {@code fast.wait.initialPollMillis} (default 10 ms)
+ * and the interval grows by half on every miss up to {@code fast.wait.maxPollMillis} (default 500 ms).
+ * Conditions that are met quickly therefore resolve in milliseconds, while long waits do not flood the driver.
+ */
+public class AdaptiveWaitEngine implements WaitEngine {
+
+    private static final Logger LOG = LogManager.getLogger(AdaptiveWaitEngine.class);
+
+    private static final String MUTATION_OBSERVER_SCRIPT =
+            "var condition = new Function('return !!(' + arguments[0] + ');');"
+            + "var timeout = arguments[1];"
+            + "var done = arguments[arguments.length - 1];"
+            + "if (condition()) { done(true); return; }"
+            + "var finished = false;"
+            + "var observer = new MutationObserver(function () {"
+            + "  if (!finished && condition()) { finished = true; observer.disconnect(); done(true); }"
+            + "});"
+            + "observer.observe(document, { childList: true, subtree: true, attributes: true, characterData: true });"
+            + "setTimeout(function () {"
+            + "  if (!finished) { finished = true; observer.disconnect(); done(condition()); }"
+            + "}, timeout);";
+
+    private final WebDriver driver;
+    private final long initialPollMillis = FrameworkConfig.getLong("fast.wait.initialPollMillis", 10);
+    private final long maxPollMillis = FrameworkConfig.getLong("fast.wait.maxPollMillis", 500);
+
+    public AdaptiveWaitEngine(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    @Override
+    public <T> T until(String label, Function<? super WebDriver, T> condition, Duration timeout) {
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        long pollMillis = initialPollMillis;
+        RuntimeException lastException = null;
+        try {
+            while (true) {
+                try {
+                    T value = condition.apply(driver);
+                    if (value != null && !Boolean.FALSE.equals(value)) {
+                        WaitStatistics.record(label, System.nanoTime() - start, false);
+                        return value;
+                    }
+                } catch (NoSuchElementException | StaleElementReferenceException | ElementNotInteractableException e) {
+                    lastException = e;
+                }
+                long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remainingMillis <= 0) {
+                    break;
+                }
+                Thread.sleep(Math.min(pollMillis, remainingMillis));
+                pollMillis = Math.min(maxPollMillis, Math.max(pollMillis + 1, pollMillis * 3 / 2));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WebDriverException("Interrupted while waiting for " + label, e);
+        }
+        WaitStatistics.record(label, System.nanoTime() - start, true);
+        throw new TimeoutException("Expected condition failed: waiting for " + label
+                + " (tried for " + timeout.getSeconds() + " second(s) with adaptive polling up to " + maxPollMillis + " ms)", lastException);
+    }
+
+    /**
+     * Evaluates the condition inside the page and re-evaluates it on every DOM mutation, so the wait resolves
+     * in a single driver round-trip. Falls back to polling when the page navigates away during the wait.
+     * The driver's script timeout must be longer than {@code timeout}.
+     */
+    @Override
+    public boolean untilInPage(String label, String jsCondition, Duration timeout) {
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = ((JavascriptExecutor) driver).executeAsyncScript(MUTATION_OBSERVER_SCRIPT, jsCondition, timeout.toMillis());
+        } catch (TimeoutException e) {
+            WaitStatistics.record(label, System.nanoTime() - start, true);
+            throw e;
+        } catch (WebDriverException e) {
+            LOG.debug("In-page wait for {} was interrupted ({}); polling instead", label, e.getMessage());
+            Duration remaining = timeout.minusNanos(System.nanoTime() - start);
+            return WaitEngine.super.untilInPage(label, jsCondition, remaining.isNegative() ? Duration.ZERO : remaining);
+        }
+        boolean satisfied = Boolean.TRUE.equals(result);
+        WaitStatistics.record(label, System.nanoTime() - start, !satisfied);
+        if (!satisfied) {
+            throw new TimeoutException("Expected condition failed: waiting for " + label + " (" + jsCondition
+                    + ") for " + timeout.getSeconds() + " second(s)");
+        }
+        return true;
+    }
+}
@@ -1,14 +1,12 @@
 package helpers;
 
 import lombok.NonNull;
-import org.reflections.Reflections;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.lang.reflect.Constructor;
+import java.lang.invoke.MethodHandle;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Set;
 
 public abstract class AppHelper {
 
@@ -20,26 +18,22 @@ public abstract class AppHelper {
     }
 
     /**
-     * Initializes all subclasses of AppHelper found in the 'helpers' package using reflection.
-     * Each helper is expected to have a constructor that accepts a SeleniumElementsHelper instance.
+     * Initializes all subclasses of AppHelper found in the 'helpers' package.
+     * The classpath scan and constructor lookup happen once per JVM (see AppHelperRegistry);
+     * each helper is expected to have a public constructor that accepts a SeleniumElementsHelper instance.
      *
      * @param seleniumElementsHelper an instance of SeleniumElementsHelper to be passed to helpers' constructors.
      * @return a map of helper classes to their instantiated objects.
      */
     public static Map<Class<? extends AppHelper>, AppHelper> initAppHelpers(@NonNull SeleniumElementsHelper seleniumElementsHelper) {
-        Map<Class<? extends AppHelper>, AppHelper> appHelperMap = new HashMap<>();
-        Reflections reflections = new Reflections("helpers");
-
-        Set<Class<? extends AppHelper>> appHelpers = reflections.getSubTypesOf(AppHelper.class);
-        for (Class<? extends AppHelper> appHelperClass : appHelpers) {
-            if (!java.lang.reflect.Modifier.isAbstract(appHelperClass.getModifiers())) {
-                try {
-                    Constructor<? extends AppHelper> constructor = appHelperClass.getConstructor(SeleniumElementsHelper.class);
-                    AppHelper helperInstance = constructor.newInstance(seleniumElementsHelper);
-                    appHelperMap.put(appHelperClass, helperInstance);
-                } catch (Exception e) {
-                    LOG.error("Error initializing helper: " + appHelperClass.getSimpleName(), e);
-                }
+        Map<Class<? extends AppHelper>, MethodHandle> constructors = AppHelperRegistry.getConstructors();
+        Map<Class<? extends AppHelper>, AppHelper> appHelperMap = new HashMap<>(constructors.size() * 2);
+        for (Map.Entry<Class<? extends AppHelper>, MethodHandle> entry : constructors.entrySet()) {
+            try {
+                AppHelper helperInstance = (AppHelper) entry.getValue().invokeExact(seleniumElementsHelper);
+                appHelperMap.put(entry.getKey(), helperInstance);
+            } catch (Throwable e) {
+                LOG.error("Error initializing helper: " + entry.getKey().getSimpleName(), e);
             }
         }
         return appHelperMap;
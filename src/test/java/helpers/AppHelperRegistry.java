@@ -0,0 +1,56 @@
+package helpers;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import utils.ClassIndex;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Discovers the concrete AppHelper subclasses once per JVM and keeps their constructors as MethodHandles,
+ * so creating the helpers for a test is a plain constructor call per helper.
+ */
+final class AppHelperRegistry {
+
+    private static final Logger LOG = LogManager.getLogger(AppHelperRegistry.class);
+    private static final String HELPERS_PACKAGE = "helpers";
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(AppHelper.class, SeleniumElementsHelper.class);
+
+    private AppHelperRegistry() { }
+
+    // Initialization-on-demand holder: the JVM guarantees the scan runs once, even with parallel tests.
+    private static final class Holder {
+        private static final Map<Class<? extends AppHelper>, MethodHandle> CONSTRUCTORS = resolveConstructors();
+    }
+
+    static Map<Class<? extends AppHelper>, MethodHandle> getConstructors() {
+        return Holder.CONSTRUCTORS;
+    }
+
+    private static Map<Class<? extends AppHelper>, MethodHandle> resolveConstructors() {
+        long start = System.nanoTime();
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        Map<Class<? extends AppHelper>, MethodHandle> constructors = new LinkedHashMap<>();
+        for (Class<? extends AppHelper> appHelperClass : ClassIndex.getSubTypesOf(HELPERS_PACKAGE, AppHelper.class)) {
+            if (Modifier.isAbstract(appHelperClass.getModifiers())) {
+                continue;
+            }
+            try {
+                MethodHandle constructor = lookup.findConstructor(appHelperClass, MethodType.methodType(void.class, SeleniumElementsHelper.class));
+                constructors.put(appHelperClass, constructor.asType(CONSTRUCTOR_TYPE));
+            } catch (NoSuchMethodException | IllegalAccessException e) {
+                LOG.error("Error resolving constructor of helper: " + appHelperClass.getSimpleName(), e);
+            }
+        }
+        LOG.info("Registered " + constructors.size() + " app helpers in "
+                + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms. " + ClassIndex.getStatistics());
+        return Collections.unmodifiableMap(constructors);
+    }
+}
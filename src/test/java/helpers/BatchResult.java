@@ -0,0 +1,115 @@
+package helpers;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriverException;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Per-step outcome of an {@link ElementBatch}, in the order the steps were queued.
+ */
+public final class BatchResult {
+
+    private final List<StepResult> steps;
+    private final int roundTrips;
+
+    BatchResult(List<StepResult> steps, int roundTrips) {
+        this.steps = Collections.unmodifiableList(steps);
+        this.roundTrips = roundTrips;
+    }
+
+    public List<StepResult> getSteps() {
+        return steps;
+    }
+
+    public StepResult get(int index) {
+        return steps.get(index);
+    }
+
+    /**
+     * @return value of the first read step for the locator, e.g. the text queued with {@code readText(locator)}.
+     */
+    public String getValue(By locator) {
+        for (StepResult step : steps) {
+            if (step.isRead() && step.getLocator().equals(locator)) {
+                return step.getValue();
+            }
+        }
+        throw new IllegalArgumentException("No read step queued for " + locator);
+    }
+
+    public boolean isSuccessful() {
+        return steps.stream().allMatch(StepResult::isSuccessful);
+    }
+
+    /**
+     * @return number of driver calls the batch needed (script calls plus fallbacks).
+     */
+    public int getRoundTrips() {
+        return roundTrips;
+    }
+
+    public BatchResult throwIfFailed() {
+        for (StepResult step : steps) {
+            if (!step.isSuccessful()) {
+                throw new WebDriverException("Batch step " + step.getIndex() + " (" + step.getAction() + " " + step.getLocator()
+                        + ") failed: " + step.getError());
+            }
+        }
+        return this;
+    }
+
+    public static final class StepResult {
+        private final int index;
+        private final By locator;
+        private final String action;
+        private final boolean read;
+        private final boolean successful;
+        private final String value;
+        private final String error;
+
+        StepResult(int index, By locator, String action, boolean read, boolean successful, String value, String error) {
+            this.index = index;
+            this.locator = locator;
+            this.action = action;
+            this.read = read;
+            this.successful = successful;
+            this.value = value;
+            this.error = error;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public By getLocator() {
+            return locator;
+        }
+
+        public String getAction() {
+            return action;
+        }
+
+        public boolean isRead() {
+            return read;
+        }
+
+        public boolean isSuccessful() {
+            return successful;
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        public String getError() {
+            return error;
+        }
+
+        @Override
+        public String toString() {
+            return "[" + index + "] " + action + " " + locator + (successful ? " -> " + value : " FAILED: " + error);
+        }
+    }
+}
@@ -0,0 +1,327 @@
+package helpers;
+
+import lombok.NonNull;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.Keys;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Queues element reads and actions and runs them in as few driver calls as possible: consecutive steps are
+ * executed by a single {@code executeScript}. Obtain one with {@link SeleniumElementsHelper#batch()}:
+ *
+ * <pre>
+ * seleniumElementsHelper.batch()
+ *         .type(By.id("firstName"), "John")
+ *         .type(By.id("lastName"), "Doe")
+ *         .click(By.id("submit"))
+ *         .readText(By.id("output"))
+ *         .execute()
+ *         .throwIfFailed();
+ * </pre>
+ *
+ * Typing sets the value and fires input/change events, clicking uses the DOM click. When a step's element is missing
+ * or hidden, the batch waits for it through the wait engine once and resumes from that step. Steps the page cannot
+ * perform itself (file uploads, special keys, non-standard locators) run as regular WebDriver calls.
+ */
+public class ElementBatch {
+
+    private static final String BATCH_SCRIPT =
+            "var steps = arguments[0], continueOnError = arguments[1], results = [];"
+            + "function find(s) {"
+            + "  switch (s.using) {"
+            + "    case 'id': return document.getElementById(s.value);"
+            + "    case 'name': return document.getElementsByName(s.value)[0] || null;"
+            + "    case 'className': return document.getElementsByClassName(s.value)[0] || null;"
+            + "    case 'tagName': return document.getElementsByTagName(s.value)[0] || null;"
+            + "    case 'css': return document.querySelector(s.value);"
+            + "    case 'xpath': return document.evaluate(s.value, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;"
+            + "    case 'linkText': case 'partialLinkText':"
+            + "      var links = document.getElementsByTagName('a');"
+            + "      for (var i = 0; i < links.length; i++) {"
+            + "        var text = (links[i].innerText || links[i].textContent || '').trim();"
+            + "        if (s.using === 'linkText' ? text === s.value : text.indexOf(s.value) >= 0) { return links[i]; }"
+            + "      }"
+            + "      return null;"
+            + "  }"
+            + "  return null;"
+            + "}"
+            + "function visible(el) {"
+            + "  if (!el.getClientRects().length) { return false; }"
+            + "  var style = window.getComputedStyle(el);"
+            + "  return style.visibility !== 'hidden' && style.display !== 'none';"
+            + "}"
+            + "function setValue(el, text) {"
+            + "  var proto = el instanceof HTMLTextAreaElement ? HTMLTextAreaElement.prototype : HTMLInputElement.prototype;"
+            + "  var descriptor = Object.getOwnPropertyDescriptor(proto, 'value');"
+            + "  el.focus();"
+            + "  if (descriptor && descriptor.set) { descriptor.set.call(el, text); } else { el.value = text; }"
+            + "  el.dispatchEvent(new Event('input', { bubbles: true }));"
+            + "  el.dispatchEvent(new Event('change', { bubbles: true }));"
+            + "}"
+            + "function select(el, text) {"
+            + "  for (var i = 0; i < el.options.length; i++) {"
+            + "    if (el.options[i].text.trim() === text) {"
+            + "      el.selectedIndex = i;"
+            + "      el.dispatchEvent(new Event('change', { bubbles: true }));"
+            + "      return;"
+            + "    }"
+            + "  }"
+            + "  throw new Error('Cannot locate option with text: ' + text);"
+            + "}"
+            + "for (var i = 0; i < steps.length; i++) {"
+            + "  var s = steps[i], el = find(s);"
+            + "  if (!el) { results.push({ ok: false, retriable: true, error: 'no such element' }); break; }"
+            + "  if (!visible(el)) { results.push({ ok: false, retriable: true, error: 'element not visible' }); break; }"
+            + "  try {"
+            + "    var value = null;"
+            + "    switch (s.action) {"
+            + "      case 'click': el.scrollIntoView({ block: 'center' }); el.click(); break;"
+            + "      case 'type': setValue(el, s.argument); break;"
+            + "      case 'select': select(el, s.argument); break;"
+            + "      case 'text': value = el.innerText; break;"
+            + "      case 'attribute':"
+            + "        var property = el[s.argument];"
+            + "        value = property !== undefined && property !== null && typeof property !== 'object' && typeof property !== 'function'"
+            + "            ? property : el.getAttribute(s.argument);"
+            + "        break;"
+            + "    }"
+            + "    results.push({ ok: true, value: value === null || value === undefined ? null : String(value) });"
+            + "  } catch (e) {"
+            + "    results.push({ ok: false, retriable: false, error: String(e && e.message || e) });"
+            + "    if (!continueOnError) { break; }"
+            + "  }"
+            + "}"
+            + "return results;";
+
+    private final WebDriver driver;
+    private final SeleniumElementsHelper seleniumElementsHelper;
+    private final List<Step> steps = new ArrayList<>();
+    private boolean continueOnError;
+    private Duration waitTimeout = Duration.ofSeconds(30);
+
+    ElementBatch(WebDriver driver, SeleniumElementsHelper seleniumElementsHelper) {
+        this.driver = driver;
+        this.seleniumElementsHelper = seleniumElementsHelper;
+    }
+
+    public ElementBatch click(@NonNull By locator) {
+        return add(locator, "click", null, false);
+    }
+
+    public ElementBatch type(@NonNull By locator, @NonNull String text) {
+        return add(locator, "type", text, containsSpecialKeys(text));
+    }
+
+    public ElementBatch selectByVisibleText(@NonNull By locator, @NonNull String text) {
+        return add(locator, "select", text, false);
+    }
+
+    /**
+     * File inputs cannot be filled from a script, so uploads always run as a WebDriver sendKeys.
+     */
+    public ElementBatch upload(@NonNull By locator, @NonNull String filePath) {
+        return add(locator, "upload", filePath, true);
+    }
+
+    public ElementBatch readText(@NonNull By locator) {
+        return add(locator, "text", null, false);
+    }
+
+    public ElementBatch readAttribute(@NonNull By locator, @NonNull String attribute) {
+        return add(locator, "attribute", attribute, false);
+    }
+
+    /**
+     * Keeps executing the remaining steps after a step fails instead of stopping at the first failure.
+     */
+    public ElementBatch continueOnError() {
+        this.continueOnError = true;
+        return this;
+    }
+
+    /**
+     * Maximum time to wait for a missing or hidden element before its step is reported as failed (default: 30 s).
+     */
+    public ElementBatch waitTimeout(@NonNull Duration waitTimeout) {
+        this.waitTimeout = waitTimeout;
+        return this;
+    }
+
+    public BatchResult execute() {
+        List<BatchResult.StepResult> results = new ArrayList<>(steps.size());
+        Set<Integer> waited = new HashSet<>();
+        int roundTrips = 0;
+        int index = 0;
+        boolean stopped = false;
+        while (index < steps.size() && !stopped) {
+            Step step = steps.get(index);
+            if (step.isNative()) {
+                BatchResult.StepResult result = executeNative(index, step);
+                results.add(result);
+                roundTrips++;
+                stopped = !result.isSuccessful() && !continueOnError;
+                index++;
+                continue;
+            }
+            int end = index;
+            List<Map<String, Object>> segment = new ArrayList<>();
+            while (end < steps.size() && !steps.get(end).isNative()) {
+                segment.add(steps.get(end).toScriptArgument());
+                end++;
+            }
+            List<?> rawResults = (List<?>) ((JavascriptExecutor) driver).executeScript(BATCH_SCRIPT, segment, continueOnError);
+            roundTrips++;
+            for (Object rawResult : rawResults) {
+                Map<?, ?> outcome = (Map<?, ?>) rawResult;
+                Step current = steps.get(index);
+                if (Boolean.TRUE.equals(outcome.get("ok"))) {
+                    results.add(current.result(index, true, (String) outcome.get("value"), null));
+                    index++;
+                    continue;
+                }
+                String error = String.valueOf(outcome.get("error"));
+                if (Boolean.TRUE.equals(outcome.get("retriable")) && waited.add(index)) {
+                    roundTrips++;
+                    if (waitForElement(current.locator)) {
+                        break;  // resume the batch from this step now that the element is visible
+                    }
+                    error = error + " after waiting " + waitTimeout.getSeconds() + " s";
+                }
+                results.add(current.result(index, false, null, error));
+                index++;
+                if (!continueOnError) {
+                    stopped = true;
+                    break;
+                }
+                if (Boolean.TRUE.equals(outcome.get("retriable"))) {
+                    break;  // the script stops at a missing element; continue with the next step
+                }
+            }
+        }
+        for (int skipped = results.size(); skipped < steps.size(); skipped++) {
+            results.add(steps.get(skipped).result(skipped, false, null, "skipped after an earlier failure"));
+        }
+        return new BatchResult(results, roundTrips);
+    }
+
+    private BatchResult.StepResult executeNative(int index, Step step) {
+        try {
+            switch (step.action) {
+                case "type":
+                    seleniumElementsHelper.sendKeys(step.locator, step.argument);
+                    return step.result(index, true, null, null);
+                case "upload":
+                    seleniumElementsHelper.findElement(step.locator, waitTimeout).sendKeys(step.argument);
+                    return step.result(index, true, null, null);
+                case "click":
+                    seleniumElementsHelper.click(step.locator);
+                    return step.result(index, true, null, null);
+                case "select":
+                    seleniumElementsHelper.selectDropdownByVisibleText(step.locator, step.argument);
+                    return step.result(index, true, null, null);
+                case "text":
+                    return step.result(index, true, seleniumElementsHelper.getElementText(step.locator), null);
+                case "attribute":
+                    return step.result(index, true, seleniumElementsHelper.getElementAttribute(step.locator, step.argument), null);
+                default:
+                    throw new IllegalStateException("Unknown batch action: " + step.action);
+            }
+        } catch (WebDriverException e) {
+            return step.result(index, false, null, e.getClass().getSimpleName() + ": " + e.getMessage());
+        }
+    }
+
+    private boolean waitForElement(By locator) {
+        try {
+            seleniumElementsHelper.findElement(locator, waitTimeout);
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        }
+    }
+
+    private ElementBatch add(By locator, String action, String argument, boolean forceNative) {
+        String[] strategy = scriptStrategyOf(locator);
+        steps.add(new Step(locator, action, argument, forceNative || strategy == null ? null : strategy));
+        return this;
+    }
+
+    private static boolean containsSpecialKeys(String text) {
+        for (Keys key : Keys.values()) {
+            if (text.indexOf(key.charAt(0)) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Translates the standard locators to a strategy the batch script understands; returns null for anything else.
+     */
+    private static String[] scriptStrategyOf(By locator) {
+        String description = locator.toString();
+        int separator = description.indexOf(": ");
+        if (!description.startsWith("By.") || separator < 0) {
+            return null;
+        }
+        String using = description.substring(3, separator);
+        String value = description.substring(separator + 2);
+        switch (using) {
+            case "id":
+            case "name":
+            case "className":
+            case "tagName":
+            case "xpath":
+            case "linkText":
+            case "partialLinkText":
+                return new String[]{using, value};
+            case "cssSelector":
+                return new String[]{"css", value};
+            default:
+                return null;
+        }
+    }
+
+    private static final class Step {
+        private final By locator;
+        private final String action;
+        private final String argument;
+        private final String[] strategy;
+
+        private Step(By locator, String action, String argument, String[] strategy) {
+            this.locator = locator;
+            this.action = action;
+            this.argument = argument;
+            this.strategy = strategy;
+        }
+
+        private boolean isNative() {
+            return strategy == null;
+        }
+
+        private Map<String, Object> toScriptArgument() {
+            Map<String, Object> argumentMap = new HashMap<>();
+            argumentMap.put("using", strategy[0]);
+            argumentMap.put("value", strategy[1]);
+            argumentMap.put("action", action);
+            argumentMap.put("argument", argument);
+            return argumentMap;
+        }
+
+        private BatchResult.StepResult result(int index, boolean successful, String value, String error) {
+            boolean read = "text".equals(action) || "attribute".equals(action);
+            return new BatchResult.StepResult(index, locator, action, read, successful, value, error);
+        }
+    }
+}
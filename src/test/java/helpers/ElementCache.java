@@ -0,0 +1,101 @@
+package helpers;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Per-page cache of resolved elements, keyed by frame context and locator. A cached element is re-validated with a
+ * single isDisplayed() call instead of a new lookup; stale or hidden elements are dropped and resolved again.
+ * Enabled with {@code -Dfast.elementCache.enabled=true}. Not thread-safe: each test owns its SeleniumElementsHelper.
+ */
+public class ElementCache {
+
+    private static final AtomicLong totalHits = new AtomicLong();
+    private static final AtomicLong totalMisses = new AtomicLong();
+    private static final AtomicLong totalStale = new AtomicLong();
+
+    private final boolean enabled;
+    private final Map<String, WebElement> elements = new HashMap<>();
+    private String frameContext = "";
+    private long hits;
+    private long misses;
+    private long stale;
+
+    public ElementCache(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    WebElement resolve(By locator, Function<By, WebElement> finder) {
+        if (!enabled) {
+            return finder.apply(locator);
+        }
+        String key = frameContext + "|" + locator;
+        WebElement cached = elements.get(key);
+        if (cached != null) {
+            try {
+                if (cached.isDisplayed()) {
+                    hits++;
+                    totalHits.incrementAndGet();
+                    return cached;
+                }
+            } catch (StaleElementReferenceException e) {
+                stale++;
+                totalStale.incrementAndGet();
+            }
+            elements.remove(key);
+        }
+        misses++;
+        totalMisses.incrementAndGet();
+        WebElement element = finder.apply(locator);
+        elements.put(key, element);
+        return element;
+    }
+
+    void evict(By locator) {
+        elements.remove(frameContext + "|" + locator);
+    }
+
+    void enterFrame(By frameLocator) {
+        frameContext = frameContext + ">" + frameLocator;
+    }
+
+    void leaveFrames() {
+        frameContext = "";
+    }
+
+    /**
+     * Drops every cached element, e.g. after a navigation.
+     */
+    public void invalidate() {
+        elements.clear();
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getStale() {
+        return stale;
+    }
+
+    public static String getStatistics() {
+        long hitCount = totalHits.get();
+        long lookups = hitCount + totalMisses.get();
+        return String.format("ElementCache: lookups=%d, hits=%d (%.0f%%), misses=%d, stale=%d",
+                lookups, hitCount, lookups == 0 ? 0 : hitCount * 100d / lookups, totalMisses.get(), totalStale.get());
+    }
+}
@@ -0,0 +1,46 @@
+package helpers;
+
+import org.openqa.selenium.ElementNotInteractableException;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.FluentWait;
+import utils.FrameworkConfig;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Fixed-interval polling on top of Selenium's FluentWait ({@code -Dfast.wait.engine=fluent}).
+ * The interval is {@code fast.wait.pollMillis} (default: 500 ms).
+ */
+public class FluentWaitEngine implements WaitEngine {
+
+    private final WebDriver driver;
+    private final Duration pollingInterval = Duration.ofMillis(FrameworkConfig.getLong("fast.wait.pollMillis", 500));
+
+    public FluentWaitEngine(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    @Override
+    public <T> T until(String label, Function<? super WebDriver, T> condition, Duration timeout) {
+        long start = System.nanoTime();
+        boolean timedOut = false;
+        try {
+            return new FluentWait<>(driver)
+                    .withTimeout(timeout)
+                    .pollingEvery(pollingInterval)
+                    .ignoring(NoSuchElementException.class)
+                    .ignoring(StaleElementReferenceException.class)
+                    .ignoring(ElementNotInteractableException.class)
+                    .until(condition);
+        } catch (TimeoutException e) {
+            timedOut = true;
+            throw e;
+        } finally {
+            WaitStatistics.record(label, System.nanoTime() - start, timedOut);
+        }
+    }
+}
@@ -4,56 +4,120 @@ import org.openqa.selenium.*;
 import org.openqa.selenium.interactions.Actions;
 import org.openqa.selenium.support.ui.*;
 
+import utils.FrameworkConfig;
+
 import java.time.Duration;
 import java.util.List;
+import java.util.function.Function;
 
 public class SeleniumElementsHelper {
 
     private final WebDriver driver;
     private final WebDriverWait driverWait;
-    private final FluentWait<WebDriver> fluentWait;
+    private final WaitEngine waitEngine;
+    private final ElementCache elementCache = new ElementCache(FrameworkConfig.getBoolean("fast.elementCache.enabled", false));
 
-    private static final int WEB_DRIVER_TIMEOUT = 150;
-    private static final int POLLING_INTERVAL = 5;
+    private static final Duration WEB_DRIVER_TIMEOUT = Duration.ofSeconds(150);
+    private static final Duration HIGHLIGHT_DURATION = Duration.ofMillis(500);
 
     public SeleniumElementsHelper(WebDriver driver, WebDriverWait driverWait) {
+        this(driver, driverWait, WaitEngine.create(driver));
+    }
+
+    public SeleniumElementsHelper(WebDriver driver, WebDriverWait driverWait, WaitEngine waitEngine) {
         this.driver = driver;
         this.driverWait = driverWait;
-        this.fluentWait = new FluentWait<>(driver)
-                .withTimeout(Duration.ofSeconds(WEB_DRIVER_TIMEOUT))
-                .pollingEvery(Duration.ofSeconds(POLLING_INTERVAL))
-                .ignoring(NoSuchElementException.class)
-                .ignoring(StaleElementReferenceException.class)
-                .ignoring(ElementNotInteractableException.class);
+        this.waitEngine = waitEngine;
+    }
+
+    public WaitEngine getWaitEngine() {
+        return waitEngine;
+    }
+
+    /**
+     * Starts a batch of reads and actions that is executed with as few driver round-trips as possible.
+     */
+    public ElementBatch batch() {
+        return new ElementBatch(driver, this);
     }
 
     public WebElement findElement(By locator) {
-        return fluentWait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+        return findElement(locator, WEB_DRIVER_TIMEOUT);
+    }
+
+    public WebElement findElement(By locator, Duration timeout) {
+        return elementCache.resolve(locator,
+                by -> waitEngine.until(by.toString(), ExpectedConditions.visibilityOfElementLocated(by), timeout));
+    }
+
+    /**
+     * Returns the elements currently matching the locator without waiting; an empty list when there are none.
+     */
+    public List<WebElement> findElements(By locator) {
+        return driver.findElements(locator);
+    }
+
+    public ElementCache getElementCache() {
+        return elementCache;
     }
 
     public void click(By locator) {
-        WebElement element = findElement(locator);
-        fluentWait.until(ExpectedConditions.elementToBeClickable(element)).click();
+        onElement(locator, element -> {
+            waitEngine.until(locator.toString(), ExpectedConditions.elementToBeClickable(element), WEB_DRIVER_TIMEOUT).click();
+            return null;
+        });
     }
 
     public void sendKeys(By locator, String text) {
-        WebElement element = findElement(locator);
-        fluentWait.until(ExpectedConditions.elementToBeClickable(element)).clear();
-        element.sendKeys(text);
+        onElement(locator, element -> {
+            waitEngine.until(locator.toString(), ExpectedConditions.elementToBeClickable(element), WEB_DRIVER_TIMEOUT).clear();
+            element.sendKeys(text);
+            return null;
+        });
     }
 
     public void clearAndSendKeys(By locator, String text) {
-        WebElement element = findElement(locator);
-        fluentWait.until(ExpectedConditions.elementToBeClickable(element)).clear();
-        element.sendKeys(text);
+        sendKeys(locator, text);
+    }
+
+    /**
+     * Runs the action on the element and, if a cached reference went stale in the meantime, once more on a fresh one.
+     */
+    private <T> T onElement(By locator, Function<WebElement, T> action) {
+        try {
+            return action.apply(findElement(locator));
+        } catch (StaleElementReferenceException e) {
+            if (!elementCache.isEnabled()) {
+                throw e;
+            }
+            elementCache.evict(locator);
+            return action.apply(findElement(locator));
+        }
     }
 
     public void waitForElementToBeClickable(By locator) {
-        fluentWait.until(ExpectedConditions.elementToBeClickable(locator));
+        waitForElementToBeClickable(locator, WEB_DRIVER_TIMEOUT);
+    }
+
+    public void waitForElementToBeClickable(By locator, Duration timeout) {
+        waitEngine.until(locator.toString(), ExpectedConditions.elementToBeClickable(locator), timeout);
     }
 
     public void waitForVisibilityOfElement(By locator) {
-        fluentWait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+        waitForVisibilityOfElement(locator, WEB_DRIVER_TIMEOUT);
+    }
+
+    public void waitForVisibilityOfElement(By locator, Duration timeout) {
+        waitEngine.until(locator.toString(), ExpectedConditions.visibilityOfElementLocated(locator), timeout);
+    }
+
+    /**
+     * Waits until the JavaScript expression is truthy in the page. With the adaptive engine this is a single
+     * round-trip that is re-evaluated by a MutationObserver on every DOM change, e.g.
+     * {@code waitUntilInPage("document.querySelectorAll('.rt-tr-group').length > 3", Duration.ofSeconds(10))}.
+     */
+    public void waitUntilInPage(String jsCondition, Duration timeout) {
+        waitEngine.untilInPage("js: " + jsCondition, jsCondition, timeout);
     }
 
     public boolean isElementPresent(By locator) {
@@ -62,15 +126,19 @@ public class SeleniumElementsHelper {
     }
 
     public String getElementText(By locator) {
-        return findElement(locator).getText();
+        return onElement(locator, WebElement::getText);
     }
 
     public String getElementAttribute(By locator, String attribute) {
-        return findElement(locator).getAttribute(attribute);
+        return onElement(locator, element -> element.getAttribute(attribute));
     }
 
     public void waitForElementToDisappear(By locator) {
-        fluentWait.until(ExpectedConditions.invisibilityOfElementLocated(locator));
+        waitForElementToDisappear(locator, WEB_DRIVER_TIMEOUT);
+    }
+
+    public void waitForElementToDisappear(By locator, Duration timeout) {
+        waitEngine.until(locator.toString(), ExpectedConditions.invisibilityOfElementLocated(locator), timeout);
     }
 
     public void scrollToElement(By locator) {
@@ -84,9 +152,9 @@ public class SeleniumElementsHelper {
         JavascriptExecutor js = (JavascriptExecutor) driver;
         js.executeScript("arguments[0].setAttribute('style', 'border: 2px solid red;');", element);
         try {
-            fluentWait.until(ExpectedConditions.stalenessOf(element));
-        } catch (Exception e) {
-            e.printStackTrace();
+            waitEngine.until("highlight " + locator, ExpectedConditions.stalenessOf(element), HIGHLIGHT_DURATION);
+        } catch (TimeoutException e) {
+            // Element is still attached; the highlight has been visible long enough
         }
         js.executeScript("arguments[0].setAttribute('style', '" + originalStyle + "');", element);
     }
@@ -141,18 +209,20 @@ public class SeleniumElementsHelper {
     public void switchToFrame(By frameLocator) {
         WebElement frameElement = findElement(frameLocator);
         driver.switchTo().frame(frameElement);
+        elementCache.enterFrame(frameLocator);
     }
 
     public void switchToDefaultContent() {
         driver.switchTo().defaultContent();
+        elementCache.leaveFrames();
     }
 
     public void acceptAlert() {
-        fluentWait.until(ExpectedConditions.alertIsPresent()).accept();
+        waitEngine.until("alert", ExpectedConditions.alertIsPresent(), WEB_DRIVER_TIMEOUT).accept();
     }
 
     public void dismissAlert() {
-        fluentWait.until(ExpectedConditions.alertIsPresent()).dismiss();
+        waitEngine.until("alert", ExpectedConditions.alertIsPresent(), WEB_DRIVER_TIMEOUT).dismiss();
     }
 
     public void clickAndHold(By locator) {
@@ -221,16 +291,16 @@ public class SeleniumElementsHelper {
         JavascriptExecutor js = (JavascriptExecutor) driver;
         js.executeScript("arguments[0].setAttribute('style', 'border: 2px solid red;');", element);
         try {
-            fluentWait.until(ExpectedConditions.stalenessOf(element));
-        } catch (Exception e) {
-            e.printStackTrace();
+            waitEngine.until("highlight " + locator, ExpectedConditions.stalenessOf(element), HIGHLIGHT_DURATION);
+        } catch (TimeoutException e) {
+            // Element is still attached; the highlight has been visible long enough
         }
         js.executeScript("arguments[0].setAttribute('style', '" + originalStyle + "');", element);
         element.click();
     }
 
     public void waitForPageLoad() {
-        fluentWait.until(driver -> ((JavascriptExecutor) driver).executeScript("return document.readyState").equals("complete"));
+        waitEngine.until("page load", driver -> ((JavascriptExecutor) driver).executeScript("return document.readyState").equals("complete"), WEB_DRIVER_TIMEOUT);
     }
 
     public void clickElementByJS(By locator) {
@@ -256,14 +326,22 @@ public class SeleniumElementsHelper {
         return js.executeScript(script, args);
     }
 
+    public void navigateTo(String url) {
+        driver.get(url);
+        elementCache.invalidate();
+        waitForPageLoad();
+    }
+
     public void navigateToURLByJS(String url) {
         JavascriptExecutor js = (JavascriptExecutor) driver;
         js.executeScript("window.location.href='" + url + "'");
+        elementCache.invalidate();
     }
 
     public void refreshPageByJS() {
         JavascriptExecutor js = (JavascriptExecutor) driver;
         js.executeScript("history.go(0)");
+        elementCache.invalidate();
     }
 
     public void setElementTextByJS(By locator, String text) {
@@ -288,10 +366,10 @@ public class SeleniumElementsHelper {
     }
 
     public void waitForAlertToBePresent() {
-        fluentWait.until(ExpectedConditions.alertIsPresent());
+        waitEngine.until("alert", ExpectedConditions.alertIsPresent(), WEB_DRIVER_TIMEOUT);
     }
 
     public void waitForElementToBeVisible(By locator) {
-        fluentWait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+        waitForVisibilityOfElement(locator, WEB_DRIVER_TIMEOUT);
     }
 }
\ No newline at end of file
@@ -0,0 +1,43 @@
+package helpers;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import utils.FrameworkConfig;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Strategy used by SeleniumElementsHelper to wait for conditions.
+ * The implementation is chosen with {@code -Dfast.wait.engine=adaptive|fluent} (default: adaptive).
+ */
+public interface WaitEngine {
+
+    /**
+     * Waits until the condition returns a non-null, non-false value and returns it.
+     *
+     * @param label   name under which the wait time is recorded in WaitStatistics, usually the locator.
+     * @param timeout maximum time to wait before a TimeoutException is thrown.
+     */
+    <T> T until(String label, Function<? super WebDriver, T> condition, Duration timeout);
+
+    /**
+     * Waits until the JavaScript expression evaluates to a truthy value in the page.
+     * The default implementation polls it through {@link #until}.
+     */
+    default boolean untilInPage(String label, String jsCondition, Duration timeout) {
+        return until(label, driver -> Boolean.TRUE.equals(((JavascriptExecutor) driver).executeScript("return !!(" + jsCondition + ");")), timeout);
+    }
+
+    static WaitEngine create(WebDriver driver) {
+        String engine = FrameworkConfig.get("fast.wait.engine", "adaptive");
+        switch (engine.toLowerCase()) {
+            case "adaptive":
+                return new AdaptiveWaitEngine(driver);
+            case "fluent":
+                return new FluentWaitEngine(driver);
+            default:
+                throw new IllegalArgumentException("Unsupported wait engine: " + engine);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package helpers;
+
+import utils.LatencyHistogram;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Suite-wide wait-time histograms per wait label (locator), used to find the waits that burn the most time.
+ */
+public final class WaitStatistics {
+
+    private static final Map<String, LatencyHistogram> HISTOGRAMS = new ConcurrentHashMap<>();
+    private static final Map<String, AtomicLong> TIMEOUTS = new ConcurrentHashMap<>();
+
+    private WaitStatistics() { }
+
+    public static void record(String label, long nanos, boolean timedOut) {
+        HISTOGRAMS.computeIfAbsent(label, key -> new LatencyHistogram()).record(nanos);
+        if (timedOut) {
+            TIMEOUTS.computeIfAbsent(label, key -> new AtomicLong()).incrementAndGet();
+        }
+    }
+
+    public static LatencyHistogram getHistogram(String label) {
+        return HISTOGRAMS.get(label);
+    }
+
+    /**
+     * @return the {@code limit} wait labels with the highest total wait time, one per line.
+     */
+    public static String getReport(int limit) {
+        List<Map.Entry<String, LatencyHistogram>> entries = new ArrayList<>(HISTOGRAMS.entrySet());
+        entries.sort((first, second) -> Long.compare(second.getValue().getTotalMillis(), first.getValue().getTotalMillis()));
+        StringBuilder report = new StringBuilder("Top waits by total time:");
+        for (Map.Entry<String, LatencyHistogram> entry : entries.subList(0, Math.min(limit, entries.size()))) {
+            AtomicLong timeouts = TIMEOUTS.get(entry.getKey());
+            report.append(System.lineSeparator())
+                    .append("  ").append(entry.getKey())
+                    .append(": total=").append(entry.getValue().getTotalMillis()).append("ms, ")
+                    .append(entry.getValue())
+                    .append(", timeouts=").append(timeouts == null ? 0 : timeouts.get());
+        }
+        return report.toString();
+    }
+
+    public static void reset() {
+        HISTOGRAMS.clear();
+        TIMEOUTS.clear();
+    }
+}
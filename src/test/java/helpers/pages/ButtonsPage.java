@@ -0,0 +1,45 @@
+package helpers.pages;
+
+import helpers.SeleniumElementsHelper;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.FindBy;
+
+@PageUrl("/buttons")
+public class ButtonsPage extends Page {
+
+    @FindBy(xpath = "//button[text()='Click Me']")
+    private WebElement clickMeButton;
+
+    @FindBy(id = "dynamicClickMessage")
+    private WebElement clickMessage;
+
+    @FindBy(id = "doubleClickBtn")
+    private WebElement doubleClickButton;
+
+    @FindBy(id = "doubleClickMessage")
+    private WebElement doubleClickMessage;
+
+    public ButtonsPage(SeleniumElementsHelper seleniumElementsHelper) {
+        super(seleniumElementsHelper);
+    }
+
+    public void clickMe() {
+        clickMeButton.click();
+    }
+
+    public boolean isClickMessageDisplayed() {
+        return clickMessage.isDisplayed();
+    }
+
+    /**
+     * Fires the double click from a script, which does not depend on the button being in the viewport.
+     */
+    public void doubleClickByScript() {
+        seleniumElementsHelper.executeScript("arguments[0].scrollIntoView(true);"
+                + "arguments[0].dispatchEvent(new MouseEvent('dblclick', {bubbles:true, cancelable:true, view:window}));", doubleClickButton);
+    }
+
+    public boolean isDoubleClickMessageDisplayed() {
+        return doubleClickMessage.isDisplayed();
+    }
+}
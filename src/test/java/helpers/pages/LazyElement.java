@@ -0,0 +1,145 @@
+package helpers.pages;
+
+import helpers.SeleniumElementsHelper;
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.interactions.Locatable;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Backs a page element field. The element is looked up on first use through {@link SeleniumElementsHelper#findElement},
+ * i.e. waiting until it is visible, and kept for the lifetime of the page. When a call fails with a
+ * {@link StaleElementReferenceException}, the element is looked up again and the call is repeated once.
+ * {@code isDisplayed()} on an element that was not resolved yet does not wait: a missing element is not displayed.
+ * Likewise, {@code isDisplayed()} and {@code isEnabled()} on an element that went stale look it up again without waiting
+ * and return false when it is gone.
+ *
+ * <p>The proxy implements {@link WrapsElement}, so it can be passed to scripts and {@code Actions} like a real element.
+ */
+final class LazyElement implements InvocationHandler {
+
+    private static final Class<?>[] INTERFACES = {WebElement.class, WrapsElement.class, Locatable.class};
+    private static final AtomicLong lookups = new AtomicLong();
+    private static final AtomicLong reuses = new AtomicLong();
+    private static final AtomicLong staleRetries = new AtomicLong();
+
+    private final String description;
+    private final Supplier<WebElement> finder;
+    private final Supplier<WebElement> probe;
+    private final Runnable onStale;
+    private final WebElement proxy;
+    private WebElement element;
+
+    private LazyElement(String description, Supplier<WebElement> finder, Supplier<WebElement> probe, Runnable onStale) {
+        this.description = description;
+        this.finder = finder;
+        this.probe = probe;
+        this.onStale = onStale;
+        this.proxy = (WebElement) Proxy.newProxyInstance(LazyElement.class.getClassLoader(), INTERFACES, this);
+    }
+
+    static LazyElement of(String description, By locator, SeleniumElementsHelper seleniumElementsHelper) {
+        return new LazyElement(description, () -> seleniumElementsHelper.findElement(locator), () -> {
+            List<WebElement> found = seleniumElementsHelper.findElements(locator);
+            return found.isEmpty() ? null : found.get(0);
+        }, () -> { });
+    }
+
+    /**
+     * An element of a {@link LazyElementList}; going stale drops the whole list, which is looked up again.
+     */
+    static LazyElement ofListItem(String description, Supplier<WebElement> item, Runnable onStale) {
+        return new LazyElement(description, item, () -> {
+            try {
+                return item.get();
+            } catch (NoSuchElementException e) {
+                return null;
+            }
+        }, onStale);
+    }
+
+    WebElement getProxy() {
+        return proxy;
+    }
+
+    void reset() {
+        element = null;
+    }
+
+    static String getStatistics() {
+        return String.format("Page elements: lookups=%d, reused=%d, staleRetries=%d", lookups.get(), reuses.get(), staleRetries.get());
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "toString":
+                return "Lazy " + description;
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "equals":
+                return proxy == args[0];
+            case "getWrappedElement":
+                return resolve();
+            case "isDisplayed":
+                if (element == null) {
+                    element = probe.get();
+                    lookups.incrementAndGet();
+                    if (element == null) {
+                        return false;
+                    }
+                }
+                break;
+            default:
+                break;
+        }
+        WebElement target = resolve();
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            if (!(e.getCause() instanceof StaleElementReferenceException)) {
+                throw e.getCause();
+            }
+        }
+        staleRetries.incrementAndGet();
+        element = null;
+        onStale.run();
+        if (isStateQuery(method)) {
+            element = probe.get();
+            lookups.incrementAndGet();
+            if (element == null) {
+                return false;
+            }
+        }
+        try {
+            return method.invoke(resolve(), args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    // a page that re-rendered may have dropped the element; asking whether it is shown must not wait for it
+    private static boolean isStateQuery(Method method) {
+        return "isDisplayed".equals(method.getName()) || "isEnabled".equals(method.getName());
+    }
+
+    private WebElement resolve() {
+        if (element != null) {
+            reuses.incrementAndGet();
+            return element;
+        }
+        lookups.incrementAndGet();
+        element = finder.get();
+        return element;
+    }
+}
@@ -0,0 +1,63 @@
+package helpers.pages;
+
+import helpers.SeleniumElementsHelper;
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebElement;
+
+import java.util.AbstractList;
+import java.util.List;
+
+/**
+ * Backs a {@code List<WebElement>} field of a page. The elements are looked up without waiting on first use and kept
+ * until one of them goes stale or the page is opened again. Items are {@link LazyElement} proxies, so a stale item
+ * triggers a new lookup of the list instead of an exception.
+ */
+final class LazyElementList extends AbstractList<WebElement> {
+
+    private final String description;
+    private final By locator;
+    private final SeleniumElementsHelper seleniumElementsHelper;
+    private List<WebElement> elements;
+
+    LazyElementList(String description, By locator, SeleniumElementsHelper seleniumElementsHelper) {
+        this.description = description;
+        this.locator = locator;
+        this.seleniumElementsHelper = seleniumElementsHelper;
+    }
+
+    @Override
+    public WebElement get(int index) {
+        resolve().get(index);  // fail fast with IndexOutOfBoundsException
+        return LazyElement.ofListItem(description + "[" + index + "]", () -> item(index), this::reset).getProxy();
+    }
+
+    @Override
+    public int size() {
+        return resolve().size();
+    }
+
+    void reset() {
+        elements = null;
+    }
+
+    private WebElement item(int index) {
+        List<WebElement> resolved = resolve();
+        if (index >= resolved.size()) {
+            throw new NoSuchElementException(description + " has no element " + index + " anymore; it has " + resolved.size());
+        }
+        return resolved.get(index);
+    }
+
+    private List<WebElement> resolve() {
+        if (elements == null) {
+            elements = seleniumElementsHelper.findElements(locator);
+        }
+        return elements;
+    }
+
+    @Override
+    public String toString() {
+        return "Lazy " + description;
+    }
+}
@@ -0,0 +1,47 @@
+package helpers.pages;
+
+import helpers.SeleniumElementsHelper;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.FindBy;
+
+@PageUrl("/login")
+public class LoginPage extends Page {
+
+    @FindBy(id = "userName")
+    private WebElement userName;
+
+    @FindBy(id = "password")
+    private WebElement password;
+
+    @FindBy(id = "login")
+    private WebElement loginButton;
+
+    @FindBy(id = "name")
+    private WebElement errorMessage;
+
+    public LoginPage(SeleniumElementsHelper seleniumElementsHelper) {
+        super(seleniumElementsHelper);
+    }
+
+    public void enterUserName(String value) {
+        userName.clear();
+        userName.sendKeys(value);
+    }
+
+    public void enterPassword(String value) {
+        password.clear();
+        password.sendKeys(value);
+    }
+
+    public void submit() {
+        loginButton.click();
+        seleniumElementsHelper.waitForPageLoad();
+    }
+
+    /**
+     * @return the message shown after a rejected login, or null when there is none.
+     */
+    public String getErrorMessage() {
+        return errorMessage.isDisplayed() ? errorMessage.getText() : null;
+    }
+}
@@ -0,0 +1,64 @@
+package helpers.pages;
+
+import helpers.AppHelper;
+import helpers.SeleniumElementsHelper;
+import utils.FrameworkConfig;
+
+import java.util.List;
+
+/**
+ * Base class of page objects. Pages are app helpers, so a test gets them like any other helper, e.g.
+ * {@code getHelper(LoginPage.class)}, and each test gets its own instances.
+ *
+ * <pre>
+ * &#64;PageUrl("/login")
+ * public class LoginPage extends Page {
+ *     &#64;FindBy(id = "userName")
+ *     private WebElement userName;
+ *     ...
+ * }
+ * </pre>
+ *
+ * Fields annotated with {@code @FindBy}, {@code @FindBys} or {@code @FindAll} of type {@code WebElement} or
+ * {@code List<WebElement>} are bound to lazy proxies when the page is created (see {@link LazyElement}); they must not
+ * have an initializer. Locators are compiled once per page class, so creating a page does not touch the driver.
+ */
+public abstract class Page extends AppHelper {
+
+    private final PageModel model;
+    private final List<Runnable> elementResets;
+
+    public Page(SeleniumElementsHelper seleniumElementsHelper) {
+        super(seleniumElementsHelper);
+        this.model = PageModel.of(getClass());
+        this.elementResets = model.bind(this, seleniumElementsHelper);
+    }
+
+    /**
+     * Navigates to the page's {@link PageUrl} and waits for it to load.
+     */
+    public void open() {
+        if (model.getPath() == null) {
+            throw new IllegalStateException(getClass().getSimpleName() + " has no @PageUrl");
+        }
+        seleniumElementsHelper.navigateTo(getUrl());
+        invalidateElements();
+    }
+
+    public String getUrl() {
+        return model.getPath() == null ? null : FrameworkConfig.get("baseUrl", "https://demoqa.com") + model.getPath();
+    }
+
+    /**
+     * Forgets every resolved element, e.g. after the page was re-rendered; the next use looks them up again.
+     */
+    public void invalidateElements() {
+        for (Runnable reset : elementResets) {
+            reset.run();
+        }
+    }
+
+    public static String getStatistics() {
+        return LazyElement.getStatistics();
+    }
+}
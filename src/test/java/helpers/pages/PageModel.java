@@ -0,0 +1,140 @@
+package helpers.pages;
+
+import helpers.SeleniumElementsHelper;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.FindAll;
+import org.openqa.selenium.support.FindBy;
+import org.openqa.selenium.support.FindBys;
+import org.openqa.selenium.support.pagefactory.Annotations;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compiled form of a page class: its {@link PageUrl} and, per element field, the locator built from the
+ * {@code @FindBy}/{@code @FindBys}/{@code @FindAll} annotations and a MethodHandle setter. It is built once per class;
+ * binding a page instance only creates the proxies and invokes the cached setters.
+ */
+final class PageModel {
+
+    private static final Logger LOG = LogManager.getLogger(PageModel.class);
+    private static final Map<Class<?>, PageModel> MODELS = new ConcurrentHashMap<>();
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final String path;
+    private final List<ElementField> fields;
+
+    private PageModel(String path, List<ElementField> fields) {
+        this.path = path;
+        this.fields = fields;
+    }
+
+    static PageModel of(Class<? extends Page> pageClass) {
+        return MODELS.computeIfAbsent(pageClass, PageModel::compile);
+    }
+
+    String getPath() {
+        return path;
+    }
+
+    /**
+     * Assigns a lazy proxy to every element field of the page.
+     *
+     * @return callbacks that drop what the proxies have resolved so far.
+     */
+    List<Runnable> bind(Page page, SeleniumElementsHelper seleniumElementsHelper) {
+        List<Runnable> resets = new ArrayList<>(fields.size());
+        for (ElementField field : fields) {
+            Object value;
+            if (field.list) {
+                LazyElementList list = new LazyElementList(field.description, field.locator, seleniumElementsHelper);
+                resets.add(list::reset);
+                value = list;
+            } else {
+                LazyElement element = LazyElement.of(field.description, field.locator, seleniumElementsHelper);
+                resets.add(element::reset);
+                value = element.getProxy();
+            }
+            try {
+                field.setter.invokeExact((Object) page, value);
+            } catch (Throwable e) {
+                throw new IllegalStateException("Cannot bind " + field.description, e);
+            }
+        }
+        return resets;
+    }
+
+    private static PageModel compile(Class<?> pageClass) {
+        long start = System.nanoTime();
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        List<ElementField> fields = new ArrayList<>();
+        for (Class<?> current = pageClass; current != null && current != Page.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (!isElementField(field)) {
+                    continue;
+                }
+                boolean list = List.class == field.getType();
+                if (!list && field.getType() != WebElement.class) {
+                    throw new IllegalStateException(current.getName() + "." + field.getName()
+                            + " is annotated as an element but is neither a WebElement nor a List<WebElement>");
+                }
+                if (list && !isListOfWebElements(field.getGenericType())) {
+                    throw new IllegalStateException(current.getName() + "." + field.getName() + " must be a List<WebElement>");
+                }
+                if (Modifier.isStatic(field.getModifiers()) || Modifier.isFinal(field.getModifiers())) {
+                    throw new IllegalStateException(current.getName() + "." + field.getName() + " must be neither static nor final");
+                }
+                By locator = new Annotations(field).buildBy();
+                try {
+                    field.setAccessible(true);
+                    MethodHandle setter = lookup.unreflectSetter(field).asType(SETTER_TYPE);
+                    fields.add(new ElementField(pageClass.getSimpleName() + "." + field.getName(), locator, list, setter));
+                } catch (IllegalAccessException e) {
+                    throw new IllegalStateException("Cannot bind elements into " + current.getName() + "." + field.getName(), e);
+                }
+            }
+        }
+        PageUrl pageUrl = pageClass.getAnnotation(PageUrl.class);
+        LOG.debug("Compiled page model of {}: {} element(s) in {} µs", pageClass.getSimpleName(), fields.size(),
+                TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+        return new PageModel(pageUrl != null ? pageUrl.value() : null, fields.isEmpty() ? Collections.emptyList() : fields);
+    }
+
+    private static boolean isElementField(Field field) {
+        return field.isAnnotationPresent(FindBy.class) || field.isAnnotationPresent(FindBys.class)
+                || field.isAnnotationPresent(FindAll.class);
+    }
+
+    private static boolean isListOfWebElements(Type type) {
+        return type instanceof ParameterizedType
+                && ((ParameterizedType) type).getActualTypeArguments()[0] == WebElement.class;
+    }
+
+    private static final class ElementField {
+        private final String description;
+        private final By locator;
+        private final boolean list;
+        private final MethodHandle setter;
+
+        private ElementField(String name, By locator, boolean list, MethodHandle setter) {
+            this.description = name + " (" + locator + ")";
+            this.locator = locator;
+            this.list = list;
+            this.setter = setter;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package helpers.pages;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Path of a page relative to {@code baseUrl}, e.g. {@code @PageUrl("/login")}; {@link Page#open()} navigates to it.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface PageUrl {
+    String value();
+}
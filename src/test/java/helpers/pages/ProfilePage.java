@@ -0,0 +1,53 @@
+package helpers.pages;
+
+import helpers.SeleniumElementsHelper;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.FindBy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@PageUrl("/profile")
+public class ProfilePage extends Page {
+
+    @FindBy(id = "userName-value")
+    private WebElement userName;
+
+    @FindBy(id = "submit")
+    private WebElement logoutButton;
+
+    @FindBy(css = ".rt-tbody a")
+    private List<WebElement> bookLinks;
+
+    public ProfilePage(SeleniumElementsHelper seleniumElementsHelper) {
+        super(seleniumElementsHelper);
+    }
+
+    /**
+     * Waits for the name of the logged-in user; the page shows none to anonymous visitors.
+     */
+    public String getUserName() {
+        return userName.getText();
+    }
+
+    public boolean isLoggedIn() {
+        try {
+            return !getUserName().isEmpty();
+        } catch (TimeoutException e) {
+            return false;
+        }
+    }
+
+    public boolean isLogoutButtonDisplayed() {
+        return logoutButton.isDisplayed();
+    }
+
+    public List<String> getBookTitles() {
+        List<String> titles = new ArrayList<>(bookLinks.size());
+        for (WebElement bookLink : bookLinks) {
+            titles.add(bookLink.getText());
+        }
+        return titles;
+    }
+}
@@ -0,0 +1,22 @@
+package models;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Book {
+    private String isbn;
+    private String title;
+    private String subTitle;
+    private String author;
+    @JsonProperty("publish_date")
+    private String publishDate;
+    private String publisher;
+    private int pages;
+    private String description;
+    private String website;
+}
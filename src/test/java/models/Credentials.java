@@ -0,0 +1,16 @@
+package models;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Body of the DemoQA account endpoints (GenerateToken, Login, User).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Credentials {
+    private String userName;
+    private String password;
+}
@@ -0,0 +1,26 @@
+package models;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Body of the DemoQA {@code POST /BookStore/v1/Books} endpoint, which adds books to a user's collection.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IsbnCollection {
+    private String userId;
+    private List<Isbn> collectionOfIsbns = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Isbn {
+        private String isbn;
+    }
+}
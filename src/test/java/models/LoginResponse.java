@@ -0,0 +1,23 @@
+package models;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response of the DemoQA {@code /Account/v1/Login} endpoint; the same values are kept in the site's cookies.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoginResponse {
+    private String userId;
+    private String username;
+    private String token;
+    private String expires;
+    @JsonProperty("created_date")
+    private String createdDate;
+    @JsonProperty("isActive")
+    private boolean active;
+}
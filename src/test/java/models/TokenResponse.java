@@ -0,0 +1,15 @@
+package models;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenResponse {
+    private String token;
+    private String expires;
+    private String status;
+    private String result;
+}
@@ -0,0 +1,52 @@
+package state;
+
+import lombok.NonNull;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import utils.FrameworkConfig;
+
+import java.net.URI;
+import java.util.Map;
+
+/**
+ * Writes cookies and web storage straight into the browser. Both are scoped to an origin, so the browser is first
+ * sent to a cheap page of the application, {@code fast.state.landingPath} (default {@code /favicon.ico}), unless it
+ * is already on it.
+ */
+public final class BrowserState {
+
+    private BrowserState() { }
+
+    public static void addCookies(@NonNull WebDriver driver, @NonNull String baseUrl, @NonNull Map<String, String> cookies) {
+        openOrigin(driver, baseUrl);
+        WebDriver.Options options = driver.manage();
+        cookies.forEach((name, value) -> options.addCookie(new Cookie(name, value, "/")));
+    }
+
+    public static void setLocalStorage(@NonNull WebDriver driver, @NonNull String baseUrl, @NonNull Map<String, String> items) {
+        openOrigin(driver, baseUrl);
+        ((JavascriptExecutor) driver).executeScript(
+                "var items = arguments[0]; for (var key in items) { window.localStorage.setItem(key, items[key]); }", items);
+    }
+
+    static void openOrigin(WebDriver driver, String baseUrl) {
+        String origin = originOf(baseUrl);
+        String currentUrl = driver.getCurrentUrl();
+        if (currentUrl == null || !origin.equalsIgnoreCase(originOf(currentUrl))) {
+            driver.get(origin + FrameworkConfig.get("fast.state.landingPath", "/favicon.ico"));
+        }
+    }
+
+    private static String originOf(String url) {
+        try {
+            URI uri = URI.create(url);
+            if (uri.getHost() == null) {
+                return url;
+            }
+            return uri.getScheme() + "://" + uri.getHost() + (uri.getPort() >= 0 ? ":" + uri.getPort() : "");
+        } catch (IllegalArgumentException e) {
+            return url;
+        }
+    }
+}
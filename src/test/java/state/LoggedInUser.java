@@ -0,0 +1,60 @@
+package state;
+
+import api.ApiClient;
+import models.Credentials;
+import models.LoginResponse;
+import models.TokenResponse;
+import org.openqa.selenium.WebDriver;
+import utils.FrameworkConfig;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A DemoQA user logged in through the account API; the session is handed to the browser as the cookies the login
+ * page would set ({@code userID}, {@code userName}, {@code token}, {@code expires}).
+ * Arguments: user name and password, defaulting to {@code fast.state.userName} and {@code fast.state.password}.
+ * A cached session is renewed a minute before its token expires.
+ */
+public class LoggedInUser implements StateSetup<LoginResponse> {
+
+    private static final long EXPIRY_MARGIN_SECONDS = 60;
+
+    @Override
+    public LoginResponse create(ApiClient api, List<String> args) {
+        Credentials credentials = new Credentials(
+                args.size() > 0 ? args.get(0) : FrameworkConfig.get("fast.state.userName", "testUser"),
+                args.size() > 1 ? args.get(1) : FrameworkConfig.get("fast.state.password", "Test@1234"));
+        TokenResponse token = api.post("/Account/v1/GenerateToken").json(credentials).execute()
+                .assertStatus(200)
+                .as(TokenResponse.class);
+        if (token.getToken() == null) {
+            throw new IllegalStateException("Could not log in as " + credentials.getUserName() + ": " + token.getResult());
+        }
+        return api.post("/Account/v1/Login").json(credentials).execute()
+                .assertStatus(200)
+                .as(LoginResponse.class);
+    }
+
+    @Override
+    public void apply(LoginResponse session, WebDriver driver, String baseUrl) {
+        Map<String, String> cookies = new LinkedHashMap<>();
+        cookies.put("userID", session.getUserId());
+        cookies.put("userName", session.getUsername());
+        cookies.put("token", session.getToken());
+        cookies.put("expires", session.getExpires());
+        BrowserState.addCookies(driver, baseUrl, cookies);
+    }
+
+    @Override
+    public boolean isValid(LoginResponse session) {
+        try {
+            return Instant.parse(session.getExpires()).isAfter(Instant.now().plusSeconds(EXPIRY_MARGIN_SECONDS));
+        } catch (DateTimeParseException | NullPointerException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package state;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares state a test starts from. TestBase establishes it before the test runs, through the API or by injecting
+ * cookies into the browser, so the test does not have to click its way there:
+ *
+ * <pre>
+ * &#64;Test
+ * &#64;Precondition(LoggedInUser.class)
+ * &#64;Precondition(value = UserBooks.class, args = "9781449325862")
+ * public void testProfile() { ... }
+ * </pre>
+ *
+ * Preconditions are established in the order they are declared. See {@link TestState}; {@link SnapshotLogin}
+ * restores a session captured after a real UI login instead.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+@Repeatable(Preconditions.class)
+public @interface Precondition {
+
+    @SuppressWarnings("rawtypes")
+    Class<? extends StateSetup> value();
+
+    /**
+     * Arguments for the setup, e.g. user name and password; empty means the setup's defaults.
+     */
+    String[] args() default {};
+
+    /**
+     * Whether a worker may reuse the state created for an earlier test with the same setup and arguments.
+     * Disable it for tests that change the state, e.g. delete the seeded records.
+     */
+    boolean reuse() default true;
+}
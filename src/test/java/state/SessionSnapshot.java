@@ -0,0 +1,132 @@
+package state;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Authenticated browser state of one origin: cookies, localStorage and sessionStorage. Captured from a browser after
+ * logging in and restored into another one in a single step; see {@link SessionSnapshots} for the cache.
+ */
+@Data
+@NoArgsConstructor
+public class SessionSnapshot {
+
+    private static final String READ_STORAGE_SCRIPT =
+            "function read(storage) {"
+            + "  var items = {};"
+            + "  for (var i = 0; i < storage.length; i++) { var key = storage.key(i); items[key] = storage.getItem(key); }"
+            + "  return items;"
+            + "}"
+            + "return { local: read(window.localStorage), session: read(window.sessionStorage) };";
+
+    private static final String WRITE_STORAGE_SCRIPT =
+            "var local = arguments[0], session = arguments[1];"
+            + "for (var key in local) { window.localStorage.setItem(key, local[key]); }"
+            + "for (var key in session) { window.sessionStorage.setItem(key, session[key]); }";
+
+    private String baseUrl;
+    private long capturedAt;
+    private List<StoredCookie> cookies = new ArrayList<>();
+    private Map<String, String> localStorage = new LinkedHashMap<>();
+    private Map<String, String> sessionStorage = new LinkedHashMap<>();
+
+    /**
+     * Reads the state of the page the driver is on, which must belong to the application at {@code baseUrl}.
+     */
+    public static SessionSnapshot capture(@NonNull WebDriver driver, @NonNull String baseUrl) {
+        SessionSnapshot snapshot = new SessionSnapshot();
+        snapshot.baseUrl = baseUrl;
+        snapshot.capturedAt = System.currentTimeMillis();
+        for (Cookie cookie : driver.manage().getCookies()) {
+            snapshot.cookies.add(StoredCookie.of(cookie));
+        }
+        Object storage = ((JavascriptExecutor) driver).executeScript(READ_STORAGE_SCRIPT);
+        if (storage instanceof Map) {
+            snapshot.localStorage.putAll(stringsOf(((Map<?, ?>) storage).get("local")));
+            snapshot.sessionStorage.putAll(stringsOf(((Map<?, ?>) storage).get("session")));
+        }
+        return snapshot;
+    }
+
+    /**
+     * Writes the state into the browser, which is left on the application's origin.
+     */
+    public void restore(@NonNull WebDriver driver) {
+        BrowserState.openOrigin(driver, baseUrl);
+        WebDriver.Options options = driver.manage();
+        for (StoredCookie cookie : cookies) {
+            options.addCookie(cookie.toCookie());
+        }
+        if (!localStorage.isEmpty() || !sessionStorage.isEmpty()) {
+            ((JavascriptExecutor) driver).executeScript(WRITE_STORAGE_SCRIPT, localStorage, sessionStorage);
+        }
+    }
+
+    /**
+     * @return whether the snapshot is older than the time to live or one of its cookies has expired.
+     */
+    public boolean isExpired(long ttlMillis) {
+        long now = System.currentTimeMillis();
+        if (now - capturedAt > ttlMillis) {
+            return true;
+        }
+        for (StoredCookie cookie : cookies) {
+            if (cookie.getExpiry() != null && cookie.getExpiry() <= now) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Map<String, String> stringsOf(Object items) {
+        Map<String, String> strings = new LinkedHashMap<>();
+        if (items instanceof Map) {
+            ((Map<?, ?>) items).forEach((key, value) -> strings.put(String.valueOf(key), value == null ? null : String.valueOf(value)));
+        }
+        return strings;
+    }
+
+    @Data
+    @NoArgsConstructor
+    public static class StoredCookie {
+        private String name;
+        private String value;
+        private String domain;
+        private String path;
+        private Long expiry;
+        private boolean secure;
+        private boolean httpOnly;
+
+        static StoredCookie of(Cookie cookie) {
+            StoredCookie stored = new StoredCookie();
+            stored.name = cookie.getName();
+            stored.value = cookie.getValue();
+            stored.domain = cookie.getDomain();
+            stored.path = cookie.getPath();
+            stored.expiry = cookie.getExpiry() != null ? cookie.getExpiry().getTime() : null;
+            stored.secure = cookie.isSecure();
+            stored.httpOnly = cookie.isHttpOnly();
+            return stored;
+        }
+
+        Cookie toCookie() {
+            return new Cookie.Builder(name, value)
+                    .domain(domain)
+                    .path(path != null ? path : "/")
+                    .expiresOn(expiry != null ? new Date(expiry) : null)
+                    .isSecure(secure)
+                    .isHttpOnly(httpOnly)
+                    .build();
+        }
+    }
+}
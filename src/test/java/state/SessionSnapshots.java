@@ -0,0 +1,149 @@
+package state;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.NonNull;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import utils.FrameworkConfig;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Cache of {@link SessionSnapshot}s per user or role, so a suite logs in once per user instead of once per test:
+ *
+ * <pre>
+ * SessionSnapshots.restore(getDriver(), "demoqa/testUser", getBaseUrl(), driver -&gt; loginThroughTheLoginPage(driver));
+ * </pre>
+ *
+ * The first caller of a key runs the login and captures the browser state; concurrent callers of the same key wait
+ * for it, later callers get the snapshot restored. Settings:
+ * <ul>
+ *     <li>{@code fast.state.snapshotTtlMinutes} - default 30; snapshots whose cookies expire earlier are dropped then</li>
+ *     <li>{@code fast.state.snapshotDir} - when set, snapshots are also written there and reused by later runs
+ *     within the TTL. The files hold session tokens, so keep the directory out of version control.</li>
+ * </ul>
+ */
+public final class SessionSnapshots {
+
+    private static final Logger LOG = LogManager.getLogger(SessionSnapshots.class);
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private static final Map<String, SessionSnapshot> MEMORY = new ConcurrentHashMap<>();
+    private static final Map<String, Object> LOCKS = new ConcurrentHashMap<>();
+
+    private static final AtomicLong CAPTURED = new AtomicLong();
+    private static final AtomicLong RESTORED = new AtomicLong();
+    private static final AtomicLong LOADED_FROM_DISK = new AtomicLong();
+
+    private SessionSnapshots() { }
+
+    /**
+     * Restores the cached session of the key into the driver, or runs the login and caches the session it produces.
+     *
+     * @param login logs the browser in; the snapshot is taken from the page it leaves the browser on.
+     */
+    public static void restore(@NonNull WebDriver driver, @NonNull String key, @NonNull String baseUrl, @NonNull Consumer<WebDriver> login) {
+        synchronized (LOCKS.computeIfAbsent(key, k -> new Object())) {
+            SessionSnapshot snapshot = get(key);
+            if (snapshot != null) {
+                snapshot.restore(driver);
+                RESTORED.incrementAndGet();
+                LOG.debug("Restored session snapshot {}", key);
+                return;
+            }
+            login.accept(driver);
+            put(key, SessionSnapshot.capture(driver, baseUrl));
+            CAPTURED.incrementAndGet();
+            LOG.info("Captured session snapshot {}", key);
+        }
+    }
+
+    /**
+     * @return the snapshot from memory or disk, or null when there is none that is still valid.
+     */
+    public static SessionSnapshot get(@NonNull String key) {
+        long ttlMillis = ttlMillis();
+        SessionSnapshot snapshot = MEMORY.get(key);
+        if (snapshot == null) {
+            snapshot = readFromDisk(key);
+            if (snapshot != null) {
+                LOADED_FROM_DISK.incrementAndGet();
+                MEMORY.put(key, snapshot);
+            }
+        }
+        if (snapshot != null && snapshot.isExpired(ttlMillis)) {
+            invalidate(key);
+            return null;
+        }
+        return snapshot;
+    }
+
+    public static void put(@NonNull String key, @NonNull SessionSnapshot snapshot) {
+        MEMORY.put(key, snapshot);
+        Path file = fileOf(key);
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.createDirectories(file.getParent());
+            Path temporary = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+            MAPPER.writeValue(temporary.toFile(), snapshot);
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOG.warn("Could not write session snapshot {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Drops the snapshot of the key, e.g. when the application no longer accepts the restored session.
+     */
+    public static void invalidate(@NonNull String key) {
+        MEMORY.remove(key);
+        Path file = fileOf(key);
+        if (file != null) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                LOG.warn("Could not delete session snapshot {}: {}", file, e.getMessage());
+            }
+        }
+    }
+
+    public static String getStatistics() {
+        return String.format("Session snapshots: captured=%d, restored=%d, loaded from disk=%d",
+                CAPTURED.get(), RESTORED.get(), LOADED_FROM_DISK.get());
+    }
+
+    private static SessionSnapshot readFromDisk(String key) {
+        Path file = fileOf(key);
+        if (file == null || !Files.isRegularFile(file)) {
+            return null;
+        }
+        try {
+            return MAPPER.readValue(file.toFile(), SessionSnapshot.class);
+        } catch (IOException e) {
+            LOG.warn("Ignoring unreadable session snapshot {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    private static Path fileOf(String key) {
+        String directory = FrameworkConfig.get("fast.state.snapshotDir", null);
+        return directory == null ? null : Paths.get(directory, key.replaceAll("[^A-Za-z0-9._-]", "_") + ".json");
+    }
+
+    private static long ttlMillis() {
+        return TimeUnit.MINUTES.toMillis(FrameworkConfig.getLong("fast.state.snapshotTtlMinutes", 30));
+    }
+}
@@ -0,0 +1,42 @@
+package state;
+
+import api.ApiClient;
+import helpers.SeleniumElementsHelper;
+import models.Credentials;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import utils.FrameworkConfig;
+
+import java.util.List;
+
+/**
+ * A DemoQA user logged in through the login page, for flows that need exactly what the UI login leaves in the
+ * browser. The login runs once per user for the whole run; every test after that gets the captured cookies and
+ * storage restored, see {@link SessionSnapshots}.
+ * Arguments: user name and password, defaulting to {@code fast.state.userName} and {@code fast.state.password}.
+ */
+public class SnapshotLogin implements StateSetup<Credentials> {
+
+    private static final int LOGIN_TIMEOUT_SECONDS = 30;
+
+    @Override
+    public Credentials create(ApiClient api, List<String> args) {
+        return new Credentials(
+                args.size() > 0 ? args.get(0) : FrameworkConfig.get("fast.state.userName", "testUser"),
+                args.size() > 1 ? args.get(1) : FrameworkConfig.get("fast.state.password", "Test@1234"));
+    }
+
+    @Override
+    public void apply(Credentials credentials, WebDriver driver, String baseUrl) {
+        SessionSnapshots.restore(driver, "demoqa/" + credentials.getUserName(), baseUrl, browser -> {
+            SeleniumElementsHelper seleniumElementsHelper = new SeleniumElementsHelper(browser, new WebDriverWait(browser, LOGIN_TIMEOUT_SECONDS));
+            browser.get(baseUrl + "/login");
+            seleniumElementsHelper.waitForPageLoad();
+            seleniumElementsHelper.sendKeys(By.id("userName"), credentials.getUserName());
+            seleniumElementsHelper.sendKeys(By.id("password"), credentials.getPassword());
+            seleniumElementsHelper.click(By.id("login"));
+            seleniumElementsHelper.waitForVisibilityOfElement(By.id("userName-value"));
+        });
+    }
+}
@@ -0,0 +1,32 @@
+package state;
+
+import api.ApiClient;
+import org.openqa.selenium.WebDriver;
+
+import java.util.List;
+
+/**
+ * Establishes one kind of test state. Implementations need a public no-argument constructor and must be stateless,
+ * since a single instance serves all threads.
+ *
+ * @param <T> the state, e.g. the session of a logged-in user; tests read it with {@code getState(SetupClass.class)}.
+ */
+public interface StateSetup<T> {
+
+    /**
+     * Creates the state on the server side, usually through the API. The result is cached per worker thread and
+     * reused for later tests with the same arguments while {@link #isValid(Object)} holds.
+     */
+    T create(ApiClient api, List<String> args);
+
+    /**
+     * Makes the state visible to the browser, e.g. by injecting cookies. Runs before every test, since pooled
+     * sessions are reset between tests.
+     */
+    default void apply(T state, WebDriver driver, String baseUrl) {
+    }
+
+    default boolean isValid(T state) {
+        return true;
+    }
+}
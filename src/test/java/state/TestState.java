@@ -0,0 +1,125 @@
+package state;
+
+import api.ApiClient;
+import lombok.NonNull;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import utils.FrameworkConfig;
+import utils.LatencyHistogram;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Establishes the {@link Precondition}s of a test method. Created state is cached per worker thread, keyed by setup
+ * class and arguments, so tests on the same worker that declare the same precondition share one API round-trip;
+ * only {@link StateSetup#apply} runs again for every test. API calls go to {@code fast.api.baseUrl}, which
+ * defaults to the {@code baseUrl} of the application.
+ */
+public final class TestState {
+
+    private static final Logger LOG = LogManager.getLogger(TestState.class);
+
+    private static final Map<Class<?>, StateSetup<Object>> SETUPS = new ConcurrentHashMap<>();
+    private static final Map<Method, List<Precondition>> DECLARED = new ConcurrentHashMap<>();
+    private static final ThreadLocal<Map<List<Object>, Object>> WORKER_CACHE = ThreadLocal.withInitial(HashMap::new);
+    private static final ThreadLocal<Map<Class<?>, Object>> CURRENT = ThreadLocal.withInitial(LinkedHashMap::new);
+
+    private static final LatencyHistogram CREATE_LATENCY = new LatencyHistogram();
+    private static final AtomicLong REUSED = new AtomicLong();
+
+    private TestState() { }
+
+    public static boolean hasPreconditions(@NonNull Method testMethod) {
+        return !declaredOn(testMethod).isEmpty();
+    }
+
+    public static void establish(@NonNull Method testMethod, @NonNull WebDriver driver, @NonNull String baseUrl) {
+        List<Precondition> preconditions = declaredOn(testMethod);
+        if (preconditions.isEmpty()) {
+            return;
+        }
+        ApiClient api = new ApiClient(FrameworkConfig.get("fast.api.baseUrl", baseUrl));
+        Map<List<Object>, Object> cache = WORKER_CACHE.get();
+        Map<Class<?>, Object> current = CURRENT.get();
+        current.clear();
+        for (Precondition precondition : preconditions) {
+            StateSetup<Object> setup = setupOf(precondition.value());
+            List<String> args = Collections.unmodifiableList(Arrays.asList(precondition.args()));
+            List<Object> key = Arrays.asList(precondition.value(), args);
+            Object state = precondition.reuse() ? cache.get(key) : null;
+            if (state != null && setup.isValid(state)) {
+                REUSED.incrementAndGet();
+                LOG.debug("Reusing {} {}", precondition.value().getSimpleName(), args);
+            } else {
+                long start = System.nanoTime();
+                state = setup.create(api, args);
+                CREATE_LATENCY.record(System.nanoTime() - start);
+                LOG.debug("Created {} {} in {} ms", precondition.value().getSimpleName(), args, (System.nanoTime() - start) / 1_000_000);
+                if (precondition.reuse()) {
+                    cache.put(key, state);
+                } else {
+                    cache.remove(key);
+                }
+            }
+            current.put(precondition.value(), state);
+            setup.apply(state, driver, baseUrl);
+        }
+    }
+
+    /**
+     * @return the state the current test got from the setup.
+     * @throws IllegalStateException when the test, or the preconditions established so far, do not declare it.
+     */
+    public static <T> T get(@NonNull Class<? extends StateSetup<T>> setupClass) {
+        Object state = CURRENT.get().get(setupClass);
+        if (state == null) {
+            throw new IllegalStateException("No @Precondition(" + setupClass.getSimpleName() + ".class) has been established for this test"
+                    + " (preconditions are established in the order they are declared)");
+        }
+        @SuppressWarnings("unchecked")
+        T typed = (T) state;
+        return typed;
+    }
+
+    /**
+     * Ends the current test; the worker cache is kept for the next one.
+     */
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Drops the state cached by the current worker, e.g. after its browser session has been replaced.
+     */
+    public static void invalidateWorkerCache() {
+        WORKER_CACHE.remove();
+    }
+
+    public static String getStatistics() {
+        return String.format("Preconditions: reused=%d, created: %s", REUSED.get(), CREATE_LATENCY);
+    }
+
+    private static List<Precondition> declaredOn(Method testMethod) {
+        return DECLARED.computeIfAbsent(testMethod, method -> Collections.unmodifiableList(Arrays.asList(method.getAnnotationsByType(Precondition.class))));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static StateSetup<Object> setupOf(Class<?> setupClass) {
+        return SETUPS.computeIfAbsent(setupClass, type -> {
+            try {
+                return (StateSetup<Object>) type.getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Cannot create " + type.getName() + "; it needs a public no-argument constructor", e);
+            }
+        });
+    }
+}
@@ -0,0 +1,36 @@
+package state;
+
+import api.ApiClient;
+import models.IsbnCollection;
+import models.LoginResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Seeds the book collection of the {@link LoggedInUser}, which must be declared before it: the collection is
+ * emptied and the books with the given ISBNs are added. A cached collection is only reused for the same user.
+ */
+public class UserBooks implements StateSetup<IsbnCollection> {
+
+    @Override
+    public IsbnCollection create(ApiClient api, List<String> isbns) {
+        LoginResponse session = TestState.get(LoggedInUser.class);
+        ApiClient userApi = api.withBearerToken(session.getToken());
+        userApi.delete("/BookStore/v1/Books").query("UserId", session.getUserId()).execute().assertStatus(200, 204);
+        List<IsbnCollection.Isbn> collection = new ArrayList<>(isbns.size());
+        for (String isbn : isbns) {
+            collection.add(new IsbnCollection.Isbn(isbn));
+        }
+        IsbnCollection books = new IsbnCollection(session.getUserId(), collection);
+        if (!collection.isEmpty()) {
+            userApi.post("/BookStore/v1/Books").json(books).execute().assertStatus(201);
+        }
+        return books;
+    }
+
+    @Override
+    public boolean isValid(IsbnCollection books) {
+        return books.getUserId().equals(TestState.get(LoggedInUser.class).getUserId());
+    }
+}
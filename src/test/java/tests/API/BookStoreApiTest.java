@@ -0,0 +1,155 @@
+package tests.API;
+
+import api.ApiClient;
+import api.ApiException;
+import api.ApiResponse;
+import api.LocalApiServer;
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import models.Book;
+import models.BookList;
+import models.Credentials;
+import models.TokenResponse;
+import org.apache.logging.log4j.Logger;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import utils.FrameworkConfig;
+import utils.ThreadLogger;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * API layer tests against an embedded stand-in of the DemoQA BookStore API, so they need neither a browser nor the network.
+ */
+public class BookStoreApiTest {
+
+    private static final Logger LOG = ThreadLogger.getLogger(BookStoreApiTest.class);
+
+    private static final int LARGE_LIST_SIZE = 50_000;
+    private static final int CONCURRENT_REQUESTS = 500;
+    private static final int MAX_CONNECTIONS = FrameworkConfig.getInt("fast.api.maxRequestsPerHost", 64) + 8;  // + the other tests' calls
+
+    private LocalApiServer server;
+    private ApiClient bookStore;
+
+    @BeforeClass
+    public void startServer() throws IOException {
+        server = LocalApiServer.start();
+        server.json("GET", "/BookStore/v1/Books", 200, new BookList(Arrays.asList(
+                book("9781449325862", "Git Pocket Guide"),
+                book("9781449331818", "Learning JavaScript Design Patterns"))));
+        server.route("POST", "/Account/v1/GenerateToken", exchange -> {
+            Credentials credentials = ApiClient.getObjectMapper().readValue(LocalApiServer.readBody(exchange), Credentials.class);
+            boolean valid = "fast-user".equals(credentials.getUserName()) && "Secret123!".equals(credentials.getPassword());
+            TokenResponse token = valid
+                    ? new TokenResponse("token-" + credentials.getUserName(), "2099-01-01T00:00:00.000Z", "Success", "User authorized successfully.")
+                    : new TokenResponse(null, null, "Failed", "User authorization failed.");
+            LocalApiServer.respond(exchange, 200, "application/json", LocalApiServer.toJson(token));
+        });
+        server.route("GET", "/BookStore/v1/Books/all", exchange -> {
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, 0);  // chunked: the list is generated while it is sent
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write("{\"books\":[".getBytes(StandardCharsets.UTF_8));
+                for (int i = 0; i < LARGE_LIST_SIZE; i++) {
+                    output.write(((i == 0 ? "" : ",") + new String(LocalApiServer.toJson(book(String.valueOf(i), "Book " + i)), StandardCharsets.UTF_8))
+                            .getBytes(StandardCharsets.UTF_8));
+                }
+                output.write("]}".getBytes(StandardCharsets.UTF_8));
+            }
+        });
+        bookStore = new ApiClient(server.getBaseUrl());
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopServer() {
+        if (server != null) {
+            LOG.info(ApiClient.getStatistics());
+            server.close();
+        }
+    }
+
+    @Test
+    @Description("Books are deserialized into models")
+    @Epic("API Tests")
+    @Feature("Book Store")
+    public void testGetBooks() {
+        BookList books = bookStore.get("/BookStore/v1/Books").executeAs(BookList.class);
+        assert books.getBooks().size() == 2 : "Expected 2 books but got " + books.getBooks().size();
+        assert "Git Pocket Guide".equals(books.getBooks().get(0).getTitle()) : "Unexpected first book: " + books.getBooks().get(0);
+        assert "2020-06-04T08:48:39.000Z".equals(books.getBooks().get(0).getPublishDate()) : "publish_date was not mapped";
+    }
+
+    @Test
+    @Description("A JSON request body is sent and the token read from the response")
+    @Epic("API Tests")
+    @Feature("Account")
+    public void testGenerateToken() {
+        TokenResponse token = bookStore.post("/Account/v1/GenerateToken")
+                .json(new Credentials("fast-user", "Secret123!"))
+                .execute()
+                .assertStatus(200)
+                .as(TokenResponse.class);
+        assert "Success".equals(token.getStatus()) : "Token was not generated: " + token;
+        assert "token-fast-user".equals(token.getToken()) : "Unexpected token: " + token.getToken();
+    }
+
+    @Test
+    @Description("Concurrent async requests complete and share pooled connections")
+    @Epic("API Tests")
+    @Feature("Client")
+    public void testAsyncRequestsSharePooledConnections() {
+        long openedBefore = ApiClient.getConnectionsOpened();
+        List<CompletableFuture<ApiResponse>> responses = new ArrayList<>(CONCURRENT_REQUESTS);
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            responses.add(bookStore.get("/BookStore/v1/Books").query("request", i).executeAsync());
+        }
+        CompletableFuture.allOf(responses.toArray(new CompletableFuture<?>[0])).join();
+        for (CompletableFuture<ApiResponse> response : responses) {
+            assert response.join().getStatus() == 200 : "Request failed: " + response.join();
+        }
+        long opened = ApiClient.getConnectionsOpened() - openedBefore;
+        LOG.info("{} async requests done over {} new connection(s); {}", CONCURRENT_REQUESTS, opened, ApiClient.getStatistics());
+        // at most fast.api.maxRequestsPerHost calls are in flight, so without reuse nearly every request would connect
+        assert opened <= MAX_CONNECTIONS : "Expected pooled connections to be reused, but " + opened + " were opened for "
+                + CONCURRENT_REQUESTS + " requests";
+    }
+
+    @Test
+    @Description("A large list is streamed element by element instead of being buffered")
+    @Epic("API Tests")
+    @Feature("Client")
+    public void testStreamLargeList() {
+        AtomicLong pages = new AtomicLong();
+        long count = bookStore.get("/BookStore/v1/Books/all").stream("books", Book.class, book -> pages.addAndGet(book.getPages()));
+        assert count == LARGE_LIST_SIZE : "Expected " + LARGE_LIST_SIZE + " books but streamed " + count;
+        assert pages.get() == 234L * LARGE_LIST_SIZE : "Books were not fully deserialized";
+    }
+
+    @Test
+    @Description("An unexpected status fails with the status and the response body")
+    @Epic("API Tests")
+    @Feature("Client")
+    public void testUnexpectedStatus() {
+        try {
+            bookStore.get("/BookStore/v1/Unknown").execute().assertStatus(200);
+            assert false : "Expected an ApiException";
+        } catch (ApiException e) {
+            assert e.getStatus() == 404 : "Expected status 404 but got " + e.getStatus();
+            assert e.getMessage().contains("No route") : "Response body missing from: " + e.getMessage();
+        }
+    }
+
+    private static Book book(String isbn, String title) {
+        return new Book(isbn, title, "", "Author", "2020-06-04T08:48:39.000Z", "O'Reilly Media", 234, "", "https://example.com");
+    }
+}
@@ -1,15 +1,20 @@
 package tests.UI;
 
 import base.TestBase;
+import helpers.pages.ButtonsPage;
+import helpers.pages.LoginPage;
+import helpers.pages.ProfilePage;
 import io.qameta.allure.Description;
 import io.qameta.allure.Epic;
 import io.qameta.allure.Feature;
+import models.LoginResponse;
 import org.openqa.selenium.By;
-import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.Keys;
-import org.openqa.selenium.WebElement;
 import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
+import state.LoggedInUser;
+import state.Precondition;
+import state.UserBooks;
 
 
 public class DemoQA extends TestBase {
@@ -19,48 +24,27 @@ public class DemoQA extends TestBase {
     @Epic("Basic UI Tests")
     @Feature("Login")
     public void testLoginFunctionality() {
-        try {
-            testStep("Navigating to home page");
-            driver.get("https://demoqa.com");
-            seleniumElementsHelper.waitForPageLoad();
-
-            testStep("Clicking on 'Book Store Application' tile");
-            seleniumElementsHelper.scrollToElement(By.xpath("//h5[text()='Book Store Application']"));
-            seleniumElementsHelper.click(By.xpath("//h5[text()='Book Store Application']"));
-            seleniumElementsHelper.waitForPageLoad();
+        LoginPage loginPage = getHelper(LoginPage.class);
+        ProfilePage profilePage = getHelper(ProfilePage.class);
+        testStep("Opening the 'Login' page");
+        loginPage.open();
 
-            testStep("Clicking on 'Login' section");
-            seleniumElementsHelper.click(By.xpath("//span[text()='Login']"));
-            seleniumElementsHelper.waitForPageLoad();
+        testStep("Entering username");
+        loginPage.enterUserName("testUser");
 
-            testStep("Entering username");
-            seleniumElementsHelper.sendKeys(By.id("userName"), "testUser");
+        testStep("Entering password");
+        loginPage.enterPassword("Test@1234");
 
-            testStep("Entering password");
-            seleniumElementsHelper.sendKeys(By.id("password"), "Test@1234");
+        testStep("Clicking on login button");
+        loginPage.submit();
 
-            testStep("Clicking on login button");
-            seleniumElementsHelper.click(By.id("login"));
-            seleniumElementsHelper.waitForPageLoad();
+        testStep("Verifying user is logged in");
+        assert profilePage.isLoggedIn() : "User is not logged in. Error message: " + loginPage.getErrorMessage();
 
-            testStep("Verifying user is logged in");
-            seleniumElementsHelper.waitForElementToBeVisible(By.id("userName-label"));
-            if (!seleniumElementsHelper.isElementPresent(By.id("userName-label"))) {
-                String errorMessage = seleniumElementsHelper.getElementText(By.id("name"));
-                assert false : "User is not logged in. Error message: " + errorMessage;
-            }
+        testStep("Verifying 'Log out' button is visible");
+        assert profilePage.isLogoutButtonDisplayed() : "Log out button is not visible after login.";
 
-            testStep("Verifying 'Log out' button is visible");
-            seleniumElementsHelper.waitForElementToBeVisible(By.id("submit")); // Assuming "submit" is the id for Log out button
-            if (!seleniumElementsHelper.isElementPresent(By.id("submit"))) {
-                assert false : "Log out button is not visible after login.";
-            }
-
-            testDone("Login functionality test completed");
-        } catch (Exception e) {
-            e.printStackTrace();
-            assert false : "Test failed due to exception: " + e.getMessage();
-        }
+        testDone("Login functionality test completed");
     }
 
     @Test
@@ -68,19 +52,13 @@ public class DemoQA extends TestBase {
     @Epic("Basic UI Tests")
     @Feature("Button Click")
     public void testButtonClick() {
-        testStep("Navigating to home page");
-        driver.get("https://demoqa.com");
-        seleniumElementsHelper.waitForPageLoad();
-        testStep("Clicking on 'Elements' tile");
-        seleniumElementsHelper.click(By.xpath("//h5[text()='Elements']"));
-        seleniumElementsHelper.waitForPageLoad();
-        testStep("Clicking on 'Buttons' section");
-        seleniumElementsHelper.click(By.xpath("//span[text()='Buttons']"));
-        seleniumElementsHelper.waitForPageLoad();
+        ButtonsPage buttonsPage = getHelper(ButtonsPage.class);
+        testStep("Opening the 'Buttons' page");
+        buttonsPage.open();
         testStep("Clicking on a button");
-        seleniumElementsHelper.click(By.xpath("//button[text()='Click Me']"));
+        buttonsPage.clickMe();
         testStep("Verifying the button has been clicked");
-        assert seleniumElementsHelper.isElementPresent(By.id("dynamicClickMessage")) : "Button was not clicked";
+        assert buttonsPage.isClickMessageDisplayed() : "Button was not clicked";
         testDone("Button click test completed");
     }
 
@@ -89,20 +67,13 @@ public class DemoQA extends TestBase {
     @Epic("Basic UI Tests")
     @Feature("Scrolling")
     public void testScrollingFunctionality() {
-        testStep("Navigating to home page");
-        driver.get("https://demoqa.com");
-        seleniumElementsHelper.waitForPageLoad();
-        testStep("Clicking on 'Elements' tile");
-        seleniumElementsHelper.click(By.xpath("//h5[text()='Elements']"));
-        seleniumElementsHelper.waitForPageLoad();
-        testStep("Clicking on 'Links' section");
-        seleniumElementsHelper.click(By.xpath("//span[text()='Links']"));
-        seleniumElementsHelper.waitForPageLoad();
+        testStep("Opening the 'Links' page");
+        navigateTo("/links");
         testStep("Scrolling to the bottom of the page");
-        seleniumElementsHelper.scrollToEndOfPage();
-        seleniumElementsHelper.waitForElementToBeVisible(By.id("fixedban"));
+        getSeleniumElementsHelper().scrollToEndOfPage();
+        getSeleniumElementsHelper().waitForElementToBeVisible(By.id("fixedban"));
         testStep("Verifying the footer is visible");
-        assert seleniumElementsHelper.isElementPresent(By.id("fixedban")) : "Footer is not visible after scrolling";
+        assert getSeleniumElementsHelper().isElementPresent(By.id("fixedban")) : "Footer is not visible after scrolling";
         testDone("Scrolling functionality test completed");
     }
 
@@ -111,20 +82,12 @@ public class DemoQA extends TestBase {
     @Epic("Basic UI Tests")
     @Feature("Dropdown")
     public void testDropdownFunctionality() {
-        testStep("Navigating to home page");
-        driver.get("https://demoqa.com");
-        seleniumElementsHelper.waitForPageLoad();
-        testStep("Clicking on 'Widgets' tile");
-        seleniumElementsHelper.click(By.xpath("//h5[text()='Widgets']"));
-        seleniumElementsHelper.waitForPageLoad();
-        testStep("Clicking on 'Select Menu' section");
-        seleniumElementsHelper.scrollToElement(By.xpath("//span[text()='Select Menu']"));
-        seleniumElementsHelper.click(By.xpath("//span[text()='Select Menu']"));
-        seleniumElementsHelper.waitForPageLoad();
+        testStep("Opening the 'Select Menu' page");
+        navigateTo("/select-menu");
         testStep("Selecting an option from dropdown");
-        seleniumElementsHelper.selectDropdownByVisibleText(By.id("oldSelectMenu"), "Blue");
+        getSeleniumElementsHelper().selectDropdownByVisibleText(By.id("oldSelectMenu"), "Blue");
         testStep("Verifying the option is selected");
-        assert seleniumElementsHelper.getElementText(By.id("oldSelectMenu")).contains("Blue") : "Option is not selected";
+        assert getSeleniumElementsHelper().getElementText(By.id("oldSelectMenu")).contains("Blue") : "Option is not selected";
         testDone("Dropdown functionality test completed");
     }
 
@@ -133,21 +96,14 @@ public class DemoQA extends TestBase {
     @Epic("Basic UI Tests")
     @Feature("Alerts")
     public void testAlertFunctionality() {
-        testStep("Navigating to home page");
-        driver.get("https://demoqa.com");
-        seleniumElementsHelper.waitForPageLoad();
-        testStep("Clicking on 'Alerts, Frame & Windows' tile");
-        seleniumElementsHelper.click(By.xpath("//h5[text()='Alerts, Frame & Windows']"));
-        seleniumElementsHelper.waitForPageLoad();
-        testStep("Clicking on 'Alerts' section");
-        seleniumElementsHelper.click(By.xpath("//span[text()='Alerts']"));
-        seleniumElementsHelper.waitForPageLoad();
+        testStep("Opening the 'Alerts' page");
+        navigateTo("/alerts");
         testStep("Triggering an alert");
-        seleniumElementsHelper.click(By.id("alertButton"));
-        seleniumElementsHelper.waitForAlertToBePresent();
-        seleniumElementsHelper.acceptAlert();
+        getSeleniumElementsHelper().click(By.id("alertButton"));
+        getSeleniumElementsHelper().waitForAlertToBePresent();
+        getSeleniumElementsHelper().acceptAlert();
         testStep("Verifying alert was accepted");
-        assert !seleniumElementsHelper.isAlertPresent() : "Alert was not accepted";
+        assert !getSeleniumElementsHelper().isAlertPresent() : "Alert was not accepted";
         testDone("Alert functionality test completed");
     }
 
@@ -156,44 +112,34 @@ public class DemoQA extends TestBase {
     @Epic("Advanced UI Tests")
     @Feature("Form Handling")
     public void testMultiSectionFormHandling() {
-        testStep("Navigating to home page");
-        driver.get("https://demoqa.com");
-        seleniumElementsHelper.waitForPageLoad();
-
-        testStep("Clicking on 'Forms' tile");
-        seleniumElementsHelper.scrollToElement(By.xpath("//h5[text()='Forms']"));
-        seleniumElementsHelper.click(By.xpath("//h5[text()='Forms']"));
-        seleniumElementsHelper.waitForPageLoad();
-
-        testStep("Clicking on 'Practice Form' section");
-        seleniumElementsHelper.click(By.xpath("//span[text()='Practice Form']"));
-        seleniumElementsHelper.waitForPageLoad();
+        testStep("Opening the 'Practice Form' page");
+        navigateTo("/automation-practice-form");
 
         testStep("Filling out multiple sections of the form");
-        seleniumElementsHelper.sendKeys(By.id("firstName"), "John");
-        seleniumElementsHelper.sendKeys(By.id("lastName"), "Doe");
-        seleniumElementsHelper.sendKeys(By.id("userEmail"), "john.doe@example.com");
-        seleniumElementsHelper.click(By.cssSelector("label[for='gender-radio-1']"));  // Click on Male
-        seleniumElementsHelper.sendKeys(By.id("userNumber"), "1234567890");
+        getSeleniumElementsHelper().sendKeys(By.id("firstName"), "John");
+        getSeleniumElementsHelper().sendKeys(By.id("lastName"), "Doe");
+        getSeleniumElementsHelper().sendKeys(By.id("userEmail"), "john.doe@example.com");
+        getSeleniumElementsHelper().click(By.cssSelector("label[for='gender-radio-1']"));  // Click on Male
+        getSeleniumElementsHelper().sendKeys(By.id("userNumber"), "1234567890");
 
         testStep("Filling out Date of Birth");
-        seleniumElementsHelper.click(By.id("dateOfBirthInput"));
-        seleniumElementsHelper.click(By.cssSelector(".react-datepicker__day--001"));  // Click on the first day of the month
+        getSeleniumElementsHelper().click(By.id("dateOfBirthInput"));
+        getSeleniumElementsHelper().click(By.cssSelector(".react-datepicker__day--001"));  // Click on the first day of the month
 
         testStep("Filling out Subjects");
-        seleniumElementsHelper.sendKeys(By.id("subjectsInput"), "Maths");
-        seleniumElementsHelper.sendKeys(By.id("subjectsInput"), Keys.ENTER.toString());  // Press Enter to add subject
+        getSeleniumElementsHelper().sendKeys(By.id("subjectsInput"), "Maths");
+        getSeleniumElementsHelper().sendKeys(By.id("subjectsInput"), Keys.ENTER.toString());  // Press Enter to add subject
 
         testStep("Selecting Hobbies");
-        seleniumElementsHelper.scrollToElement(By.cssSelector("label[for='hobbies-checkbox-1']"));
-        seleniumElementsHelper.waitForElementToBeClickable(By.cssSelector("label[for='hobbies-checkbox-1']"));
-        seleniumElementsHelper.clickElementByJS(By.cssSelector("label[for='hobbies-checkbox-1']"));  // Sports
-        seleniumElementsHelper.scrollToElement(By.cssSelector("label[for='hobbies-checkbox-3']"));
-        seleniumElementsHelper.waitForElementToBeClickable(By.cssSelector("label[for='hobbies-checkbox-3']"));
-        seleniumElementsHelper.clickElementByJS(By.cssSelector("label[for='hobbies-checkbox-3']"));  // Music
+        getSeleniumElementsHelper().scrollToElement(By.cssSelector("label[for='hobbies-checkbox-1']"));
+        getSeleniumElementsHelper().waitForElementToBeClickable(By.cssSelector("label[for='hobbies-checkbox-1']"));
+        getSeleniumElementsHelper().clickElementByJS(By.cssSelector("label[for='hobbies-checkbox-1']"));  // Sports
+        getSeleniumElementsHelper().scrollToElement(By.cssSelector("label[for='hobbies-checkbox-3']"));
+        getSeleniumElementsHelper().waitForElementToBeClickable(By.cssSelector("label[for='hobbies-checkbox-3']"));
+        getSeleniumElementsHelper().clickElementByJS(By.cssSelector("label[for='hobbies-checkbox-3']"));  // Music
 
         testStep("Uploading Picture");
-        seleniumElementsHelper.sendKeys(By.id("uploadPicture"), "C:\\Users\\dokto\\Desktop\\WP_P_1.jpg");
+        getSeleniumElementsHelper().sendKeys(By.id("uploadPicture"), "C:\\Users\\dokto\\Desktop\\WP_P_1.jpg");
 
         // Adding an explicit wait to ensure picture upload is fully completed
         try {
@@ -203,30 +149,30 @@ public class DemoQA extends TestBase {
         }
 
 //        testStep("Filling out Address");
-//        seleniumElementsHelper.scrollToElement(By.id("currentAddress"));
-//        seleniumElementsHelper.waitForElementToBeClickable(By.id("currentAddress"));
-//        seleniumElementsHelper.sendKeys(By.id("currentAddress"), "123 Main St");
+//        getSeleniumElementsHelper().scrollToElement(By.id("currentAddress"));
+//        getSeleniumElementsHelper().waitForElementToBeClickable(By.id("currentAddress"));
+//        getSeleniumElementsHelper().sendKeys(By.id("currentAddress"), "123 Main St");
 //
 //        testStep("Selecting State and City");
-//        seleniumElementsHelper.scrollToElement(By.id("state"));
-//        seleniumElementsHelper.waitForElementToBeClickable(By.id("state"));
-//        seleniumElementsHelper.clickElementByJS(By.id("state"));
-//        seleniumElementsHelper.waitForElementToBeVisible(By.xpath("//div[contains(text(),'NCR')]"));
-//        seleniumElementsHelper.clickElementByJS(By.xpath("//div[contains(text(),'NCR')]"));
+//        getSeleniumElementsHelper().scrollToElement(By.id("state"));
+//        getSeleniumElementsHelper().waitForElementToBeClickable(By.id("state"));
+//        getSeleniumElementsHelper().clickElementByJS(By.id("state"));
+//        getSeleniumElementsHelper().waitForElementToBeVisible(By.xpath("//div[contains(text(),'NCR')]"));
+//        getSeleniumElementsHelper().clickElementByJS(By.xpath("//div[contains(text(),'NCR')]"));
 //
-//        seleniumElementsHelper.scrollToElement(By.id("city"));
-//        seleniumElementsHelper.waitForElementToBeClickable(By.id("city"));
-//        seleniumElementsHelper.clickElementByJS(By.id("city"));
-//        seleniumElementsHelper.waitForElementToBeVisible(By.xpath("//div[contains(text(),'Delhi')]"));
-//        seleniumElementsHelper.clickElementByJS(By.xpath("//div[contains(text(),'Delhi')]"));
+//        getSeleniumElementsHelper().scrollToElement(By.id("city"));
+//        getSeleniumElementsHelper().waitForElementToBeClickable(By.id("city"));
+//        getSeleniumElementsHelper().clickElementByJS(By.id("city"));
+//        getSeleniumElementsHelper().waitForElementToBeVisible(By.xpath("//div[contains(text(),'Delhi')]"));
+//        getSeleniumElementsHelper().clickElementByJS(By.xpath("//div[contains(text(),'Delhi')]"));
 
         testStep("Verifying form submission");
-        seleniumElementsHelper.waitForElementToBeVisible(By.id("example-modal-sizes-title-lg"));
-        assert seleniumElementsHelper.isElementPresent(By.id("example-modal-sizes-title-lg")) : "Form not submitted";
+        getSeleniumElementsHelper().waitForElementToBeVisible(By.id("example-modal-sizes-title-lg"));
+        assert getSeleniumElementsHelper().isElementPresent(By.id("example-modal-sizes-title-lg")) : "Form not submitted";
 
         testStep("Verifying submission message");
         String expectedMessage = "Thanks for submitting the form";
-        String actualMessage = seleniumElementsHelper.getElementText(By.id("example-modal-sizes-title-lg"));
+        String actualMessage = getSeleniumElementsHelper().getElementText(By.id("example-modal-sizes-title-lg"));
         assert actualMessage.contains(expectedMessage) : "Unexpected submission message: " + actualMessage;
 
         testDone("Multi-section form handling test completed");
@@ -237,27 +183,23 @@ public class DemoQA extends TestBase {
 @Epic("Advanced UI Tests")
 @Feature("Interactive Table")
 public void testInteractiveTableFunctionality() {
-    testStep("Navigating to home page");
-    driver.get("https://demoqa.com");
-    seleniumElementsHelper.waitForPageLoad();
-    testStep("Clicking on 'Elements' tile");
-    seleniumElementsHelper.click(By.xpath("//h5[text()='Elements']"));
-    seleniumElementsHelper.waitForPageLoad();
-    testStep("Clicking on 'Web Tables' section");
-    seleniumElementsHelper.click(By.xpath("//span[text()='Web Tables']"));
-    seleniumElementsHelper.waitForPageLoad();
+    testStep("Opening the 'Web Tables' page");
+    navigateTo("/webtables");
     testStep("Adding a new record to the table");
-    seleniumElementsHelper.click(By.id("addNewRecordButton"));
-    seleniumElementsHelper.sendKeys(By.id("firstName"), "Alice");
-    seleniumElementsHelper.sendKeys(By.id("lastName"), "Johnson");
-    seleniumElementsHelper.sendKeys(By.id("userEmail"), "alice.johnson@example.com");
-    seleniumElementsHelper.sendKeys(By.id("age"), "30");
-    seleniumElementsHelper.sendKeys(By.id("salary"), "50000");
-    seleniumElementsHelper.sendKeys(By.id("department"), "Quality Assurance");
-    seleniumElementsHelper.click(By.id("submit"));
-    seleniumElementsHelper.waitForPageLoad();
+    getSeleniumElementsHelper().click(By.id("addNewRecordButton"));
+    getSeleniumElementsHelper().batch()
+            .type(By.id("firstName"), "Alice")
+            .type(By.id("lastName"), "Johnson")
+            .type(By.id("userEmail"), "alice.johnson@example.com")
+            .type(By.id("age"), "30")
+            .type(By.id("salary"), "50000")
+            .type(By.id("department"), "Quality Assurance")
+            .click(By.id("submit"))
+            .execute()
+            .throwIfFailed();
+    getSeleniumElementsHelper().waitForPageLoad();
     testStep("Verifying record addition");
-    assert seleniumElementsHelper.isElementPresent(By.xpath("//div[contains(text(), 'Alice')]")) : "Record was not added";
+    assert getSeleniumElementsHelper().isElementPresent(By.xpath("//div[contains(text(), 'Alice')]")) : "Record was not added";
     testDone("Interactive table functionality test completed");
 }
 
@@ -266,22 +208,14 @@ public void testInteractiveTableFunctionality() {
 @Epic("Advanced UI Tests")
 @Feature("Dynamic Loads")
 public void testDynamicLoadsHandling() {
-    testStep("Navigating to home page");
-    driver.get("https://demoqa.com");
-    seleniumElementsHelper.waitForPageLoad();
-    testStep("Clicking on 'Elements' tile");
-    seleniumElementsHelper.click(By.xpath("//h5[text()='Elements']"));
-    seleniumElementsHelper.waitForPageLoad();
-    testStep("Clicking on 'Dynamic Properties' section");
-    seleniumElementsHelper.scrollToElement(By.xpath("//span[text()='Dynamic Properties']"));
-    seleniumElementsHelper.click(By.xpath("//span[text()='Dynamic Properties']"));
-    seleniumElementsHelper.waitForPageLoad();
+    testStep("Opening the 'Dynamic Properties' page");
+    navigateTo("/dynamic-properties");
     testStep("Waiting for dynamically loaded button to appear");
-    seleniumElementsHelper.waitForElementToBeClickable(By.id("visibleAfter"));
+    getSeleniumElementsHelper().waitForElementToBeClickable(By.id("visibleAfter"));
     testStep("Clicking on the dynamically loaded button");
-    seleniumElementsHelper.click(By.id("visibleAfter"));
+    getSeleniumElementsHelper().click(By.id("visibleAfter"));
     testStep("Verifying button click");
-    assert seleniumElementsHelper.isElementPresent(By.id("visibleAfter")) : "Dynamically loaded button was not clickable";
+    assert getSeleniumElementsHelper().isElementPresent(By.id("visibleAfter")) : "Dynamically loaded button was not clickable";
     testDone("Dynamic loads handling test completed");
 }
 
@@ -290,21 +224,13 @@ public void testDynamicLoadsHandling() {
 @Epic("Advanced UI Tests")
 @Feature("JavaScript Manipulation")
 public void testAdvancedJavaScriptManipulations() {
-    testStep("Navigating to home page");
-    driver.get("https://demoqa.com");
-    seleniumElementsHelper.waitForPageLoad();
-    testStep("Clicking on 'Elements' tile");
-    seleniumElementsHelper.click(By.xpath("//h5[text()='Elements']"));
-    seleniumElementsHelper.waitForPageLoad();
-    testStep("Clicking on 'Buttons' section");
-    seleniumElementsHelper.click(By.xpath("//span[text()='Buttons']"));
-    seleniumElementsHelper.waitForPageLoad();
+    ButtonsPage buttonsPage = getHelper(ButtonsPage.class);
+    testStep("Opening the 'Buttons' page");
+    buttonsPage.open();
     testStep("Using JavaScript to perform double click");
-    WebElement button = driver.findElement(By.id("doubleClickBtn"));
-    ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView(true);", button);
-    ((JavascriptExecutor) driver).executeScript("arguments[0].dispatchEvent(new MouseEvent('dblclick', {bubbles:true, cancelable:true, view:window}));", button);
+    buttonsPage.doubleClickByScript();
     testStep("Verifying JavaScript manipulation");
-    assert seleniumElementsHelper.isElementPresent(By.id("doubleClickMessage")) : "JavaScript manipulation did not trigger expected action";
+    assert buttonsPage.isDoubleClickMessageDisplayed() : "JavaScript manipulation did not trigger expected action";
     testDone("Advanced JavaScript manipulations test completed");
 }
 
@@ -314,15 +240,15 @@ public void testAdvancedJavaScriptManipulations() {
 @Feature("Network Errors")
 public void testNetworkErrorHandling() {
     testStep("Navigating to home page");
-    driver.get("https://demoqa.com");
-    seleniumElementsHelper.waitForPageLoad();
+    getDriver().get(getBaseUrl());
+    getSeleniumElementsHelper().waitForPageLoad();
     testStep("Simulating network error");
-    seleniumElementsHelper.executeJavaScript("window.stop();");
+    getSeleniumElementsHelper().executeJavaScript("window.stop();");
     testStep("Attempting to recover from network error");
-    seleniumElementsHelper.refreshPageByJS();
-    seleniumElementsHelper.waitForPageLoad();
+    getSeleniumElementsHelper().refreshPageByJS();
+    getSeleniumElementsHelper().waitForPageLoad();
     testStep("Verifying page recovery");
-    assert seleniumElementsHelper.isElementPresent(By.className("home-banner")) : "Page did not recover from network error correctly";
+    assert getSeleniumElementsHelper().isElementPresent(By.className("home-banner")) : "Page did not recover from network error correctly";
     testDone("Network error handling test completed");
 }
 
@@ -332,13 +258,32 @@ public void testNetworkErrorHandling() {
 @Feature("Session and Cookies")
 public void testSessionAndCookieHandling() {
     testStep("Navigating to home page");
-    driver.get("https://demoqa.com");
-    seleniumElementsHelper.waitForPageLoad();
+    getDriver().get(getBaseUrl());
+    getSeleniumElementsHelper().waitForPageLoad();
     testStep("Setting a session cookie");
-    seleniumElementsHelper.executeJavaScript("document.cookie = 'sessionTest=123456; path=/';");
+    getSeleniumElementsHelper().executeJavaScript("document.cookie = 'sessionTest=123456; path=/';");
     testStep("Verifying the cookie is set correctly");
-    String cookies = (String) seleniumElementsHelper.executeScript("return document.cookie;");
+    String cookies = (String) getSeleniumElementsHelper().executeScript("return document.cookie;");
     assert cookies.contains("sessionTest=123456") : "Session cookie was not set correctly";
     testDone("Session and cookie handling test completed");
 }
+
+@Test
+@Description("Verify the profile of a user logged in through the API lists the seeded books")
+@Epic("Advanced UI Tests")
+@Feature("Profile")
+@Precondition(LoggedInUser.class)
+@Precondition(value = UserBooks.class, args = "9781449325862")
+public void testProfileShowsSeededBooks() {
+    LoginResponse session = getState(LoggedInUser.class);
+    ProfilePage profilePage = getHelper(ProfilePage.class);
+    testStep("Opening the 'Profile' page");
+    profilePage.open();
+    testStep("Verifying the user is logged in");
+    String userName = profilePage.getUserName();
+    assert session.getUsername().equals(userName) : "Expected user " + session.getUsername() + " but the profile shows " + userName;
+    testStep("Verifying the seeded book is listed");
+    assert profilePage.getBookTitles().contains("Git Pocket Guide") : "Seeded book is not in the profile";
+    testDone("Profile test completed");
+}
 }
\ No newline at end of file
@@ -0,0 +1,82 @@
+package tests.benchmark;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.testng.annotations.Test;
+import utils.BrowserManager;
+import utils.ExecutionProfile;
+import utils.FrameworkConfig;
+import utils.LatencyHistogram;
+import utils.ThreadLogger;
+import utils.drivers.DriverProviders;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Compares page-load times of the execution profiles on the DemoQA pages used by the UI suite.
+ * Run with: {@code mvn test -DsuiteXmlFile=src/test/resources/testng-benchmark.xml}
+ */
+public class PageLoadBenchmark {
+
+    private static final Logger LOG = ThreadLogger.getLogger(PageLoadBenchmark.class);
+
+    private static final String[] PAGES = {
+            "",
+            "/elements",
+            "/buttons",
+            "/webtables",
+            "/automation-practice-form"
+    };
+
+    @Test(groups = "benchmark")
+    @Description("Compare page-load times of the default and the fast execution profile")
+    @Epic("Benchmarks")
+    @Feature("Execution profiles")
+    public void compareExecutionProfiles() throws Exception {
+        String browser = FrameworkConfig.get("browser", "chrome");
+        String baseUrl = FrameworkConfig.get("baseUrl", "https://demoqa.com");
+        int iterations = FrameworkConfig.getInt("fast.benchmark.iterations", 3);
+        Map<ExecutionProfile, LatencyHistogram> navigation = new EnumMap<>(ExecutionProfile.class);
+        Map<ExecutionProfile, LatencyHistogram> complete = new EnumMap<>(ExecutionProfile.class);
+
+        for (ExecutionProfile profile : ExecutionProfile.values()) {
+            LatencyHistogram navigationTimes = new LatencyHistogram();
+            LatencyHistogram completeTimes = new LatencyHistogram();
+            WebDriver driver = new BrowserManager().getDriver(browser, DriverProviders.getConfiguredName(), profile);
+            try {
+                driver.get(baseUrl + PAGES[0]);  // warm-up: DNS, TLS and HTTP cache
+                for (int i = 0; i < iterations; i++) {
+                    for (String page : PAGES) {
+                        long start = System.nanoTime();
+                        driver.get(baseUrl + page);
+                        navigationTimes.record(System.nanoTime() - start);
+                        while (!"complete".equals(((JavascriptExecutor) driver).executeScript("return document.readyState"))) {
+                            Thread.sleep(10);
+                        }
+                        completeTimes.record(System.nanoTime() - start);
+                    }
+                }
+            } finally {
+                driver.quit();
+            }
+            navigation.put(profile, navigationTimes);
+            complete.put(profile, completeTimes);
+        }
+
+        StringBuilder report = new StringBuilder("Page-load benchmark (" + browser + ", " + iterations + " x " + PAGES.length + " pages)");
+        for (ExecutionProfile profile : ExecutionProfile.values()) {
+            report.append(System.lineSeparator()).append(profile).append(" driver.get(): ").append(navigation.get(profile))
+                    .append(System.lineSeparator()).append(profile).append(" readyState=complete: ").append(complete.get(profile));
+        }
+        double speedup = complete.get(ExecutionProfile.DEFAULT).getMeanMillis() / Math.max(0.001, complete.get(ExecutionProfile.FAST).getMeanMillis());
+        report.append(System.lineSeparator()).append(String.format("FAST profile speed-up to complete page load: %.2fx", speedup));
+        LOG.info(report.toString());
+        Allure.addAttachment("Page-load benchmark", "text/plain", report.toString());
+    }
+}
@@ -0,0 +1,97 @@
+package tests.benchmark;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.util.Unbox;
+import org.testng.annotations.Test;
+import utils.FrameworkConfig;
+import utils.ThreadLogger;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Measures what a test thread pays per step log call ({@code LOG.info("[STEP {}] {}", ...)} with the test name in
+ * the ThreadContext), alone and with all threads logging at once. Steps are logged in bursts with pauses in between,
+ * like tests do, so the figure is the cost on the test thread rather than the disk throughput of the background
+ * appender thread. Output goes only to logs/tests (see log4j2.xml).
+ */
+public class StepLoggingBenchmark {
+
+    private static final Logger LOG = ThreadLogger.getLogger(StepLoggingBenchmark.class);
+    private static final int BURST = 500;
+    private static final long BURST_PAUSE_MILLIS = 20;
+
+    @Test(groups = "benchmark")
+    @Description("Per-call overhead of step logging with one thread and under parallel execution")
+    @Epic("Benchmarks")
+    @Feature("Logging")
+    public void measureStepLoggingOverhead() throws Exception {
+        int calls = FrameworkConfig.getInt("fast.benchmark.logCalls", 50_000);
+        int threads = FrameworkConfig.getInt("fast.threads", 4);
+        measure(1, calls);  // warm-up (JIT)
+        String report = "Step logging (" + calls + " calls per thread in bursts of " + BURST + ", "
+                + (LogManager.getContext(false).getClass().getSimpleName()) + ")"
+                + System.lineSeparator() + "1 thread: " + measure(1, calls)
+                + System.lineSeparator() + threads + " threads: " + measure(threads, calls);
+        LogManager.getLogger(getClass().getPackage().getName()).info(report);
+        Allure.addAttachment("Step logging benchmark", "text/plain", report);
+    }
+
+    private static String measure(int threads, int calls) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Callable<long[]>> workers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                String testName = "StepLoggingBenchmark.thread" + t;
+                workers.add(() -> logSteps(testName, calls));
+            }
+            long nanos = 0;
+            long bytes = 0;
+            for (Future<long[]> result : executor.invokeAll(workers)) {
+                nanos += result.get()[0];
+                bytes += result.get()[1];
+            }
+            long totalCalls = (long) threads * calls;
+            return String.format("%.0f ns/call, %.1f bytes allocated/call", nanos / (double) totalCalls, bytes / (double) totalCalls);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * @return elapsed nanoseconds and bytes allocated by the calling thread.
+     */
+    private static long[] logSteps(String testName, int calls) throws InterruptedException {
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        String message = "Clicking on 'Elements' tile";
+        ThreadLogger.startTest(testName);
+        try {
+            long elapsed = 0;
+            long allocated = 0;
+            for (int step = 1; step <= calls; ) {
+                long allocatedBefore = threadBean.getThreadAllocatedBytes(threadId);
+                long start = System.nanoTime();
+                for (int end = Math.min(calls, step + BURST - 1); step <= end; step++) {
+                    LOG.info("[STEP {}] {}", Unbox.box(step), message);
+                }
+                elapsed += System.nanoTime() - start;
+                allocated += threadBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+                Thread.sleep(BURST_PAUSE_MILLIS);  // lets the appender thread drain the ring buffer
+            }
+            return new long[]{elapsed, allocated};
+        } finally {
+            ThreadLogger.endTest();
+        }
+    }
+}
@@ -1,88 +1,44 @@
 package utils;
 
-import io.qameta.allure.Feature;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
-import org.openqa.selenium.edge.EdgeDriver;
-import org.openqa.selenium.firefox.FirefoxDriver;
-import org.openqa.selenium.firefox.FirefoxOptions;
-import org.openqa.selenium.remote.DesiredCapabilities;
-import org.openqa.selenium.remote.RemoteWebDriver;
-
-import java.net.MalformedURLException;
-import java.net.URL;
+import utils.drivers.DriverProviders;
 
+/**
+ * Entry point for creating browser sessions. The execution environment is a pluggable
+ * {@link utils.drivers.DriverProvider}, selected with {@code -Dfast.driver.provider=local|grid|container|saucelabs|stub}.
+ */
 public class BrowserManager {
 
-    private static final String DRIVER_PATH = System.getProperty("user.dir") + "\\src\\test\\resources\\drivers\\";
-    private static final String GRID_URL = "http://192.168.1.5:4444/wd/hub"; // Selenium Grid
-    private static final String SAUCE_USERNAME = "oauth-robertoo256-ae5d4";
-    private static final String SAUCE_ACCESS_KEY = "****c361";
-
     public enum DriverType {
-        LOCAL, REMOTE, SAUCELABS
-    }
+        LOCAL("local"), REMOTE("grid"), SAUCELABS("saucelabs");
 
-    public WebDriver getDriver(String browserType, DriverType driverType) throws MalformedURLException {
-        switch (driverType) {
-            case LOCAL:
-                return initLocalDriver(browserType);
-            case REMOTE:
-                return initGridDriver(browserType);
-            case SAUCELABS:
-                return initSauceLabsDriver(browserType);
-            default:
-                throw new IllegalArgumentException("Unsupported driver type: " + driverType);
-        }
-    }
+        private final String providerName;
 
-    private WebDriver initLocalDriver(String browserType) {
-        switch (browserType.toLowerCase()) {
-            case "chrome":
-                System.setProperty("webdriver.chrome.driver", DRIVER_PATH + "chromedriver.exe");
-                ChromeOptions chromeOptions = new ChromeOptions();
-                configureChromeOptions(chromeOptions);
-                return new ChromeDriver(chromeOptions);
-            case "firefox":
-                System.setProperty("webdriver.gecko.driver", DRIVER_PATH + "geckodriver.exe");
-                FirefoxOptions firefoxOptions = new FirefoxOptions();
-                configureFirefoxOptions(firefoxOptions);
-                return new FirefoxDriver(firefoxOptions);
-            case "edge":
-                System.setProperty("webdriver.edge.driver", DRIVER_PATH + "msedgedriver.exe");
-                return new EdgeDriver();
-            default:
-                throw new IllegalArgumentException("Unsupported browser: " + browserType);
+        DriverType(String providerName) {
+            this.providerName = providerName;
         }
-    }
 
-    private WebDriver initGridDriver(String browserType) throws MalformedURLException {
-        DesiredCapabilities capabilities = new DesiredCapabilities();
-        capabilities.setCapability("browserName", browserType);
-        return new RemoteWebDriver(new URL(GRID_URL), capabilities);
+        public String getProviderName() {
+            return providerName;
+        }
     }
 
-    private WebDriver initSauceLabsDriver(String browserType) throws MalformedURLException {
-        DesiredCapabilities capabilities = new DesiredCapabilities();
-        capabilities.setCapability("platformName", "Windows 10");
-        capabilities.setCapability("browserVersion", "latest");
-        capabilities.setCapability("sauce:options", getSauceOptions());
-        return new RemoteWebDriver(new URL("https://ondemand.saucelabs.com:443/wd/hub"), capabilities);
+    /**
+     * Creates a session with the configured provider and execution profile.
+     */
+    public WebDriver getDriver(String browserType) throws Exception {
+        return getDriver(browserType, DriverProviders.getConfiguredName(), ExecutionProfile.current());
     }
 
-    private DesiredCapabilities getSauceOptions() {
-        DesiredCapabilities options = new DesiredCapabilities();
-        options.setCapability("username", SAUCE_USERNAME);
-        options.setCapability("accessKey", SAUCE_ACCESS_KEY);
-        return options;
+    public WebDriver getDriver(String browserType, DriverType driverType) throws Exception {
+        return getDriver(browserType, driverType.getProviderName(), ExecutionProfile.current());
     }
 
-    private void configureChromeOptions(ChromeOptions options) {
-        options.addArguments("--start-maximized");
+    public WebDriver getDriver(String browserType, DriverType driverType, ExecutionProfile profile) throws Exception {
+        return getDriver(browserType, driverType.getProviderName(), profile);
     }
 
-    private void configureFirefoxOptions(FirefoxOptions options) {
-        // Configure specific Firefox options here if needed
+    public WebDriver getDriver(String browserType, String providerName, ExecutionProfile profile) throws Exception {
+        return DriverProviders.createDriver(providerName, browserType, profile);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,145 @@
+package utils;
+
+import lombok.NonNull;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.reflections.Reflections;
+import org.reflections.util.ConfigurationBuilder;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.annotation.Annotation;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Once-per-JVM cache for classpath lookups (subtypes, annotated types).
+ * A lookup is answered from a build-time index under {@value #INDEX_LOCATION} when one is on the classpath
+ * (see the {@code class-index} Maven profile), otherwise from a single Reflections scan whose result is cached.
+ */
+public final class ClassIndex {
+    private static final Logger LOG = LogManager.getLogger(ClassIndex.class);
+
+    public static final String INDEX_LOCATION = "META-INF/fast-index/";
+    private static final String SUBTYPES = "subtypes/";
+    private static final String ANNOTATED = "annotated/";
+
+    private static final Map<String, Set<Class<?>>> CACHE = new ConcurrentHashMap<>();
+    private static final AtomicLong scans = new AtomicLong();
+    private static final AtomicLong scanNanos = new AtomicLong();
+    private static final AtomicLong indexLookups = new AtomicLong();
+
+    private ClassIndex() { }
+
+    @SuppressWarnings("unchecked")
+    public static <T> Set<Class<? extends T>> getSubTypesOf(@NonNull String packageName, @NonNull Class<T> type) {
+        Set<Class<?>> types = CACHE.computeIfAbsent(SUBTYPES + packageName + ":" + type.getName(),
+                key -> lookup(SUBTYPES, packageName, type.getName(), () -> new Reflections(packageName).getSubTypesOf(type)));
+        return (Set<Class<? extends T>>) (Set<?>) types;
+    }
+
+    public static Set<Class<?>> getTypesAnnotatedWith(@NonNull String packageName, @NonNull Class<? extends Annotation> annotation) {
+        return CACHE.computeIfAbsent(ANNOTATED + packageName + ":" + annotation.getName(),
+                key -> lookup(ANNOTATED, packageName, annotation.getName(), () -> new Reflections(packageName).getTypesAnnotatedWith(annotation)));
+    }
+
+    public static String getStatistics() {
+        return String.format("ClassIndex: cachedLookups=%d, indexLookups=%d, classpathScans=%d, scanTime=%dms",
+                CACHE.size(), indexLookups.get(), scans.get(), TimeUnit.NANOSECONDS.toMillis(scanNanos.get()));
+    }
+
+    private interface Scan {
+        Set<? extends Class<?>> run();
+    }
+
+    private static Set<Class<?>> lookup(String kind, String packageName, String typeName, Scan scan) {
+        List<String> indexed = readIndex(kind + typeName);
+        if (indexed != null) {
+            indexLookups.incrementAndGet();
+            Set<Class<?>> types = new LinkedHashSet<>();
+            for (String className : indexed) {
+                if (packageName.isEmpty() || className.startsWith(packageName + ".")) {
+                    try {
+                        types.add(Class.forName(className, false, ClassIndex.class.getClassLoader()));
+                    } catch (ClassNotFoundException | LinkageError e) {
+                        LOG.warn("Indexed class '" + className + "' could not be loaded; the class index may be stale", e);
+                    }
+                }
+            }
+            return Collections.unmodifiableSet(types);
+        }
+        long start = System.nanoTime();
+        Set<Class<?>> types = Collections.unmodifiableSet(new LinkedHashSet<>(scan.run()));
+        long elapsed = System.nanoTime() - start;
+        scans.incrementAndGet();
+        scanNanos.addAndGet(elapsed);
+        LOG.info("Scanned package '" + packageName + "' for " + typeName + " in "
+                + TimeUnit.NANOSECONDS.toMillis(elapsed) + " ms (" + types.size() + " types)");
+        return types;
+    }
+
+    private static List<String> readIndex(String name) {
+        URL resource = ClassIndex.class.getClassLoader().getResource(INDEX_LOCATION + name);
+        if (resource == null) {
+            return null;
+        }
+        List<String> classNames = new ArrayList<>();
+        try (InputStream inputStream = resource.openStream();
+             BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.trim().isEmpty()) {
+                    classNames.add(line.trim());
+                }
+            }
+            return classNames;
+        } catch (IOException e) {
+            LOG.warn("Could not read class index " + resource + "; falling back to a classpath scan", e);
+            return null;
+        }
+    }
+
+    /**
+     * Build-time index generator. Scans a compiled classes directory and writes one index file per requested type.
+     * Usage: {@code ClassIndex <classesDirectory> <type>...}, annotation types are prefixed with {@code @}.
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            throw new IllegalArgumentException("Usage: ClassIndex <classesDirectory> <type|@annotation>...");
+        }
+        File classesDirectory = new File(args[0]);
+        Reflections reflections = new Reflections(new ConfigurationBuilder().addUrls(classesDirectory.toURI().toURL()));
+        for (int i = 1; i < args.length; i++) {
+            boolean annotation = args[i].startsWith("@");
+            String typeName = annotation ? args[i].substring(1) : args[i];
+            Class<?> type = Class.forName(typeName);
+            Set<String> classNames = new TreeSet<>();
+            if (annotation) {
+                @SuppressWarnings("unchecked")
+                Class<? extends Annotation> annotationType = (Class<? extends Annotation>) type;
+                reflections.getTypesAnnotatedWith(annotationType).forEach(c -> classNames.add(c.getName()));
+            } else {
+                reflections.getSubTypesOf(type).forEach(c -> classNames.add(c.getName()));
+            }
+            Path indexFile = classesDirectory.toPath().resolve(INDEX_LOCATION + (annotation ? ANNOTATED : SUBTYPES) + typeName);
+            Files.createDirectories(indexFile.getParent());
+            Files.write(indexFile, classNames, StandardCharsets.UTF_8);
+            LOG.info("Indexed " + classNames.size() + " types for " + args[i] + " into " + indexFile);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package utils;
+
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.firefox.FirefoxOptions;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Browser execution profile, selected with {@code -Dfast.profile=default|fast}.
+ *
+ * <p>{@link #FAST} runs headless with a fixed viewport, the {@code eager} page-load strategy and without images,
+ * web fonts and the hosts from the blocklist. Settings:
+ * <ul>
+ *     <li>{@code fast.profile.windowSize} - viewport, default {@code 1920,1080}</li>
+ *     <li>{@code fast.profile.pageLoadStrategy} - {@code normal|eager|none}, default {@code eager}</li>
+ *     <li>{@code fast.profile.blockImages} - default {@code true}</li>
+ *     <li>{@code fast.profile.blockedDomains} - comma separated, defaults to ad, tracking and font hosts</li>
+ *     <li>{@code fast.profile.allowedDomains} - comma separated; when set, every other host is blocked</li>
+ * </ul>
+ */
+public enum ExecutionProfile {
+    DEFAULT,
+    FAST;
+
+    private static final String DEFAULT_BLOCKED_DOMAINS = "googlesyndication.com,doubleclick.net,googletagservices.com,"
+            + "googletagmanager.com,google-analytics.com,adservice.google.com,amazon-adsystem.com,"
+            + "fonts.googleapis.com,fonts.gstatic.com";
+
+    public static ExecutionProfile current() {
+        return valueOf(FrameworkConfig.get("fast.profile", "default").toUpperCase());
+    }
+
+    /**
+     * Whether TestBase should maximize the window; the fast profile sets a fixed viewport at launch instead.
+     */
+    public boolean isMaximized() {
+        return this == DEFAULT;
+    }
+
+    public void configure(ChromeOptions options) {
+        if (this == DEFAULT) {
+            options.addArguments("--start-maximized");
+            return;
+        }
+        options.setHeadless(true);
+        options.addArguments("--window-size=" + windowSize(), "--disable-extensions", "--disable-dev-shm-usage");
+        options.setPageLoadStrategy(pageLoadStrategy());
+        if (FrameworkConfig.getBoolean("fast.profile.blockImages", true)) {
+            Map<String, Object> prefs = new HashMap<>();
+            prefs.put("profile.managed_default_content_settings.images", 2);
+            options.setExperimentalOption("prefs", prefs);
+        }
+        String hostResolverRules = hostResolverRules();
+        if (!hostResolverRules.isEmpty()) {
+            options.addArguments("--host-resolver-rules=" + hostResolverRules);
+        }
+    }
+
+    public void configure(FirefoxOptions options) {
+        if (this == DEFAULT) {
+            return;
+        }
+        String[] size = windowSize().split(",");
+        options.setHeadless(true);
+        options.addArguments("--width=" + size[0].trim(), "--height=" + size[1].trim());
+        options.setPageLoadStrategy(pageLoadStrategy());
+        if (FrameworkConfig.getBoolean("fast.profile.blockImages", true)) {
+            options.addPreference("permissions.default.image", 2);
+        }
+        options.addPreference("browser.display.use_document_fonts", 0);
+        options.addPreference("gfx.downloadable_fonts.enabled", false);
+        if (!allowedDomains().isEmpty() || !blockedDomains().isEmpty()) {
+            // Firefox has no host resolver rules; a PAC script sends blocked hosts to a closed local port instead
+            options.addPreference("network.proxy.type", 2);
+            options.addPreference("network.proxy.autoconfig_url", "data:text/plain," + urlEncode(proxyAutoConfig()));
+        }
+    }
+
+    private static String windowSize() {
+        return FrameworkConfig.get("fast.profile.windowSize", "1920,1080");
+    }
+
+    private static PageLoadStrategy pageLoadStrategy() {
+        return PageLoadStrategy.fromString(FrameworkConfig.get("fast.profile.pageLoadStrategy", "eager"));
+    }
+
+    private static List<String> blockedDomains() {
+        return domains(FrameworkConfig.get("fast.profile.blockedDomains", DEFAULT_BLOCKED_DOMAINS));
+    }
+
+    private static List<String> allowedDomains() {
+        return domains(FrameworkConfig.get("fast.profile.allowedDomains", ""));
+    }
+
+    private static List<String> domains(String value) {
+        if (value.trim().isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<String> domains = new ArrayList<>();
+        for (String domain : Arrays.asList(value.split(","))) {
+            if (!domain.trim().isEmpty()) {
+                domains.add(domain.trim());
+            }
+        }
+        return domains;
+    }
+
+    private static String hostResolverRules() {
+        List<String> rules = new ArrayList<>();
+        List<String> allowed = allowedDomains();
+        if (!allowed.isEmpty()) {
+            rules.add("MAP * ~NOTFOUND");
+            for (String domain : allowed) {
+                rules.add("EXCLUDE " + domain);
+                rules.add("EXCLUDE *." + domain);
+            }
+            return String.join(", ", rules);
+        }
+        for (String domain : blockedDomains()) {
+            rules.add("MAP " + domain + " ~NOTFOUND");
+            rules.add("MAP *." + domain + " ~NOTFOUND");
+        }
+        return String.join(", ", rules);
+    }
+
+    private static String urlEncode(String value) {
+        try {
+            return URLEncoder.encode(value, "UTF-8").replace("+", "%20");
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String proxyAutoConfig() {
+        List<String> allowed = allowedDomains();
+        StringBuilder pac = new StringBuilder("function FindProxyForURL(url, host) {");
+        if (!allowed.isEmpty()) {
+            for (String domain : allowed) {
+                pac.append("if (dnsDomainIs(host, '.").append(domain).append("') || host == '").append(domain).append("') return 'DIRECT';");
+            }
+            pac.append("return 'PROXY 127.0.0.1:9';");
+        } else {
+            for (String domain : blockedDomains()) {
+                pac.append("if (dnsDomainIs(host, '.").append(domain).append("') || host == '").append(domain).append("') return 'PROXY 127.0.0.1:9';");
+            }
+            pac.append("return 'DIRECT';");
+        }
+        return pac.append("}").toString();
+    }
+}
@@ -0,0 +1,291 @@
+package utils;
+
+import lombok.NonNull;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Central access point for framework settings (browser, thread count, pool sizes, timeouts...).
+ * Settings are merged once from these layers, each overriding the previous one:
+ * <ol>
+ *     <li>{@code applicationConfig.properties} and {@code config/default.properties} on the classpath</li>
+ *     <li>{@code config/<env>.properties} for the environment selected with {@code fast.env} (e.g. {@code ci})</li>
+ *     <li>the file given by {@code fast.config.file}</li>
+ *     <li>environment variables, named like the key in upper case with {@code _} for dots,
+ *     e.g. {@code FAST_THREADS} for {@code fast.threads}; only variables starting with {@code FAST_} or naming a key
+ *     one of the files above defines are read</li>
+ *     <li>system properties, e.g. {@code mvn test -Dfast.threads=8}</li>
+ * </ol>
+ * Lookups read the merged, immutable view. With {@code fast.config.watch=true} the files are watched and the view
+ * is rebuilt when one changes; settings read on every use pick up the change, settings a component keeps in a
+ * field do not.
+ */
+public final class FrameworkConfig {
+    private static final Logger LOG = LogManager.getLogger(FrameworkConfig.class);
+
+    public static final String DEFAULTS_RESOURCE = "config/default.properties";
+    private static final String LEGACY_RESOURCE = "applicationConfig.properties";
+    private static final String ENVIRONMENT_PREFIX = "FAST_";
+
+    private static final Map<String, String> NORMALIZED_KEYS = new ConcurrentHashMap<>();
+    private static volatile Snapshot snapshot = Snapshot.load();
+
+    static {
+        if (getBoolean("fast.config.watch", false)) {
+            ConfigWatcher.start();
+        }
+    }
+
+    private FrameworkConfig() { }
+
+    public static String get(@NonNull String key, String defaultValue) {
+        String value = snapshot.values.get(normalize(key));
+        return value == null || value.isEmpty() ? defaultValue : value;
+    }
+
+    public static int getInt(@NonNull String key, int defaultValue) {
+        String value = get(key, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            LOG.warn("Invalid integer value '" + value + "' for '" + key + "'; using default: " + defaultValue);
+            return defaultValue;
+        }
+    }
+
+    public static long getLong(@NonNull String key, long defaultValue) {
+        String value = get(key, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            LOG.warn("Invalid long value '" + value + "' for '" + key + "'; using default: " + defaultValue);
+            return defaultValue;
+        }
+    }
+
+    public static boolean getBoolean(@NonNull String key, boolean defaultValue) {
+        String value = get(key, null);
+        return value == null ? defaultValue : Boolean.parseBoolean(value);
+    }
+
+    /**
+     * @return the layer the current value of the key comes from, e.g. {@code config/ci.properties}, or null when unset.
+     */
+    public static String getSource(@NonNull String key) {
+        return snapshot.sources.get(normalize(key));
+    }
+
+    /**
+     * Re-reads all layers, including system properties and environment variables.
+     */
+    public static synchronized void reload() {
+        Snapshot previous = snapshot;
+        snapshot = Snapshot.load();
+        Set<String> changed = new TreeSet<>();
+        for (String key : union(previous.values.keySet(), snapshot.values.keySet())) {
+            if (!String.valueOf(previous.values.get(key)).equals(String.valueOf(snapshot.values.get(key)))) {
+                changed.add(key);
+            }
+        }
+        if (!changed.isEmpty()) {
+            LOG.info("Configuration reloaded, changed keys: {}", changed);
+        }
+    }
+
+    private static Set<String> union(Set<String> first, Set<String> second) {
+        Set<String> union = new LinkedHashSet<>(first);
+        union.addAll(second);
+        return union;
+    }
+
+    private static String normalize(String key) {
+        return NORMALIZED_KEYS.computeIfAbsent(key, k -> k.trim().toUpperCase(Locale.ROOT).replace('.', '_').replace('-', '_'));
+    }
+
+    private static final class Snapshot {
+        private final Map<String, String> values;
+        private final Map<String, String> sources;
+        private final List<Path> files;
+
+        private Snapshot(Map<String, String> values, Map<String, String> sources, List<Path> files) {
+            this.values = Collections.unmodifiableMap(values);
+            this.sources = Collections.unmodifiableMap(sources);
+            this.files = Collections.unmodifiableList(files);
+        }
+
+        private static Snapshot load() {
+            Map<String, String> values = new HashMap<>();
+            Map<String, String> sources = new HashMap<>();
+            List<Path> files = new ArrayList<>();
+            addResource(LEGACY_RESOURCE, values, sources, files, false);
+            addResource(DEFAULTS_RESOURCE, values, sources, files, false);
+            String environment = bootstrap("fast.env");
+            if (environment != null) {
+                addResource("config/" + environment + ".properties", values, sources, files, true);
+            }
+            String configFile = bootstrap("fast.config.file");
+            if (configFile != null) {
+                Path path = Paths.get(configFile).toAbsolutePath();
+                files.add(path);
+                if (Files.isRegularFile(path)) {
+                    try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                        addProperties(reader, path.toString(), values, sources);
+                    } catch (IOException e) {
+                        LOG.error("Could not read configuration file " + path, e);
+                    }
+                } else {
+                    LOG.warn("Configuration file {} does not exist", path);
+                }
+            }
+            // only variables meant for the framework, so e.g. PATH or HOME never shadow a lookup
+            Set<String> fileKeys = new HashSet<>(values.keySet());
+            System.getenv().forEach((name, value) -> {
+                String normalized = normalize(name);
+                if (normalized.startsWith(ENVIRONMENT_PREFIX) || fileKeys.contains(normalized)) {
+                    put(name, value, "environment variable " + name, values, sources);
+                }
+            });
+            Properties systemProperties = System.getProperties();
+            for (String name : systemProperties.stringPropertyNames()) {
+                put(name, systemProperties.getProperty(name), "system property", values, sources);
+            }
+            return new Snapshot(values, sources, files);
+        }
+
+        /**
+         * Layer selectors can only come from the JVM or the environment, since they decide which files are read.
+         */
+        private static String bootstrap(String key) {
+            String value = System.getProperty(key);
+            if (value == null || value.trim().isEmpty()) {
+                value = System.getenv(key.toUpperCase(Locale.ROOT).replace('.', '_'));
+            }
+            return value == null || value.trim().isEmpty() ? null : value.trim();
+        }
+
+        private static void addResource(String name, Map<String, String> values, Map<String, String> sources,
+                                        List<Path> files, boolean required) {
+            URL resource = FrameworkConfig.class.getClassLoader().getResource(name);
+            if (resource == null) {
+                if (required) {
+                    LOG.warn("Configuration '{}' not found on the classpath", name);
+                }
+                return;
+            }
+            if ("file".equals(resource.getProtocol())) {
+                try {
+                    files.add(Paths.get(resource.toURI()));
+                } catch (URISyntaxException e) {
+                    LOG.debug("Cannot watch {}: {}", resource, e.getMessage());
+                }
+            }
+            try (InputStream inputStream = resource.openStream()) {
+                addProperties(new InputStreamReader(inputStream, StandardCharsets.ISO_8859_1), name, values, sources);
+            } catch (IOException e) {
+                LOG.error("Could not read configuration " + name, e);
+            }
+        }
+
+        private static void addProperties(Reader reader, String source, Map<String, String> values, Map<String, String> sources) throws IOException {
+            Properties properties = new Properties();
+            properties.load(reader);
+            for (String name : properties.stringPropertyNames()) {
+                put(name, properties.getProperty(name), source, values, sources);
+            }
+        }
+
+        private static void put(String key, String value, String source, Map<String, String> values, Map<String, String> sources) {
+            String normalized = normalize(key);
+            values.put(normalized, value.trim());
+            sources.put(normalized, source);
+        }
+    }
+
+    /**
+     * Watches the directories of the file-based layers and reloads when one of the files changes.
+     */
+    private static final class ConfigWatcher implements Runnable {
+        private final WatchService watchService;
+
+        private ConfigWatcher(WatchService watchService) {
+            this.watchService = watchService;
+        }
+
+        private static void start() {
+            try {
+                WatchService watchService = FileSystems.getDefault().newWatchService();
+                Set<Path> directories = new LinkedHashSet<>();
+                for (Path file : snapshot.files) {
+                    Path directory = file.getParent();
+                    if (directory != null && Files.isDirectory(directory) && directories.add(directory)) {
+                        directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+                    }
+                }
+                Thread thread = new Thread(new ConfigWatcher(watchService), "fast-config-watcher");
+                thread.setDaemon(true);
+                thread.start();
+                LOG.info("Watching configuration files for changes: {}", snapshot.files);
+            } catch (IOException e) {
+                LOG.warn("Configuration hot reload is not available: {}", e.getMessage());
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (true) {
+                    WatchKey key = watchService.take();
+                    Path directory = (Path) key.watchable();
+                    boolean relevant = false;
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (event.context() instanceof Path && snapshot.files.contains(directory.resolve((Path) event.context()))) {
+                            relevant = true;
+                        }
+                    }
+                    key.reset();
+                    if (relevant) {
+                        Thread.sleep(100);  // editors often write a file in several steps
+                        reload();
+                    }
+                }
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
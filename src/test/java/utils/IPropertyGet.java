@@ -1,16 +1,19 @@
 package utils;
 
-import lombok.NonNull;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.text.DateFormat;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.Date;
-import java.util.Properties;
 import java.util.TimeZone;
 
+/**
+ * Typed access to the value of a {@link PropertyFile} enum constant. Values come from the snapshot built by
+ * {@link PropertyHelper}: numbers are parsed once at load time and dates once per format, so repeated reads
+ * do not parse again. The primitive accessors take a default instead of returning null.
+ */
 public interface IPropertyGet {
     Logger LOGGER = LogManager.getLogger(IPropertyGet.class);
     String DEFAULT_DATE_FORMAT = "M/d/yyyy";
@@ -19,26 +22,21 @@ public interface IPropertyGet {
     TimeZone DEFAULT_TIMEZONE = TimeZone.getTimeZone("UTC");
 
     default String get(String... params) {
-        if (this instanceof Enum<?>) {
-            String key = ((Enum<?>) this).name();
-            return PropertyHelper.get(getClass(), key, params);  // Assuming this method is properly defined elsewhere
-        }
-        return null;
+        PropertyValue value = PropertyHelper.value(this);
+        return value != null ? value.get(params) : null;
     }
 
     default Date parseDate(String value, String format, TimeZone timeZone) {
-        DateFormat dateFormat = new SimpleDateFormat(format);
-        dateFormat.setTimeZone(timeZone);
-        try {
-            return dateFormat.parse(value);
-        } catch (ParseException e) {
-            LOGGER.error("Failed to parse date: " + value + " with format: " + format, e);
+        Long millis = value != null ? PropertyValue.parseEpochMillis(value, format, timeZone) : null;
+        if (millis == null) {
+            LOGGER.error("Failed to parse date: " + value + " with format: " + format);
             return null;
         }
+        return new Date(millis);
     }
 
     default Date getDate(String format) {
-        return parseDate(get(), format, DEFAULT_TIMEZONE);
+        return getDate(format, DEFAULT_TIMEZONE);
     }
 
     default Date getDate() {
@@ -46,7 +44,7 @@ public interface IPropertyGet {
     }
 
     default Date getDateTime(String format, TimeZone timeZone) {
-        return parseDate(get(), format, timeZone);
+        return getDate(format, timeZone);
     }
 
     default Date getDateTime() {
@@ -54,41 +52,102 @@ public interface IPropertyGet {
     }
 
     default Date getTime(String format, TimeZone timeZone) {
-        return parseDate(get(), format, timeZone);
+        return getDate(format, timeZone);
     }
 
     default Date getTime() {
         return getTime(DEFAULT_TIME_FORMAT, DEFAULT_TIMEZONE);
     }
 
+    /**
+     * @return a new Date for the cached parse of this property, or null when it does not match the format.
+     */
+    default Date getDate(String format, TimeZone timeZone) {
+        PropertyValue value = PropertyHelper.value(this);
+        Long millis = value != null ? value.getEpochMillis(format, timeZone) : null;
+        if (millis == null) {
+            LOGGER.error("Failed to parse date: " + (value != null ? value.getRaw() : null) + " with format: " + format);
+            return null;
+        }
+        return new Date(millis);
+    }
+
+    default LocalDate getLocalDate() {
+        return getLocalDate(DEFAULT_DATE_FORMAT);
+    }
+
+    default LocalDate getLocalDate(String format) {
+        PropertyValue value = PropertyHelper.value(this);
+        return value != null ? value.getLocalDate(format) : null;
+    }
+
+    default LocalDateTime getLocalDateTime() {
+        return getLocalDateTime(DEFAULT_DATETIME_FORMAT);
+    }
+
+    default LocalDateTime getLocalDateTime(String format) {
+        PropertyValue value = PropertyHelper.value(this);
+        return value != null ? value.getLocalDateTime(format) : null;
+    }
+
+    default LocalTime getLocalTime() {
+        return getLocalTime(DEFAULT_TIME_FORMAT);
+    }
+
+    default LocalTime getLocalTime(String format) {
+        PropertyValue value = PropertyHelper.value(this);
+        return value != null ? value.getLocalTime(format) : null;
+    }
+
     default Integer getInt() {
-        try {
-            return Integer.parseInt(get());
-        } catch (NumberFormatException e) {
-            LOGGER.error("Failed to parse integer", e);
+        PropertyValue value = PropertyHelper.value(this);
+        if (value == null || value.getInt() == null) {
+            LOGGER.error("Failed to parse integer: " + (value != null ? value.getRaw() : null));
             return null;
         }
+        return value.getInt();
+    }
+
+    default int getInt(int defaultValue) {
+        PropertyValue value = PropertyHelper.value(this);
+        return value != null && value.getInt() != null ? value.getInt() : defaultValue;
     }
 
     default Long getLong() {
-        try {
-            return Long.parseLong(get());
-        } catch (NumberFormatException e) {
-            LOGGER.error("Failed to parse long", e);
+        PropertyValue value = PropertyHelper.value(this);
+        if (value == null || value.getLong() == null) {
+            LOGGER.error("Failed to parse long: " + (value != null ? value.getRaw() : null));
             return null;
         }
+        return value.getLong();
+    }
+
+    default long getLong(long defaultValue) {
+        PropertyValue value = PropertyHelper.value(this);
+        return value != null && value.getLong() != null ? value.getLong() : defaultValue;
     }
 
     default Double getDouble() {
-        try {
-            return Double.parseDouble(get());
-        } catch (NumberFormatException e) {
-            LOGGER.error("Failed to parse double", e);
+        PropertyValue value = PropertyHelper.value(this);
+        if (value == null || value.getDouble() == null) {
+            LOGGER.error("Failed to parse double: " + (value != null ? value.getRaw() : null));
             return null;
         }
+        return value.getDouble();
+    }
+
+    default double getDouble(double defaultValue) {
+        PropertyValue value = PropertyHelper.value(this);
+        return value != null && value.getDouble() != null ? value.getDouble() : defaultValue;
     }
 
     default Boolean getBoolean() {
-        return Boolean.parseBoolean(get());
+        PropertyValue value = PropertyHelper.value(this);
+        return value != null && value.getBoolean();
+    }
+
+    default boolean getBoolean(boolean defaultValue) {
+        PropertyValue value = PropertyHelper.value(this);
+        return value != null ? value.getBoolean() : defaultValue;
     }
-}
\ No newline at end of file
+}
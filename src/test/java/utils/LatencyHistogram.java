@@ -0,0 +1,92 @@
+package utils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free latency histogram with power-of-two microsecond buckets.
+ * Percentiles are approximate (upper bound of the bucket), which is plenty for spotting hot spots.
+ */
+public final class LatencyHistogram {
+
+    private static final int BUCKETS = 40;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        buckets.incrementAndGet(bucketOf(value));
+        count.incrementAndGet();
+        totalNanos.addAndGet(value);
+        long currentMax;
+        while (value > (currentMax = maxNanos.get()) && !maxNanos.compareAndSet(currentMax, value)) {
+            // retry until max is updated or another thread stored a bigger value
+        }
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    public long getTotalMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(totalNanos.get());
+    }
+
+    public double getMeanMillis() {
+        long samples = count.get();
+        return samples == 0 ? 0 : totalNanos.get() / (double) samples / 1_000_000d;
+    }
+
+    public double getMaxMillis() {
+        return maxNanos.get() / 1_000_000d;
+    }
+
+    /**
+     * @param percentile value between 0 and 100.
+     * @return approximate latency in milliseconds below which the given percentage of samples fall.
+     */
+    public double getPercentileMillis(double percentile) {
+        long samples = count.get();
+        if (samples == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(samples * percentile / 100d);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += buckets.get(i);
+            if (seen >= Math.max(1, rank)) {
+                return Math.min(bucketUpperBoundMicros(i) / 1000d, getMaxMillis());
+            }
+        }
+        return getMaxMillis();
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets.set(i, 0);
+        }
+        count.set(0);
+        totalNanos.set(0);
+        maxNanos.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("count=%d, mean=%.1fms, p50=%.1fms, p95=%.1fms, max=%.1fms",
+                getCount(), getMeanMillis(), getPercentileMillis(50), getPercentileMillis(95), getMaxMillis());
+    }
+
+    private static int bucketOf(long nanos) {
+        long micros = nanos / 1000;
+        int bucket = 64 - Long.numberOfLeadingZeros(micros);
+        return Math.min(bucket, BUCKETS - 1);
+    }
+
+    private static long bucketUpperBoundMicros(int bucket) {
+        return 1L << bucket;
+    }
+}
@@ -0,0 +1,95 @@
+package utils;
+
+import lombok.NonNull;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Test durations measured by previous local runs, kept in a small JSON file of full test name to milliseconds.
+ * Unlike Allure results it survives the cleanup of old runs and is updated right after each run. A new measurement
+ * is averaged with the stored one, so a single slow run does not reorder the whole suite.
+ */
+public final class LocalDurationStore {
+    private static final Logger LOG = LogManager.getLogger(LocalDurationStore.class);
+
+    private static final Json JSON = new Json();
+    private static final double NEW_MEASUREMENT_WEIGHT = 0.5;
+
+    private final Path file;
+    private final Map<String, Long> millis;
+
+    private LocalDurationStore(Path file, Map<String, Long> millis) {
+        this.file = file;
+        this.millis = new ConcurrentHashMap<>(millis);
+    }
+
+    public static LocalDurationStore load(@NonNull Path file) {
+        Map<String, Long> millis = new TreeMap<>();
+        if (Files.isRegularFile(file)) {
+            try {
+                Map<String, Object> stored = JSON.toType(new String(Files.readAllBytes(file), StandardCharsets.UTF_8), Json.MAP_TYPE);
+                stored.forEach((name, value) -> {
+                    if (value instanceof Number) {
+                        millis.put(name, ((Number) value).longValue());
+                    }
+                });
+            } catch (IOException | JsonException | ClassCastException e) {
+                LOG.warn("Ignoring unreadable duration history " + file + ": " + e.getMessage());
+            }
+        }
+        return new LocalDurationStore(file, millis);
+    }
+
+    public void record(@NonNull String fullName, long durationMillis) {
+        millis.merge(fullName, durationMillis,
+                (stored, measured) -> Math.round(stored * (1 - NEW_MEASUREMENT_WEIGHT) + measured * NEW_MEASUREMENT_WEIGHT));
+    }
+
+    public Map<String, Long> getMillis() {
+        return Collections.unmodifiableMap(millis);
+    }
+
+    public void save() {
+        write(file, millis);
+    }
+
+    /**
+     * Writes only the given tests to another file, e.g. the ones a shard ran, so the files of several shards can be
+     * merged by a plain union.
+     */
+    public void save(@NonNull Path target, @NonNull Collection<String> fullNames) {
+        Map<String, Long> selected = new TreeMap<>();
+        for (String fullName : fullNames) {
+            Long duration = millis.get(fullName);
+            if (duration != null) {
+                selected.put(fullName, duration);
+            }
+        }
+        write(target, selected);
+    }
+
+    private static void write(Path target, Map<String, Long> durations) {
+        try {
+            Path directory = target.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path temporary = Files.createTempFile(directory, target.getFileName().toString(), ".tmp");
+            Files.write(temporary, JSON.toJson(new TreeMap<>(durations)).getBytes(StandardCharsets.UTF_8));
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOG.warn("Could not write duration history " + target + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package utils;
+
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A property value with {@code {0}}-style placeholders, parsed once. Apostrophes are literal text, as before.
+ * Formatting a template with only plain placeholders is a single StringBuilder pass; templates using
+ * {@link MessageFormat} features ({@code {0,number}}, choice formats...) keep a compiled MessageFormat and
+ * format with a clone of it, since MessageFormat is not thread-safe.
+ */
+final class MessageTemplate {
+
+    private final String pattern;
+    private final String[] literals;
+    private final int[] argumentIndexes;
+    private final MessageFormat messageFormat;
+    private final String error;
+
+    private MessageTemplate(String pattern, String[] literals, int[] argumentIndexes, MessageFormat messageFormat, String error) {
+        this.pattern = pattern;
+        this.literals = literals;
+        this.argumentIndexes = argumentIndexes;
+        this.messageFormat = messageFormat;
+        this.error = error;
+    }
+
+    static MessageTemplate compile(String pattern) {
+        List<String> literals = new ArrayList<>();
+        List<Integer> argumentIndexes = new ArrayList<>();
+        int position = 0;
+        int open;
+        while ((open = pattern.indexOf('{', position)) >= 0) {
+            int close = pattern.indexOf('}', open);
+            Integer index = close > open + 1 ? parseIndex(pattern, open + 1, close) : null;
+            if (index == null) {
+                return messageFormatTemplate(pattern);
+            }
+            literals.add(pattern.substring(position, open));
+            argumentIndexes.add(index);
+            position = close + 1;
+        }
+        if (pattern.indexOf('}', position) >= 0) {
+            return messageFormatTemplate(pattern);
+        }
+        literals.add(pattern.substring(position));
+        int[] indexes = new int[argumentIndexes.size()];
+        for (int i = 0; i < indexes.length; i++) {
+            indexes[i] = argumentIndexes.get(i);
+        }
+        return new MessageTemplate(pattern, literals.toArray(new String[0]), indexes, null, null);
+    }
+
+    /**
+     * Values that are no valid message pattern (e.g. JSON) load fine and only fail when formatted with parameters.
+     */
+    private static MessageTemplate messageFormatTemplate(String pattern) {
+        try {
+            return new MessageTemplate(pattern, null, null, new MessageFormat(pattern.replace("'", "''")), null);
+        } catch (IllegalArgumentException e) {
+            return new MessageTemplate(pattern, null, null, null, e.getMessage());
+        }
+    }
+
+    private static Integer parseIndex(String pattern, int start, int end) {
+        int index = 0;
+        for (int i = start; i < end; i++) {
+            char c = pattern.charAt(i);
+            if (c < '0' || c > '9' || end - start > 9) {
+                return null;
+            }
+            index = index * 10 + (c - '0');
+        }
+        return index;
+    }
+
+    String format(String... params) {
+        if (params.length == 0) {
+            return pattern;
+        }
+        if (error != null) {
+            throw new IllegalArgumentException(error + ": " + pattern);
+        }
+        if (messageFormat != null) {
+            return ((MessageFormat) messageFormat.clone()).format(params);
+        }
+        StringBuilder builder = new StringBuilder(pattern.length() + 16 * argumentIndexes.length);
+        for (int i = 0; i < argumentIndexes.length; i++) {
+            builder.append(literals[i]);
+            int index = argumentIndexes[i];
+            if (index < params.length) {
+                builder.append(params[index]);
+            } else {
+                builder.append('{').append(index).append('}');
+            }
+        }
+        return builder.append(literals[argumentIndexes.length]).toString();
+    }
+}
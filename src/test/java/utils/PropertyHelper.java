@@ -3,28 +3,30 @@ package utils;
 import lombok.NonNull;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.reflections.Reflections;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.Modifier;
-import java.text.MessageFormat;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
 
+/**
+ * Property files of the {@link PropertyFile} enums. Each file is resolved once into an immutable snapshot of
+ * {@link PropertyValue}s (message template compiled, numbers parsed), so lookups are two map reads.
+ */
 public final class PropertyHelper {
     private static final Logger LOG = LogManager.getLogger(PropertyHelper.class);
-    private static final Map<String, Properties> properties = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, Map<String, PropertyValue>> properties = new ConcurrentHashMap<>();
+    private static volatile boolean loaded;
 
     private PropertyHelper() { }
 
-    private static void initProperties(@NonNull Class<?> clazz, @NonNull String filename) {
+    static void initProperties(@NonNull Class<?> clazz, @NonNull String filename) {
         try (InputStream inputStream = clazz.getClassLoader().getResourceAsStream(filename)) {
             if (inputStream != null) {
                 Properties props = new Properties();
                 props.load(inputStream);
-                properties.put(clazz.getCanonicalName(), props);
+                properties.put(clazz, snapshotOf(props));
             } else {
                 LOG.error("Property file '" + filename + "' not found for class " + clazz.getCanonicalName());
             }
@@ -33,28 +35,58 @@ public final class PropertyHelper {
         }
     }
 
+    private static Map<String, PropertyValue> snapshotOf(Properties props) {
+        Map<String, PropertyValue> values = new HashMap<>(props.size() * 2);
+        for (String key : props.stringPropertyNames()) {
+            values.put(key, new PropertyValue(props.getProperty(key)));
+        }
+        return Collections.unmodifiableMap(values);
+    }
+
     public static String get(@NonNull Class<?> clazz, @NonNull String key, String... params) {
-        String property = getProperty(clazz.getCanonicalName(), key);
-        return property != null ? format(property, params) : null;
+        PropertyValue value = value(clazz, key);
+        return value != null ? value.get(params) : null;
     }
 
-    private static String getProperty(@NonNull String className, @NonNull String key) {
-        Properties props = properties.get(className);
-        return props != null ? props.getProperty(key) : null;
+    static PropertyValue value(Class<?> clazz, String key) {
+        if (!loaded) {
+            loadProperties();
+        }
+        Map<String, PropertyValue> values = properties.get(clazz);
+        return values != null ? values.get(key) : null;
     }
 
-    public static void loadProperties() {
-        Reflections reflections = new Reflections("your.package.name.for.enums"); // Adjust the package name
-        Set<Class<?>> propertyEnums = reflections.getTypesAnnotatedWith(PropertyFile.class);
-        propertyEnums.forEach(enumClass -> {
-            if (!Modifier.isAbstract(enumClass.getModifiers())) {
-                String filename = enumClass.getAnnotation(PropertyFile.class).value();
-                initProperties(enumClass, filename);
-            }
-        });
+    static PropertyValue value(IPropertyGet property) {
+        if (!(property instanceof Enum<?>)) {
+            return null;
+        }
+        Enum<?> constant = (Enum<?>) property;
+        return value(constant.getDeclaringClass(), constant.name());
     }
 
-    private static String format(String property, String[] params) {
-        return params.length > 0 ? MessageFormat.format(property.replace("'", "''"), (Object[]) params) : property;
+    /**
+     * Loads the property files of all @PropertyFile enums in the packages listed in {@code fast.properties.packages}
+     * (comma separated, default {@code base,helpers,tests,utils}). Safe to call from every test; the lookup
+     * and file loading happen only on the first call.
+     */
+    public static void loadProperties() {
+        if (loaded) {
+            return;
+        }
+        synchronized (PropertyHelper.class) {
+            if (loaded) {
+                return;
+            }
+            for (String packageName : FrameworkConfig.get("fast.properties.packages", "base,helpers,tests,utils").split(",")) {
+                Set<Class<?>> propertyEnums = ClassIndex.getTypesAnnotatedWith(packageName.trim(), PropertyFile.class);
+                propertyEnums.forEach(enumClass -> {
+                    if (!Modifier.isAbstract(enumClass.getModifiers())) {
+                        String filename = enumClass.getAnnotation(PropertyFile.class).value();
+                        initProperties(enumClass, filename);
+                    }
+                });
+            }
+            loaded = true;
+        }
     }
-}
\ No newline at end of file
+}
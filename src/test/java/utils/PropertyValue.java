@@ -0,0 +1,192 @@
+package utils;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalQuery;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * One resolved property: the raw value, its message template and the value parsed as the common types.
+ * Numbers and booleans are parsed when the property file is loaded, dates on first use per format and time zone.
+ */
+final class PropertyValue {
+
+    private static final Map<String, DateTimeFormatter> FORMATTERS = new ConcurrentHashMap<>();
+    private static final LocalDate EPOCH_DATE = LocalDate.of(1970, 1, 1);
+    private static final Object UNPARSEABLE = new Object();
+
+    private final String raw;
+    private final MessageTemplate template;
+    private final Integer intValue;
+    private final Long longValue;
+    private final Double doubleValue;
+    private final boolean booleanValue;
+    // format -> (time zone id or java.time type) -> parsed value
+    private final Map<String, Map<Object, Object>> dates = new ConcurrentHashMap<>();
+
+    PropertyValue(String raw) {
+        this.raw = raw;
+        this.template = MessageTemplate.compile(raw);
+        this.longValue = parseLong(raw);
+        this.intValue = longValue != null && longValue == longValue.intValue() ? longValue.intValue() : null;
+        this.doubleValue = parseDouble(raw);
+        this.booleanValue = Boolean.parseBoolean(raw);
+    }
+
+    String get(String... params) {
+        return template.format(params);
+    }
+
+    String getRaw() {
+        return raw;
+    }
+
+    Integer getInt() {
+        return intValue;
+    }
+
+    Long getLong() {
+        return longValue;
+    }
+
+    Double getDouble() {
+        return doubleValue;
+    }
+
+    boolean getBoolean() {
+        return booleanValue;
+    }
+
+    /**
+     * @return the value as epoch milliseconds, or null when it does not match the format.
+     */
+    Long getEpochMillis(String format, TimeZone timeZone) {
+        return (Long) parsed(format, timeZone.getID(), () -> parseEpochMillis(raw, format, timeZone));
+    }
+
+    LocalDate getLocalDate(String format) {
+        return (LocalDate) parsed(format, LocalDate.class, () -> parseTemporal(LocalDate::from, format));
+    }
+
+    LocalDateTime getLocalDateTime(String format) {
+        return (LocalDateTime) parsed(format, LocalDateTime.class, () -> parseTemporal(LocalDateTime::from, format));
+    }
+
+    LocalTime getLocalTime(String format) {
+        return (LocalTime) parsed(format, LocalTime.class, () -> parseTemporal(LocalTime::from, format));
+    }
+
+    private Object parsed(String format, Object variant, Supplier<Object> parser) {
+        Object value = dates.computeIfAbsent(format, key -> new ConcurrentHashMap<>()).computeIfAbsent(variant, key -> {
+            Object parsed = parser.get();
+            return parsed != null ? parsed : UNPARSEABLE;
+        });
+        return value == UNPARSEABLE ? null : value;
+    }
+
+    private <T> T parseTemporal(TemporalQuery<T> query, String format) {
+        try {
+            return formatter(format).parse(raw.trim(), query);
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Parses with a cached, thread-safe {@link DateTimeFormatter}. Date-only values start at midnight and time-only
+     * values fall on 1970-01-01, as they did with SimpleDateFormat. Patterns java.time cannot handle, and values it
+     * rejects, including trailing text and out-of-range fields, are parsed with a lenient SimpleDateFormat as before,
+     * so they still parse to the same instant.
+     */
+    static Long parseEpochMillis(String value, String format, TimeZone timeZone) {
+        DateTimeFormatter formatter;
+        try {
+            formatter = formatter(format);
+        } catch (IllegalArgumentException e) {
+            return parseLegacy(value, format, timeZone);
+        }
+        ZoneId zone = timeZone.toZoneId();
+        try {
+            TemporalAccessor parsed = formatter.parseBest(value, ZonedDateTime::from, LocalDateTime::from, LocalDate::from, LocalTime::from);
+            if (parsed instanceof ZonedDateTime) {
+                return ((ZonedDateTime) parsed).toInstant().toEpochMilli();
+            }
+            if (parsed instanceof LocalDateTime) {
+                return ((LocalDateTime) parsed).atZone(zone).toInstant().toEpochMilli();
+            }
+            if (parsed instanceof LocalDate) {
+                return ((LocalDate) parsed).atStartOfDay(zone).toInstant().toEpochMilli();
+            }
+            return ((LocalTime) parsed).atDate(EPOCH_DATE).atZone(zone).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return parseLegacy(value, format, timeZone);
+        }
+    }
+
+    /**
+     * Resolves strictly, so an invalid date such as {@code 2/30/2024} is rejected instead of clamped to the end of the
+     * month and falls back to SimpleDateFormat, which rolls it over. STRICT needs a proleptic year, so {@code y} is
+     * read as {@code u}.
+     */
+    static DateTimeFormatter formatter(String format) {
+        return FORMATTERS.computeIfAbsent(format, pattern -> new DateTimeFormatterBuilder()
+                .parseCaseInsensitive()
+                .appendPattern(toProlepticYear(pattern))
+                .toFormatter(Locale.getDefault(Locale.Category.FORMAT))
+                .withResolverStyle(ResolverStyle.STRICT));
+    }
+
+    private static String toProlepticYear(String pattern) {
+        StringBuilder result = new StringBuilder(pattern.length());
+        boolean quoted = false;
+        for (char c : pattern.toCharArray()) {
+            if (c == '\'') {
+                quoted = !quoted;
+            }
+            result.append(c == 'y' && !quoted ? 'u' : c);
+        }
+        return result.toString();
+    }
+
+    private static Long parseLegacy(String value, String format, TimeZone timeZone) {
+        SimpleDateFormat dateFormat = new SimpleDateFormat(format);
+        dateFormat.setTimeZone(timeZone);
+        try {
+            return dateFormat.parse(value).getTime();
+        } catch (ParseException e) {
+            return null;
+        }
+    }
+
+    private static Long parseLong(String value) {
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static Double parseDouble(String value) {
+        try {
+            return Double.valueOf(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package utils;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import org.testng.annotations.Test;
+
+import java.util.TimeZone;
+
+/**
+ * Property values must parse exactly as they did with SimpleDateFormat and the plain parse methods; they need no browser.
+ */
+public class PropertyValueTest {
+
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+
+    @Test
+    @Description("Text after the date is ignored, as SimpleDateFormat did")
+    @Epic("Framework Tests")
+    @Feature("Properties")
+    public void dateWithTrailingText() {
+        Long millis = PropertyValue.parseEpochMillis("6/15/2024 9:30 AM", IPropertyGet.DEFAULT_DATE_FORMAT, UTC);
+        assert Long.valueOf(1718409600000L).equals(millis) : "Expected 2024-06-15T00:00Z but got " + millis;
+    }
+
+    @Test
+    @Description("Out-of-range fields roll over, as with a lenient SimpleDateFormat")
+    @Epic("Framework Tests")
+    @Feature("Properties")
+    public void dateWithRollover() {
+        Long millis = PropertyValue.parseEpochMillis("13/1/2024", IPropertyGet.DEFAULT_DATE_FORMAT, UTC);
+        assert Long.valueOf(1735689600000L).equals(millis) : "Expected 2025-01-01T00:00Z but got " + millis;
+    }
+
+    @Test
+    @Description("A day past the end of the month rolls over into the next month instead of being clamped")
+    @Epic("Framework Tests")
+    @Feature("Properties")
+    public void dateWithDayOverflow() {
+        assertDate("2/30/2024", 1709251200000L, "2024-03-01");
+        assertDate("6/31/2024", 1719792000000L, "2024-07-01");
+        assertDate("2/29/2023", 1677628800000L, "2023-03-01");
+        assertDate("2/29/2024", 1709164800000L, "2024-02-29");
+    }
+
+    @Test
+    @Description("A value that is not a date at all still parses to null")
+    @Epic("Framework Tests")
+    @Feature("Properties")
+    public void unparseableDate() {
+        Long millis = PropertyValue.parseEpochMillis("soon", IPropertyGet.DEFAULT_DATE_FORMAT, UTC);
+        assert millis == null : "Expected no date but got " + millis;
+    }
+
+    @Test
+    @Description("Numbers and booleans are not trimmed, as Integer.parseInt and Boolean.parseBoolean did not")
+    @Epic("Framework Tests")
+    @Feature("Properties")
+    public void valuesAreNotTrimmed() {
+        PropertyValue padded = new PropertyValue(" 42 ");
+        assert padded.getInt() == null : "Expected no int but got " + padded.getInt();
+        assert padded.getLong() == null : "Expected no long but got " + padded.getLong();
+        assert !new PropertyValue("true ").getBoolean() : "Expected a padded boolean to be false";
+        assert Integer.valueOf(42).equals(new PropertyValue("42").getInt()) : "Expected 42";
+    }
+
+    private static void assertDate(String value, long expected, String expectedDate) {
+        Long millis = PropertyValue.parseEpochMillis(value, IPropertyGet.DEFAULT_DATE_FORMAT, UTC);
+        assert Long.valueOf(expected).equals(millis) : "Expected " + value + " to be " + expectedDate + "T00:00Z but got " + millis;
+    }
+}
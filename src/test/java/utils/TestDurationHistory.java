@@ -0,0 +1,209 @@
+package utils;
+
+import lombok.NonNull;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonException;
+import utils.reporting.AllureResults;
+import utils.reporting.CompactResults;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Historical test durations harvested from Allure {@code *-result.json} files and compact result files, keyed by
+ * the test's full name ({@code package.Class.method}). Each test's duration is the mean of its finished results.
+ */
+public final class TestDurationHistory {
+    private static final Logger LOG = LogManager.getLogger(TestDurationHistory.class);
+
+    private static final Json JSON = new Json();
+
+    private final Map<String, Long> meanMillis;
+    private final int resultCount;
+
+    private TestDurationHistory(Map<String, Long> meanMillis, int resultCount) {
+        this.meanMillis = Collections.unmodifiableMap(meanMillis);
+        this.resultCount = resultCount;
+    }
+
+    /**
+     * @return the committed {@code allure-results} directory, which every CI node checks out identically. Decisions
+     * that several nodes must agree on, such as the shard split, may only use this history. Runs write their results
+     * under {@code target/allure-runs} and do not update it, so it is only a seed; the shard split keeps up with real
+     * durations through the shared duration file (see {@code base.ShardingInterceptor}).
+     */
+    public static List<Path> sharedResultsDirectories() {
+        return Collections.singletonList(Paths.get("allure-results"));
+    }
+
+    /**
+     * @return the shared history plus the Allure runs kept on this machine (see {@link AllureResults}). Only for
+     * decisions local to one JVM, such as the order in which it starts its tests.
+     */
+    public static List<Path> localResultsDirectories() {
+        List<Path> directories = new ArrayList<>(sharedResultsDirectories());
+        directories.addAll(AllureResults.listRuns(AllureResults.getRunsDirectory()));
+        return directories;
+    }
+
+    public static TestDurationHistory load(@NonNull Path resultsDirectory) {
+        return load(Collections.singletonList(resultsDirectory));
+    }
+
+    public static TestDurationHistory load(@NonNull List<Path> resultsDirectories) {
+        Map<String, long[]> totals = new HashMap<>();  // full name -> {sum, count}
+        int resultCount = 0;
+        for (Path resultsDirectory : resultsDirectories) {
+            if (!Files.isDirectory(resultsDirectory)) {
+                continue;
+            }
+            try (DirectoryStream<Path> results = Files.newDirectoryStream(resultsDirectory, "*-result.json")) {
+                for (Path result : results) {
+                    if (accumulate(readJson(result), totals)) {
+                        resultCount++;
+                    }
+                }
+            } catch (IOException e) {
+                LOG.warn("Could not read test durations from " + resultsDirectory + ": " + e.getMessage());
+            }
+            try (DirectoryStream<Path> compactFiles = Files.newDirectoryStream(resultsDirectory, CompactResults.FILE_PATTERN)) {
+                for (Path compactFile : compactFiles) {
+                    resultCount += accumulateCompact(compactFile, totals);
+                }
+            } catch (IOException e) {
+                LOG.warn("Could not read compact results from " + resultsDirectory + ": " + e.getMessage());
+            }
+        }
+        Map<String, Long> meanMillis = new TreeMap<>();
+        totals.forEach((name, total) -> meanMillis.put(name, total[0] / total[1]));
+        LOG.info("Loaded durations of " + meanMillis.size() + " tests from " + resultCount + " results in " + resultsDirectories);
+        return new TestDurationHistory(meanMillis, resultCount);
+    }
+
+    private static Map<String, Object> readJson(Path file) {
+        try {
+            return JSON.toType(new String(Files.readAllBytes(file), StandardCharsets.UTF_8), Json.MAP_TYPE);
+        } catch (IOException | JsonException e) {
+            LOG.debug("Skipping unreadable Allure result " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static int accumulateCompact(Path compactFile, Map<String, long[]> totals) throws IOException {
+        int resultCount = 0;
+        try (BufferedReader reader = Files.newBufferedReader(compactFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                // attachments make up most of the file; only result records are parsed
+                if (!line.startsWith("{\"type\":\"result\"")) {
+                    continue;
+                }
+                try {
+                    Map<String, Object> record = JSON.toType(line, Json.MAP_TYPE);
+                    Object data = record.get("data");
+                    if (data instanceof Map && accumulate(castToMap(data), totals)) {
+                        resultCount++;
+                    }
+                } catch (JsonException e) {
+                    LOG.debug("Skipping unreadable record in " + compactFile + ": " + e.getMessage());
+                }
+            }
+        }
+        return resultCount;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> castToMap(Object value) {
+        return (Map<String, Object>) value;
+    }
+
+    private static boolean accumulate(Map<String, Object> testResult, Map<String, long[]> totals) {
+        if (testResult == null) {
+            return false;
+        }
+        try {
+            Object fullName = testResult.get("fullName");
+            Object start = testResult.get("start");
+            Object stop = testResult.get("stop");
+            if (!(fullName instanceof String) || !(start instanceof Number) || !(stop instanceof Number)
+                    || "skipped".equals(testResult.get("status"))) {
+                return false;
+            }
+            long duration = ((Number) stop).longValue() - ((Number) start).longValue();
+            if (duration < 0) {
+                return false;
+            }
+            long[] total = totals.computeIfAbsent((String) fullName, name -> new long[2]);
+            total[0] += duration;
+            total[1]++;
+            return true;
+        } catch (ClassCastException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @return a history where the given durations, e.g. from {@link LocalDurationStore}, replace the known ones.
+     */
+    public TestDurationHistory withDurations(@NonNull Map<String, Long> durations) {
+        if (durations.isEmpty()) {
+            return this;
+        }
+        Map<String, Long> merged = new TreeMap<>(meanMillis);
+        merged.putAll(durations);
+        return new TestDurationHistory(merged, resultCount + durations.size());
+    }
+
+    /**
+     * @return mean duration in milliseconds, or {@code defaultMillis} for tests without history.
+     */
+    public long getMillis(String fullName, long defaultMillis) {
+        Long millis = meanMillis.get(fullName);
+        return millis == null ? defaultMillis : millis;
+    }
+
+    public Map<String, Long> getMeanMillis() {
+        return meanMillis;
+    }
+
+    public int getResultCount() {
+        return resultCount;
+    }
+
+    public boolean isEmpty() {
+        return meanMillis.isEmpty();
+    }
+
+    /**
+     * @return median of the known durations, a reasonable estimate for tests without history.
+     */
+    public long getMedianMillis(long defaultMillis) {
+        if (meanMillis.isEmpty()) {
+            return defaultMillis;
+        }
+        Long[] durations = meanMillis.values().toArray(new Long[0]);
+        Arrays.sort(durations);
+        return durations[durations.length / 2];
+    }
+
+    /**
+     * Identifies the history a shard split was computed from; shards of one run must report the same value.
+     */
+    public String getFingerprint() {
+        return Integer.toHexString(meanMillis.hashCode()) + "-" + resultCount;
+    }
+}
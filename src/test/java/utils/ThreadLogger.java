@@ -2,11 +2,25 @@ package utils;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.ThreadContext;
 
 public class ThreadLogger {
 
+    public static final String TEST_NAME = "testName";
+
     // Metoda, która zwraca logger Log4j2 bez żadnych dodatkowych opakowań.
     public static Logger getLogger(Class<?> clazz) {
         return LogManager.getLogger(clazz);
     }
-}
\ No newline at end of file
+
+    /**
+     * Tags this thread's log events with the test name; log4j2.xml also routes them into {@code logs/tests/<testName>.log}.
+     */
+    public static void startTest(String testName) {
+        ThreadContext.put(TEST_NAME, testName);
+    }
+
+    public static void endTest() {
+        ThreadContext.remove(TEST_NAME);
+    }
+}
@@ -0,0 +1,359 @@
+package utils;
+
+import lombok.NonNull;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoAlertPresentException;
+import org.openqa.selenium.WebDriver;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded pool of warm browser sessions, keyed by browser type and capabilities.
+ * Sessions are reset (frames, windows, alerts, storage, cookies) when they are released instead of being
+ * quit, health-checked before they are handed out again and evicted after {@code fast.pool.idleTimeoutSeconds}.
+ *
+ * <p>Settings: {@code fast.pool.enabled}, {@code fast.pool.min}, {@code fast.pool.max},
+ * {@code fast.pool.idleTimeoutSeconds}, {@code fast.pool.acquireTimeoutSeconds}.
+ * Both sizes apply per key, not to the whole pool: each browser/provider/profile combination may have up to
+ * {@code fast.pool.max} sessions (leased, idle and launching together) and keeps {@code fast.pool.min} alive.
+ */
+public final class WebDriverPool {
+
+    private static final Logger LOG = LogManager.getLogger(WebDriverPool.class);
+    private static final WebDriverPool INSTANCE = new WebDriverPool();
+
+    @FunctionalInterface
+    public interface DriverFactory {
+        WebDriver create() throws Exception;
+    }
+
+    private final boolean enabled;
+    private final int minSize;
+    private final int maxSize;
+    private final long idleTimeoutMillis;
+    private final long acquireTimeoutMillis;
+
+    private final Map<String, KeyedPool> pools = new ConcurrentHashMap<>();
+    private final Map<WebDriver, PooledSession> leased = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService housekeeper;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong launchFailures = new AtomicLong();
+    private final LatencyHistogram launchLatency = new LatencyHistogram();
+
+    private WebDriverPool() {
+        this.enabled = FrameworkConfig.getBoolean("fast.pool.enabled", true);
+        this.maxSize = Math.max(1, FrameworkConfig.getInt("fast.pool.max", FrameworkConfig.getInt("fast.threads", 4)));
+        this.minSize = Math.min(maxSize, Math.max(0, FrameworkConfig.getInt("fast.pool.min", 1)));
+        this.idleTimeoutMillis = TimeUnit.SECONDS.toMillis(FrameworkConfig.getLong("fast.pool.idleTimeoutSeconds", 300));
+        this.acquireTimeoutMillis = TimeUnit.SECONDS.toMillis(FrameworkConfig.getLong("fast.pool.acquireTimeoutSeconds", 300));
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "webdriver-pool-housekeeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (enabled) {
+            long sweepMillis = Math.max(1000, idleTimeoutMillis / 2);
+            housekeeper.scheduleWithFixedDelay(this::evictIdleSessions, sweepMillis, sweepMillis, TimeUnit.MILLISECONDS);
+            Runtime.getRuntime().addShutdownHook(new Thread(this::closeAll, "webdriver-pool-shutdown"));
+        }
+    }
+
+    public static WebDriverPool getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Hands out a healthy session for the given key, launching a new one only when no warm session is idle.
+     * Blocks while {@code fast.pool.max} sessions of that key are already leased.
+     */
+    public WebDriver acquire(@NonNull String key, @NonNull DriverFactory factory) throws Exception {
+        if (!enabled) {
+            misses.incrementAndGet();
+            return launch(factory);
+        }
+        KeyedPool pool = pools.computeIfAbsent(key, k -> new KeyedPool(k, factory));
+        if (!pool.leases.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+            throw new IllegalStateException("Timed out waiting for a free '" + key + "' session; pool max size is " + maxSize);
+        }
+        try {
+            long deadline = System.currentTimeMillis() + acquireTimeoutMillis;
+            PooledSession session = pool.idle.pollFirst();
+            while (true) {
+                if (session != null) {
+                    if (isHealthy(session.driver)) {
+                        hits.incrementAndGet();
+                        return lease(pool, session);
+                    }
+                    evict(pool, session, "failed health check");
+                } else if (pool.tryReserve(maxSize)) {
+                    break;
+                } else {
+                    // every session of the key is leased or still launching in the background; wait for one
+                    long remaining = deadline - System.currentTimeMillis();
+                    if (remaining <= 0) {
+                        throw new IllegalStateException("Timed out waiting for a pre-launched '" + key + "' session");
+                    }
+                    session = pool.idle.pollFirst(Math.min(remaining, 100), TimeUnit.MILLISECONDS);
+                    continue;
+                }
+                session = pool.idle.pollFirst();
+            }
+            misses.incrementAndGet();
+            try {
+                session = pool.newSession();
+            } catch (Exception e) {
+                pool.total.decrementAndGet();
+                throw e;
+            }
+            pool.prewarm();
+            return lease(pool, session);
+        } catch (Exception | Error e) {
+            pool.leases.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns a session to the pool. It is reset first; sessions that cannot be reset are quit.
+     * Drivers that were not obtained from the pool are simply quit.
+     */
+    public void release(WebDriver driver) {
+        if (driver == null) {
+            return;
+        }
+        PooledSession session = leased.remove(driver);
+        if (session == null) {
+            quitQuietly(driver);
+            return;
+        }
+        KeyedPool pool = pools.get(session.key);
+        try {
+            if (reset(session)) {
+                session.lastReleased = System.currentTimeMillis();
+                pool.idle.offerFirst(session);
+            } else {
+                evict(pool, session, "reset failed");
+            }
+        } finally {
+            pool.leases.release();
+        }
+    }
+
+    /**
+     * Quits a leased session without returning it to the pool, e.g. when a test left the browser in an unknown state.
+     */
+    public void invalidate(WebDriver driver) {
+        if (driver == null) {
+            return;
+        }
+        PooledSession session = leased.remove(driver);
+        if (session == null) {
+            quitQuietly(driver);
+            return;
+        }
+        KeyedPool pool = pools.get(session.key);
+        evict(pool, session, "invalidated");
+        pool.leases.release();
+    }
+
+    /**
+     * Quits every idle session. Leased sessions are quit when they are released afterwards.
+     */
+    public void closeAll() {
+        for (KeyedPool pool : pools.values()) {
+            PooledSession session;
+            while ((session = pool.idle.pollFirst()) != null) {
+                pool.total.decrementAndGet();
+                quitQuietly(session.driver);
+            }
+        }
+    }
+
+    public String getStatistics() {
+        long hitCount = hits.get();
+        long requests = hitCount + misses.get();
+        double hitRatio = requests == 0 ? 0 : hitCount * 100d / requests;
+        return String.format("WebDriverPool[enabled=%s, min=%d, max=%d] requests=%d, hits=%d (%.0f%%), misses=%d, "
+                        + "evictions=%d, launchFailures=%d, launchLatency{%s}",
+                enabled, minSize, maxSize, requests, hitCount, hitRatio, misses.get(),
+                evictions.get(), launchFailures.get(), launchLatency);
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public LatencyHistogram getLaunchLatency() {
+        return launchLatency;
+    }
+
+    private WebDriver lease(KeyedPool pool, PooledSession session) {
+        session.key = pool.key;
+        leased.put(session.driver, session);
+        return session.driver;
+    }
+
+    private WebDriver launch(DriverFactory factory) throws Exception {
+        long start = System.nanoTime();
+        try {
+            WebDriver driver = factory.create();
+            launchLatency.record(System.nanoTime() - start);
+            return driver;
+        } catch (Exception e) {
+            launchFailures.incrementAndGet();
+            throw e;
+        }
+    }
+
+    private boolean isHealthy(WebDriver driver) {
+        try {
+            driver.getWindowHandle();
+            return true;
+        } catch (Exception e) {
+            LOG.debug("Pooled session is not responding: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Brings the session back to a blank state: default content, single window, no alert, empty storage and cookies.
+     * Cookies can only be deleted for the domain of the current document, which is where the test left the browser.
+     */
+    private boolean reset(PooledSession session) {
+        WebDriver driver = session.driver;
+        try {
+            try {
+                driver.switchTo().alert().dismiss();
+            } catch (NoAlertPresentException e) {
+                // nothing to dismiss
+            }
+            for (String handle : driver.getWindowHandles()) {
+                if (!handle.equals(session.primaryWindow)) {
+                    driver.switchTo().window(handle).close();
+                }
+            }
+            driver.switchTo().window(session.primaryWindow);
+            driver.switchTo().defaultContent();
+            ((JavascriptExecutor) driver).executeScript(
+                    "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) { }");
+            driver.manage().deleteAllCookies();
+            driver.get("about:blank");
+            return true;
+        } catch (Exception e) {
+            LOG.warn("Could not reset pooled session: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private void evictIdleSessions() {
+        long now = System.currentTimeMillis();
+        for (KeyedPool pool : pools.values()) {
+            Iterator<PooledSession> iterator = pool.idle.descendingIterator();
+            while (iterator.hasNext() && pool.total.get() > minSize) {
+                PooledSession session = iterator.next();
+                if (now - session.lastReleased > idleTimeoutMillis && pool.idle.remove(session)) {
+                    evict(pool, session, "idle for more than " + idleTimeoutMillis + " ms");
+                }
+            }
+        }
+    }
+
+    private void evict(KeyedPool pool, PooledSession session, String reason) {
+        LOG.info("Evicting '{}' session: {}", pool.key, reason);
+        evictions.incrementAndGet();
+        pool.total.decrementAndGet();
+        quitQuietly(session.driver);
+    }
+
+    private static void quitQuietly(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (Exception e) {
+            LOG.debug("Ignoring error while quitting driver: {}", e.getMessage());
+        }
+    }
+
+    private final class KeyedPool {
+        private final String key;
+        private final DriverFactory factory;
+        private final Semaphore leases = new Semaphore(maxSize, true);
+        private final LinkedBlockingDeque<PooledSession> idle = new LinkedBlockingDeque<>();
+        private final AtomicInteger total = new AtomicInteger();
+
+        private KeyedPool(String key, DriverFactory factory) {
+            this.key = key;
+            this.factory = factory;
+        }
+
+        private PooledSession newSession() throws Exception {
+            WebDriver driver = launch(factory);
+            try {
+                PooledSession session = new PooledSession(driver);
+                session.key = key;
+                return session;
+            } catch (RuntimeException e) {
+                quitQuietly(driver);
+                throw e;
+            }
+        }
+
+        /**
+         * Counts a session that is about to be launched, unless the key already has {@code limit} sessions.
+         */
+        private boolean tryReserve(int limit) {
+            int current;
+            while ((current = total.get()) < limit) {
+                if (total.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Launches sessions in the background until the key has {@code fast.pool.min} sessions.
+         */
+        private void prewarm() {
+            while (tryReserve(minSize)) {
+                housekeeper.execute(() -> {
+                    try {
+                        idle.offerLast(newSession());
+                    } catch (Exception e) {
+                        total.decrementAndGet();
+                        LOG.warn("Could not pre-launch '{}' session: {}", key, e.getMessage());
+                    }
+                });
+            }
+        }
+    }
+
+    private static final class PooledSession {
+        private final WebDriver driver;
+        private final String primaryWindow;
+        private volatile String key;
+        private volatile long lastReleased = System.currentTimeMillis();
+
+        private PooledSession(WebDriver driver) {
+            this.driver = driver;
+            this.primaryWindow = driver.getWindowHandle();
+        }
+    }
+}
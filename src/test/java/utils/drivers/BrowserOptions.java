@@ -0,0 +1,42 @@
+package utils.drivers;
+
+import org.openqa.selenium.MutableCapabilities;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.edge.EdgeOptions;
+import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.logging.LogType;
+import org.openqa.selenium.logging.LoggingPreferences;
+import utils.ExecutionProfile;
+import utils.reporting.FailureArtifacts;
+
+import java.util.logging.Level;
+
+/**
+ * Browser options shared by all providers, so a test gets the same browser setup locally and remotely.
+ */
+public final class BrowserOptions {
+
+    private BrowserOptions() { }
+
+    public static MutableCapabilities of(String browser, ExecutionProfile profile) {
+        switch (browser.toLowerCase()) {
+            case "chrome":
+                ChromeOptions chromeOptions = new ChromeOptions();
+                profile.configure(chromeOptions);
+                if (FailureArtifacts.isEnabled()) {
+                    LoggingPreferences logging = new LoggingPreferences();
+                    logging.enable(LogType.BROWSER, Level.ALL);  // the console log attached to failed tests
+                    chromeOptions.setCapability("goog:loggingPrefs", logging);
+                }
+                return chromeOptions;
+            case "firefox":
+                FirefoxOptions firefoxOptions = new FirefoxOptions();
+                profile.configure(firefoxOptions);
+                return firefoxOptions;
+            case "edge":
+                return new EdgeOptions();
+            default:
+                throw new IllegalArgumentException("Unsupported browser: " + browser);
+        }
+    }
+}
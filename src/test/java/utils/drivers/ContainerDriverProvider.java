@@ -0,0 +1,112 @@
+package utils.drivers;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import utils.ExecutionProfile;
+import utils.FrameworkConfig;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Runs the browser in a local Docker container (one standalone container per browser, started on first use
+ * and stopped when the JVM exits), so Linux CI nodes need Docker but no browser or driver installation.
+ * Settings:
+ * <ul>
+ *     <li>{@code fast.driver.container.image} - default {@code selenium/standalone-{browser}:3.141.59}</li>
+ *     <li>{@code fast.driver.container.port} - host port of the first container, default {@code 4444}</li>
+ *     <li>{@code fast.driver.container.start} - {@code false} connects to an already running container</li>
+ *     <li>{@code fast.driver.container.startupTimeoutSeconds} - default {@code 60}</li>
+ * </ul>
+ */
+public class ContainerDriverProvider implements DriverProvider {
+
+    private static final Logger LOG = LogManager.getLogger(ContainerDriverProvider.class);
+
+    private static final Map<String, URL> CONTAINERS = new ConcurrentHashMap<>();
+
+    @Override
+    public String getName() {
+        return "container";
+    }
+
+    @Override
+    public WebDriver createDriver(String browser, ExecutionProfile profile) throws Exception {
+        String image = FrameworkConfig.get("fast.driver.container.image", "selenium/standalone-{browser}:3.141.59")
+                .replace("{browser}", browser.toLowerCase());
+        URL hubUrl;
+        synchronized (CONTAINERS) {
+            hubUrl = CONTAINERS.get(image);
+            if (hubUrl == null) {
+                hubUrl = FrameworkConfig.getBoolean("fast.driver.container.start", true)
+                        ? startContainer(image, FrameworkConfig.getInt("fast.driver.container.port", 4444) + CONTAINERS.size())
+                        : new URL("http://localhost:" + FrameworkConfig.getInt("fast.driver.container.port", 4444) + "/wd/hub");
+                CONTAINERS.put(image, hubUrl);
+            }
+        }
+        return new RemoteWebDriver(hubUrl, BrowserOptions.of(browser, profile));
+    }
+
+    private static URL startContainer(String image, int port) throws IOException, InterruptedException {
+        String sessions = String.valueOf(FrameworkConfig.getInt("fast.pool.max", FrameworkConfig.getInt("fast.threads", 4)));
+        String containerId = run("docker", "run", "-d", "--rm", "-p", port + ":4444", "--shm-size=2g",
+                "-e", "NODE_MAX_INSTANCES=" + sessions, "-e", "NODE_MAX_SESSION=" + sessions, image);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                run("docker", "stop", containerId);
+            } catch (IOException | InterruptedException e) {
+                LOG.warn("Could not stop browser container " + containerId + ": " + e.getMessage());
+            }
+        }, "fast-container-stop"));
+        URL hubUrl = new URL("http://localhost:" + port + "/wd/hub");
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(FrameworkConfig.getLong("fast.driver.container.startupTimeoutSeconds", 60));
+        while (!isReady(new URL(hubUrl + "/status"))) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("Browser container " + image + " did not become ready on port " + port);
+            }
+            Thread.sleep(250);
+        }
+        LOG.info("Started browser container " + image + " on port " + port + " in "
+                + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms");
+        return hubUrl;
+    }
+
+    private static boolean isReady(URL statusUrl) {
+        try {
+            HttpURLConnection connection = (HttpURLConnection) statusUrl.openConnection();
+            connection.setConnectTimeout(1000);
+            connection.setReadTimeout(1000);
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8))) {
+                return connection.getResponseCode() == 200
+                        && reader.lines().collect(Collectors.joining()).replace(" ", "").contains("\"ready\":true");
+            } finally {
+                connection.disconnect();
+            }
+        } catch (IOException e) {
+            return false;  // not listening yet
+        }
+    }
+
+    private static String run(String... command) throws IOException, InterruptedException {
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        String output;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            output = reader.lines().collect(Collectors.joining("\n")).trim();
+        }
+        if (process.waitFor() != 0) {
+            throw new IOException(String.join(" ", command) + " failed: " + output);
+        }
+        return output;
+    }
+}
@@ -0,0 +1,19 @@
+package utils.drivers;
+
+import org.openqa.selenium.WebDriver;
+import utils.ExecutionProfile;
+
+/**
+ * Creates browser sessions for one execution environment (local browser, Grid, container...).
+ * Implementations are discovered with {@link java.util.ServiceLoader}: list them in
+ * {@code META-INF/services/utils.drivers.DriverProvider} and select one with {@code -Dfast.driver.provider=<name>}.
+ */
+public interface DriverProvider {
+
+    /**
+     * @return unique, lower-case name used in {@code fast.driver.provider}.
+     */
+    String getName();
+
+    WebDriver createDriver(String browser, ExecutionProfile profile) throws Exception;
+}
@@ -0,0 +1,100 @@
+package utils.drivers;
+
+import lombok.NonNull;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import utils.ExecutionProfile;
+import utils.FrameworkConfig;
+import utils.LatencyHistogram;
+import utils.profiling.CommandTimingExecutor;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Registry of the {@link DriverProvider}s on the classpath. Every session created through it is timed per provider,
+ * so the suite log shows session creation latency and failure rate of the environment it ran against.
+ */
+public final class DriverProviders {
+    private static final Logger LOG = LogManager.getLogger(DriverProviders.class);
+
+    public static final String PROVIDER_PROPERTY = "fast.driver.provider";
+
+    private static final Map<String, Metrics> METRICS = new ConcurrentHashMap<>();
+
+    private DriverProviders() { }
+
+    private static final class Holder {
+        private static final Map<String, DriverProvider> PROVIDERS = load();
+    }
+
+    /**
+     * @return provider selected with {@code -Dfast.driver.provider}, {@code local} by default.
+     */
+    public static String getConfiguredName() {
+        return FrameworkConfig.get(PROVIDER_PROPERTY, "local").toLowerCase();
+    }
+
+    public static DriverProvider get(@NonNull String name) {
+        DriverProvider provider = Holder.PROVIDERS.get(name.toLowerCase());
+        if (provider == null) {
+            throw new IllegalArgumentException("Unknown driver provider '" + name + "'; available: " + Holder.PROVIDERS.keySet());
+        }
+        return provider;
+    }
+
+    public static Map<String, DriverProvider> getAll() {
+        return Holder.PROVIDERS;
+    }
+
+    public static WebDriver createDriver(@NonNull String providerName, @NonNull String browser, @NonNull ExecutionProfile profile) throws Exception {
+        DriverProvider provider = get(providerName);
+        Metrics metrics = METRICS.computeIfAbsent(provider.getName(), name -> new Metrics());
+        long start = System.nanoTime();
+        try {
+            WebDriver driver = provider.createDriver(browser, profile);
+            metrics.sessionCreation.record(System.nanoTime() - start);
+            CommandTimingExecutor.install(driver);
+            return driver;
+        } catch (Exception | Error e) {
+            metrics.failures.incrementAndGet();
+            LOG.error("Driver provider '" + provider.getName() + "' failed to create a " + browser + " session after "
+                    + (System.nanoTime() - start) / 1_000_000 + " ms: " + e.getMessage());
+            throw e;
+        }
+    }
+
+    public static String getStatistics() {
+        StringBuilder statistics = new StringBuilder("DriverProviders:");
+        new TreeMap<>(METRICS).forEach((name, metrics) -> {
+            long created = metrics.sessionCreation.getCount();
+            long failed = metrics.failures.get();
+            statistics.append(String.format(" %s{sessions=%d, failures=%d (%.0f%%), creation{%s}}", name, created, failed,
+                    created + failed == 0 ? 0 : failed * 100d / (created + failed), metrics.sessionCreation));
+        });
+        return statistics.toString();
+    }
+
+    private static Map<String, DriverProvider> load() {
+        Map<String, DriverProvider> providers = new TreeMap<>();
+        for (DriverProvider provider : ServiceLoader.load(DriverProvider.class, DriverProviders.class.getClassLoader())) {
+            DriverProvider previous = providers.put(provider.getName().toLowerCase(), provider);
+            if (previous != null) {
+                LOG.warn("Driver provider '" + provider.getName() + "' of " + provider.getClass().getName()
+                        + " replaces " + previous.getClass().getName());
+            }
+        }
+        LOG.info("Registered driver providers: " + providers.keySet());
+        return Collections.unmodifiableMap(providers);
+    }
+
+    private static final class Metrics {
+        private final LatencyHistogram sessionCreation = new LatencyHistogram();
+        private final AtomicLong failures = new AtomicLong();
+    }
+}
@@ -0,0 +1,26 @@
+package utils.drivers;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import utils.ExecutionProfile;
+import utils.FrameworkConfig;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+
+/**
+ * Opens sessions on a Selenium Grid hub, {@code fast.driver.grid.url} (default {@code http://localhost:4444/wd/hub}).
+ */
+public class GridDriverProvider implements DriverProvider {
+
+    @Override
+    public String getName() {
+        return "grid";
+    }
+
+    @Override
+    public WebDriver createDriver(String browser, ExecutionProfile profile) throws MalformedURLException {
+        URL gridUrl = new URL(FrameworkConfig.get("fast.driver.grid.url", "http://localhost:4444/wd/hub"));
+        return new RemoteWebDriver(gridUrl, BrowserOptions.of(browser, profile));
+    }
+}
@@ -0,0 +1,61 @@
+package utils.drivers;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.edge.EdgeDriver;
+import org.openqa.selenium.edge.EdgeOptions;
+import org.openqa.selenium.firefox.FirefoxDriver;
+import org.openqa.selenium.firefox.FirefoxOptions;
+import utils.ExecutionProfile;
+import utils.FrameworkConfig;
+
+import java.io.File;
+
+/**
+ * Launches a browser on this machine. Driver binaries are taken from {@code fast.driver.local.driverDir}
+ * (default {@code src/test/resources/drivers}) when present there, otherwise from the PATH.
+ */
+public class LocalDriverProvider implements DriverProvider {
+
+    private static final boolean WINDOWS = System.getProperty("os.name", "").toLowerCase().startsWith("windows");
+
+    @Override
+    public String getName() {
+        return "local";
+    }
+
+    @Override
+    public WebDriver createDriver(String browser, ExecutionProfile profile) {
+        switch (browser.toLowerCase()) {
+            case "chrome":
+                registerDriverBinary("webdriver.chrome.driver", "chromedriver");
+                return new ChromeDriver((ChromeOptions) BrowserOptions.of(browser, profile));
+            case "firefox":
+                registerDriverBinary("webdriver.gecko.driver", "geckodriver");
+                return new FirefoxDriver((FirefoxOptions) BrowserOptions.of(browser, profile));
+            case "edge":
+                registerDriverBinary("webdriver.edge.driver", "msedgedriver");
+                return new EdgeDriver((EdgeOptions) BrowserOptions.of(browser, profile));
+            default:
+                throw new IllegalArgumentException("Unsupported browser: " + browser);
+        }
+    }
+
+    /**
+     * Driver binaries are JVM-wide system properties, so they are registered once instead of being
+     * rewritten by every thread that launches a browser. A path passed with -D on the command line wins.
+     */
+    private static synchronized void registerDriverBinary(String property, String executable) {
+        if (System.getProperty(property) != null) {
+            return;
+        }
+        File driverDirectory = new File(FrameworkConfig.get("fast.driver.local.driverDir",
+                System.getProperty("user.dir") + File.separator + "src" + File.separator + "test"
+                        + File.separator + "resources" + File.separator + "drivers"));
+        File binary = new File(driverDirectory, WINDOWS ? executable + ".exe" : executable);
+        if (binary.isFile()) {
+            System.setProperty(property, binary.getAbsolutePath());
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package utils.drivers;
+
+import org.openqa.selenium.MutableCapabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import utils.ExecutionProfile;
+import utils.FrameworkConfig;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Opens sessions on Sauce Labs. Credentials come from {@code fast.driver.saucelabs.username}/{@code accessKey}
+ * or the {@code SAUCE_USERNAME}/{@code SAUCE_ACCESS_KEY} environment variables and are never kept in the sources.
+ */
+public class SauceLabsDriverProvider implements DriverProvider {
+
+    @Override
+    public String getName() {
+        return "saucelabs";
+    }
+
+    @Override
+    public WebDriver createDriver(String browser, ExecutionProfile profile) throws MalformedURLException {
+        Map<String, Object> sauceOptions = new HashMap<>();
+        sauceOptions.put("username", credential("fast.driver.saucelabs.username", "SAUCE_USERNAME"));
+        sauceOptions.put("accessKey", credential("fast.driver.saucelabs.accessKey", "SAUCE_ACCESS_KEY"));
+        MutableCapabilities capabilities = BrowserOptions.of(browser, profile);
+        capabilities.setCapability("platformName", FrameworkConfig.get("fast.driver.saucelabs.platform", "Windows 10"));
+        capabilities.setCapability("browserVersion", FrameworkConfig.get("fast.driver.saucelabs.browserVersion", "latest"));
+        capabilities.setCapability("sauce:options", sauceOptions);
+        URL url = new URL(FrameworkConfig.get("fast.driver.saucelabs.url", "https://ondemand.saucelabs.com:443/wd/hub"));
+        return new RemoteWebDriver(url, capabilities);
+    }
+
+    private static String credential(String property, String environmentVariable) {
+        String value = FrameworkConfig.get(property, System.getenv(environmentVariable));
+        if (value == null || value.trim().isEmpty()) {
+            throw new IllegalStateException("Sauce Labs credentials missing: set -D" + property + " or " + environmentVariable);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,21 @@
+package utils.drivers;
+
+import org.openqa.selenium.WebDriver;
+import utils.ExecutionProfile;
+
+/**
+ * In-process stand-in driver without a browser, for exercising framework plumbing (pool, providers, reporting)
+ * on machines that have no browser. See {@link StubWebDriver}.
+ */
+public class StubDriverProvider implements DriverProvider {
+
+    @Override
+    public String getName() {
+        return "stub";
+    }
+
+    @Override
+    public WebDriver createDriver(String browser, ExecutionProfile profile) {
+        return new StubWebDriver(browser);
+    }
+}
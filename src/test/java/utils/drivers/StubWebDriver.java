@@ -0,0 +1,174 @@
+package utils.drivers;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoAlertPresentException;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.remote.DesiredCapabilities;
+
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Browserless {@link WebDriver}: it remembers the current URL, finds no elements and answers every
+ * {@code manage()}, {@code navigate()} and {@code switchTo()} call with a no-op.
+ * Scripts return {@code "complete"} for {@code document.readyState} and {@code null} otherwise.
+ */
+public class StubWebDriver implements WebDriver, JavascriptExecutor, HasCapabilities {
+
+    private final String windowHandle = UUID.randomUUID().toString();
+    private final Capabilities capabilities;
+    private volatile String currentUrl = "about:blank";
+    private volatile boolean quit;
+
+    public StubWebDriver(String browser) {
+        DesiredCapabilities desiredCapabilities = new DesiredCapabilities();
+        desiredCapabilities.setBrowserName(browser);
+        desiredCapabilities.setCapability("stub", true);
+        this.capabilities = desiredCapabilities;
+    }
+
+    @Override
+    public void get(String url) {
+        checkSession();
+        currentUrl = url;
+    }
+
+    @Override
+    public String getCurrentUrl() {
+        checkSession();
+        return currentUrl;
+    }
+
+    @Override
+    public String getTitle() {
+        checkSession();
+        return "";
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        checkSession();
+        return Collections.emptyList();
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        checkSession();
+        throw new NoSuchElementException("Stub driver has no elements: " + by);
+    }
+
+    @Override
+    public String getPageSource() {
+        checkSession();
+        return "<html><head></head><body></body></html>";
+    }
+
+    @Override
+    public void close() {
+        quit();
+    }
+
+    @Override
+    public void quit() {
+        quit = true;
+    }
+
+    @Override
+    public Set<String> getWindowHandles() {
+        checkSession();
+        return Collections.singleton(windowHandle);
+    }
+
+    @Override
+    public String getWindowHandle() {
+        checkSession();
+        return windowHandle;
+    }
+
+    @Override
+    public TargetLocator switchTo() {
+        return noOp(TargetLocator.class);
+    }
+
+    @Override
+    public Navigation navigate() {
+        return noOp(Navigation.class);
+    }
+
+    @Override
+    public Options manage() {
+        return noOp(Options.class);
+    }
+
+    @Override
+    public Object executeScript(String script, Object... args) {
+        checkSession();
+        return script.contains("document.readyState") ? "complete" : null;
+    }
+
+    @Override
+    public Object executeAsyncScript(String script, Object... args) {
+        checkSession();
+        return null;
+    }
+
+    @Override
+    public Capabilities getCapabilities() {
+        return capabilities;
+    }
+
+    private void checkSession() {
+        if (quit) {
+            throw new NoSuchSessionException("Stub session has been quit");
+        }
+    }
+
+    /**
+     * Nested driver interfaces return further no-op proxies, {@code switchTo()} navigation methods return the driver,
+     * collections are empty, {@code alert()} finds no alert and everything else is null.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T noOp(Class<T> type) {
+        checkSession();
+        return (T) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                case "toString":
+                    return "StubWebDriver." + type.getSimpleName();
+                case "alert":
+                    throw new NoAlertPresentException("Stub driver has no alerts");
+                default:
+                    break;
+            }
+            Class<?> returnType = method.getReturnType();
+            if (returnType == WebDriver.class) {
+                return this;
+            }
+            if (returnType.isInterface() && returnType.getEnclosingClass() == WebDriver.class) {
+                return noOp(returnType);
+            }
+            if (returnType == Set.class) {
+                return Collections.emptySet();
+            }
+            if (returnType == List.class) {
+                return Collections.emptyList();
+            }
+            if (returnType == boolean.class) {
+                return false;
+            }
+            return null;
+        });
+    }
+}
@@ -0,0 +1,37 @@
+package utils.impact;
+
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Before;
+import org.openqa.selenium.By;
+
+/**
+ * Feeds {@link ImpactRecorder}: public calls of {@code SeleniumElementsHelper} (with their locators), of
+ * {@code AppHelper} subclasses and of element batches, and pages opened with {@code WebDriver.get} or
+ * {@code navigate().to}. Woven at load time like {@code HelperProfilingAspect} ({@code META-INF/aop-ajc.xml}).
+ */
+@Aspect
+public class ImpactAspect {
+
+    @Before("execution(public * helpers.SeleniumElementsHelper.*(..)) || execution(public * helpers.ElementBatch.*(..))")
+    public void recordHelperCall(JoinPoint joinPoint) {
+        ImpactRecorder.recordMethod(joinPoint.getSignature().getDeclaringType(), joinPoint.getSignature().getName());
+        for (Object argument : joinPoint.getArgs()) {
+            if (argument instanceof By) {
+                ImpactRecorder.recordLocator(argument);
+            }
+        }
+    }
+
+    @Before("execution(public * helpers.AppHelper+.*(..)) && !execution(static * *(..))")
+    public void recordAppHelperCall(JoinPoint joinPoint) {
+        ImpactRecorder.recordHelper(joinPoint.getTarget().getClass());
+        ImpactRecorder.recordMethod(joinPoint.getTarget().getClass(), joinPoint.getSignature().getName());
+    }
+
+    @Before("(call(void org.openqa.selenium.WebDriver.get(String)) || call(void org.openqa.selenium.WebDriver.Navigation.to(String)))"
+            + " && args(url)")
+    public void recordPage(String url) {
+        ImpactRecorder.recordUrl(url);
+    }
+}
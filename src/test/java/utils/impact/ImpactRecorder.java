@@ -0,0 +1,175 @@
+package utils.impact;
+
+import lombok.NonNull;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonException;
+import utils.FrameworkConfig;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records what each test method exercised - its footprint - while it runs: the {@code AppHelper} classes and
+ * {@code SeleniumElementsHelper} methods it called, the locators it used and the pages it opened. Entries look like
+ * {@code helper:helpers.FormHelper}, {@code method:helpers.SeleniumElementsHelper.click}, {@code locator:By.id: login}
+ * and {@code url:/login}. Calls are captured by {@link ImpactAspect}; {@code base.ImpactSelector} uses the footprints to pick
+ * the tests affected by a change. The footprints are kept in {@code fast.impact.file}
+ * (default {@code target/test-impact.json}), merged with those of earlier runs.
+ */
+public final class ImpactRecorder {
+    private static final Logger LOG = LogManager.getLogger(ImpactRecorder.class);
+
+    private static final Json JSON = new Json();
+    private static final ThreadLocal<Footprint> CURRENT = new ThreadLocal<>();
+    private static final Map<String, Set<String>> RECORDED = new ConcurrentHashMap<>();
+    private static final Map<String, Boolean> PARTIAL = new ConcurrentHashMap<>();
+
+    private ImpactRecorder() { }
+
+    public static boolean isEnabled() {
+        return FrameworkConfig.getBoolean("fast.impact.record", true);
+    }
+
+    /**
+     * @param fullName {@code package.Class.method}, the name TestNG and the history use.
+     */
+    public static void startTest(@NonNull String fullName) {
+        if (isEnabled()) {
+            CURRENT.set(new Footprint(fullName));
+        }
+    }
+
+    /**
+     * @param completed false when the test failed or stopped early; its footprint is then added to the recorded one
+     *                  instead of replacing it, so a partial run does not hide dependencies.
+     */
+    public static void endTest(boolean completed) {
+        Footprint footprint = CURRENT.get();
+        CURRENT.remove();
+        if (footprint == null) {
+            return;
+        }
+        RECORDED.put(footprint.test, footprint.entries);
+        PARTIAL.put(footprint.test, !completed);
+    }
+
+    static void recordHelper(Class<?> helperClass) {
+        record("helper:" + helperClass.getName());
+    }
+
+    static void recordMethod(Class<?> declaringClass, String method) {
+        record("method:" + declaringClass.getName() + "." + method);
+    }
+
+    static void recordLocator(Object locator) {
+        record("locator:" + locator);
+    }
+
+    static void recordUrl(String url) {
+        record("url:" + pathOf(url));
+    }
+
+    private static void record(String entry) {
+        Footprint footprint = CURRENT.get();
+        if (footprint != null) {
+            footprint.entries.add(entry);
+        }
+    }
+
+    /**
+     * Writes the footprints of this run, merged into the stored ones.
+     */
+    public static synchronized void save() {
+        if (RECORDED.isEmpty()) {
+            return;
+        }
+        Path file = getFile();
+        Map<String, Set<String>> footprints = new TreeMap<>(load(file));
+        RECORDED.forEach((test, footprint) -> {
+            Set<String> merged = new TreeSet<>(footprint);
+            if (PARTIAL.getOrDefault(test, false)) {
+                merged.addAll(footprints.getOrDefault(test, Collections.emptySet()));
+            }
+            footprints.put(test, merged);
+        });
+        Map<String, Object> content = new LinkedHashMap<>();
+        content.put("version", 1);
+        content.put("tests", footprints);
+        try {
+            Path directory = file.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path temporary = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            Files.write(temporary, JSON.toJson(content).getBytes(StandardCharsets.UTF_8));
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            LOG.info("Recorded the footprints of {} tests in {}", RECORDED.size(), file);
+        } catch (IOException e) {
+            LOG.warn("Could not write test footprints to " + file + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * @return footprints by full test name; empty when nothing has been recorded yet.
+     */
+    public static Map<String, Set<String>> load(@NonNull Path file) {
+        if (!Files.isRegularFile(file)) {
+            return Collections.emptyMap();
+        }
+        Map<String, Set<String>> footprints = new TreeMap<>();
+        try {
+            Map<String, Object> content = JSON.toType(new String(Files.readAllBytes(file), StandardCharsets.UTF_8), Json.MAP_TYPE);
+            Object tests = content.get("tests");
+            if (tests instanceof Map) {
+                ((Map<?, ?>) tests).forEach((test, entries) -> {
+                    Set<String> footprint = new TreeSet<>();
+                    if (entries instanceof Collection) {
+                        for (Object entry : (Collection<?>) entries) {
+                            footprint.add(String.valueOf(entry));
+                        }
+                    }
+                    footprints.put(String.valueOf(test), footprint);
+                });
+            }
+        } catch (IOException | JsonException e) {
+            LOG.warn("Ignoring unreadable test footprints " + file + ": " + e.getMessage());
+            return Collections.emptyMap();
+        }
+        return footprints;
+    }
+
+    public static Path getFile() {
+        return Paths.get(FrameworkConfig.get("fast.impact.file", "target/test-impact.json"));
+    }
+
+    private static String pathOf(String url) {
+        try {
+            String path = URI.create(url).getPath();
+            return path == null || path.isEmpty() ? "/" : path;
+        } catch (IllegalArgumentException e) {
+            return url;
+        }
+    }
+
+    private static final class Footprint {
+        private final String test;
+        private final Set<String> entries = new TreeSet<>();
+
+        private Footprint(String test) {
+            this.test = test;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package utils.profiling;
+
+import org.openqa.selenium.remote.Command;
+import org.openqa.selenium.remote.Response;
+
+/**
+ * Notified by {@link CommandTimingExecutor} after every WebDriver command, on the thread that issued it.
+ */
+public interface CommandListener {
+
+    /**
+     * @param response raw response of the driver, {@code null} when the command failed with an exception.
+     */
+    void onCommand(Command command, Response response, long nanos);
+}
@@ -0,0 +1,223 @@
+package utils.profiling;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.remote.Command;
+import org.openqa.selenium.remote.Response;
+import utils.FrameworkConfig;
+import utils.LatencyHistogram;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Count, latency histogram, failures and payload size per WebDriver command type, plus detection of N+1 lookup
+ * patterns ({@link CommandPatternDetector}). Enabled with {@code -Dfast.driver.metrics.enabled=true}; exposed over JMX
+ * as {@value #OBJECT_NAME}, logged every {@code fast.driver.metrics.dumpSeconds} (default 60, 0 disables) and at
+ * the end of the suite.
+ */
+public final class CommandMetrics implements CommandListener, CommandMetricsMXBean {
+    private static final Logger LOG = LogManager.getLogger(CommandMetrics.class);
+
+    public static final String OBJECT_NAME = "fast.framework:type=WebDriverCommands";
+
+    private static final int SAMPLED_ITEMS = 32;
+    private static final int MAX_SIZE_DEPTH = 4;
+
+    private final Map<String, CommandStats> stats = new ConcurrentHashMap<>();
+    private final CommandPatternDetector patternDetector =
+            new CommandPatternDetector(FrameworkConfig.getInt("fast.driver.metrics.nPlusOneThreshold", 10));
+    private final LongAdder total = new LongAdder();
+    private volatile long totalAtLastDump;
+
+    private CommandMetrics() { }
+
+    private static final class Holder {
+        private static final CommandMetrics INSTANCE = start(new CommandMetrics());
+    }
+
+    public static boolean isEnabled() {
+        return FrameworkConfig.getBoolean("fast.driver.metrics.enabled", false);
+    }
+
+    public static CommandMetrics getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    private static CommandMetrics start(CommandMetrics metrics) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(metrics, new ObjectName(OBJECT_NAME));
+        } catch (JMException e) {
+            LOG.warn("Could not register {} with JMX: {}", OBJECT_NAME, e.getMessage());
+        }
+        long dumpSeconds = FrameworkConfig.getLong("fast.driver.metrics.dumpSeconds", 60);
+        if (dumpSeconds > 0) {
+            ScheduledExecutorService dumper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "fast-command-metrics");
+                thread.setDaemon(true);
+                return thread;
+            });
+            dumper.scheduleAtFixedRate(metrics::dumpIfChanged, dumpSeconds, dumpSeconds, TimeUnit.SECONDS);
+        }
+        return metrics;
+    }
+
+    @Override
+    public void onCommand(Command command, Response response, long nanos) {
+        total.increment();
+        CommandStats commandStats = stats.computeIfAbsent(command.getName(), name -> new CommandStats());
+        commandStats.latency.record(nanos);
+        if (response == null || response.getStatus() != null && response.getStatus() != 0) {
+            commandStats.failures.increment();
+        }
+        commandStats.requestBytes.add(sizeOf(command.getParameters()));
+        if (response != null) {
+            commandStats.responseBytes.add(sizeOf(response.getValue()));
+        }
+        patternDetector.onCommand(command, response);
+    }
+
+    /**
+     * Estimated JSON size, computed without serializing: strings (page sources, screenshots) count by length, scalars
+     * by a fixed width, and collections larger than {@value #SAMPLED_ITEMS} items are extrapolated from their first items.
+     */
+    private static long sizeOf(Object payload) {
+        return sizeOf(payload, 0);
+    }
+
+    private static long sizeOf(Object payload, int depth) {
+        if (payload == null) {
+            return 4;
+        }
+        if (payload instanceof CharSequence) {
+            return ((CharSequence) payload).length() + 2;
+        }
+        if (payload instanceof Number || payload instanceof Boolean) {
+            return 8;
+        }
+        if (depth >= MAX_SIZE_DEPTH) {
+            return 16;  // deeper structures (e.g. capabilities) are rare and small
+        }
+        if (payload instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) payload;
+            long size = 2;
+            int sampled = 0;
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                if (sampled++ == SAMPLED_ITEMS) {
+                    return size * map.size() / SAMPLED_ITEMS;
+                }
+                size += sizeOf(entry.getKey(), depth + 1) + sizeOf(entry.getValue(), depth + 1) + 2;
+            }
+            return size;
+        }
+        if (payload instanceof Collection) {
+            Collection<?> collection = (Collection<?>) payload;
+            long size = 2;
+            int sampled = 0;
+            for (Object item : collection) {
+                if (sampled++ == SAMPLED_ITEMS) {
+                    return size * collection.size() / SAMPLED_ITEMS;
+                }
+                size += sizeOf(item, depth + 1) + 1;
+            }
+            return size;
+        }
+        return 64;  // element references and other objects the driver turns into small JSON objects
+    }
+
+    private void dumpIfChanged() {
+        long current = total.sum();
+        if (current != totalAtLastDump) {
+            totalAtLastDump = current;
+            LOG.info(getReport());
+        }
+    }
+
+    @Override
+    public long getTotalCommands() {
+        return total.sum();
+    }
+
+    @Override
+    public long getFailedCommands() {
+        long failed = 0;
+        for (CommandStats commandStats : stats.values()) {
+            failed += commandStats.failures.sum();
+        }
+        return failed;
+    }
+
+    @Override
+    public Map<String, Long> getCommandCounts() {
+        Map<String, Long> counts = new TreeMap<>();
+        stats.forEach((name, commandStats) -> counts.put(name, commandStats.latency.getCount()));
+        return counts;
+    }
+
+    @Override
+    public Map<String, Double> getMeanLatencyMillis() {
+        Map<String, Double> latencies = new TreeMap<>();
+        stats.forEach((name, commandStats) -> latencies.put(name, commandStats.latency.getMeanMillis()));
+        return latencies;
+    }
+
+    @Override
+    public Map<String, Double> getP95LatencyMillis() {
+        Map<String, Double> latencies = new TreeMap<>();
+        stats.forEach((name, commandStats) -> latencies.put(name, commandStats.latency.getPercentileMillis(95)));
+        return latencies;
+    }
+
+    @Override
+    public long getPatternDetections() {
+        return patternDetector.getDetectionCount();
+    }
+
+    @Override
+    public List<String> getRecentPatternDetections() {
+        return patternDetector.getRecentDetections();
+    }
+
+    @Override
+    public String getReport() {
+        List<Map.Entry<String, CommandStats>> entries = new ArrayList<>(stats.entrySet());
+        entries.sort(Comparator.comparingLong((Map.Entry<String, CommandStats> entry) -> entry.getValue().latency.getTotalMillis()).reversed());
+        StringBuilder report = new StringBuilder(String.format("WebDriver commands: total=%d, failed=%d, patternDetections=%d",
+                getTotalCommands(), getFailedCommands(), getPatternDetections()));
+        for (Map.Entry<String, CommandStats> entry : entries) {
+            CommandStats commandStats = entry.getValue();
+            long count = Math.max(1, commandStats.latency.getCount());
+            report.append(System.lineSeparator()).append(String.format("  %-24s %s, failed=%d, avgRequest=%dB, avgResponse=%dB",
+                    entry.getKey(), commandStats.latency, commandStats.failures.sum(),
+                    commandStats.requestBytes.sum() / count, commandStats.responseBytes.sum() / count));
+        }
+        return report.toString();
+    }
+
+    @Override
+    public void reset() {
+        stats.clear();
+        total.reset();
+        totalAtLastDump = 0;
+        patternDetector.reset();
+    }
+
+    private static final class CommandStats {
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder requestBytes = new LongAdder();
+        private final LongAdder responseBytes = new LongAdder();
+    }
+}
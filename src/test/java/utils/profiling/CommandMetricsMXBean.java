@@ -0,0 +1,28 @@
+package utils.profiling;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JMX view of {@link CommandMetrics}, registered as {@value CommandMetrics#OBJECT_NAME}.
+ */
+public interface CommandMetricsMXBean {
+
+    long getTotalCommands();
+
+    long getFailedCommands();
+
+    Map<String, Long> getCommandCounts();
+
+    Map<String, Double> getMeanLatencyMillis();
+
+    Map<String, Double> getP95LatencyMillis();
+
+    long getPatternDetections();
+
+    List<String> getRecentPatternDetections();
+
+    String getReport();
+
+    void reset();
+}
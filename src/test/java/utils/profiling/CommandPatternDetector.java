@@ -0,0 +1,137 @@
+package utils.profiling;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.remote.Command;
+import org.openqa.selenium.remote.DriverCommand;
+import org.openqa.selenium.remote.Response;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Spots N+1 round-trip patterns in the command stream of each thread:
+ * <ul>
+ *     <li>indexed lookups - consecutive element lookups whose locators differ only in numbers,
+ *     e.g. {@code //tr[1]/td[2]}, {@code //tr[2]/td[2]}...; repeating the same locator (polling) does not count</li>
+ *     <li>per-element loops - commands on the elements of one {@code findElements} result, one round-trip each</li>
+ * </ul>
+ * Both are reported once per occurrence when they reach the threshold; a batch or a single script usually replaces them.
+ */
+final class CommandPatternDetector {
+    private static final Logger LOG = LogManager.getLogger(CommandPatternDetector.class);
+
+    private static final int RECENT_DETECTIONS = 20;
+    private static final String W3C_ELEMENT_KEY = "element-6066-11e4-a52e-4f735466cecf";
+
+    private final int threshold;
+    private final ThreadLocal<State> states = ThreadLocal.withInitial(State::new);
+    private final AtomicLong detections = new AtomicLong();
+    private final Deque<String> recentDetections = new ArrayDeque<>();
+
+    CommandPatternDetector(int threshold) {
+        this.threshold = threshold;
+    }
+
+    void onCommand(Command command, Response response) {
+        State state = states.get();
+        Map<String, ?> parameters = command.getParameters();
+        switch (command.getName()) {
+            case DriverCommand.FIND_ELEMENT:
+            case DriverCommand.FIND_ELEMENTS:
+            case DriverCommand.FIND_CHILD_ELEMENT:
+            case DriverCommand.FIND_CHILD_ELEMENTS:
+                onLookup(state, parameters.get("using") + "=" + parameters.get("value"));
+                if (DriverCommand.FIND_ELEMENTS.equals(command.getName()) && response != null) {
+                    state.listLocator = parameters.get("using") + "=" + parameters.get("value");
+                    state.listElements = elementIdsOf(response.getValue());
+                    state.perElementCommands = 0;
+                    state.perElementReported = false;
+                }
+                break;
+            default:
+                break;
+        }
+        Object elementId = parameters.get("id");
+        if (elementId != null && state.listElements.contains(String.valueOf(elementId))
+                && ++state.perElementCommands == threshold && !state.perElementReported) {
+            state.perElementReported = true;
+            report("N+1: " + threshold + "+ per-element commands (last: " + command.getName() + ") on the "
+                    + state.listElements.size() + " elements found by " + state.listLocator);
+        }
+    }
+
+    private void onLookup(State state, String locator) {
+        if (locator.equals(state.lastLookup)) {
+            return;  // the same element again, e.g. polled by a wait
+        }
+        state.lastLookup = locator;
+        String template = locator.replaceAll("\\d+", "#");
+        if (!template.equals(state.lookupTemplate)) {
+            state.lookupTemplate = template;
+            state.indexedLookups = 1;
+            return;
+        }
+        if (++state.indexedLookups == threshold) {
+            report("N+1: " + threshold + "+ lookups of indexed locators like " + locator);
+        }
+    }
+
+    private static Set<String> elementIdsOf(Object value) {
+        Set<String> ids = new HashSet<>();
+        if (value instanceof Collection) {
+            for (Object element : (Collection<?>) value) {
+                if (element instanceof Map) {
+                    Object id = ((Map<?, ?>) element).get(W3C_ELEMENT_KEY);
+                    ids.add(String.valueOf(id != null ? id : ((Map<?, ?>) element).get("ELEMENT")));
+                }
+            }
+        }
+        return ids;
+    }
+
+    private void report(String detection) {
+        detections.incrementAndGet();
+        synchronized (recentDetections) {
+            if (recentDetections.size() == RECENT_DETECTIONS) {
+                recentDetections.removeFirst();
+            }
+            recentDetections.addLast(detection);
+        }
+        LOG.warn(detection);
+    }
+
+    long getDetectionCount() {
+        return detections.get();
+    }
+
+    List<String> getRecentDetections() {
+        synchronized (recentDetections) {
+            return new ArrayList<>(recentDetections);
+        }
+    }
+
+    void reset() {
+        detections.set(0);
+        synchronized (recentDetections) {
+            recentDetections.clear();
+        }
+    }
+
+    private static final class State {
+        private String lastLookup;
+        private String lookupTemplate;
+        private int indexedLookups;
+        private String listLocator;
+        private Set<String> listElements = new HashSet<>();
+        private int perElementCommands;
+        private boolean perElementReported;
+    }
+}
@@ -0,0 +1,85 @@
+package utils.profiling;
+
+import lombok.NonNull;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.Command;
+import org.openqa.selenium.remote.CommandExecutor;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.Response;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Times every command a {@link RemoteWebDriver} (local browsers included) sends to its driver, element commands
+ * too, and passes it to the {@link CommandListener}s: the {@link Profiler} and, when enabled, {@link CommandMetrics}.
+ * Installed on each session by {@code DriverProviders}. Wrapping the executor rather than the driver keeps the
+ * driver's own type, so casts to {@code JavascriptExecutor} or {@code TakesScreenshot} keep working.
+ */
+public class CommandTimingExecutor implements CommandExecutor {
+    private static final Logger LOG = LogManager.getLogger(CommandTimingExecutor.class);
+
+    private static final List<CommandListener> LISTENERS = new CopyOnWriteArrayList<>();
+
+    static {
+        if (Profiler.isEnabled()) {
+            LISTENERS.add((command, response, nanos) -> Profiler.record(Profiler.Category.COMMAND, command.getName(), nanos));
+        }
+        if (CommandMetrics.isEnabled()) {
+            LISTENERS.add(CommandMetrics.getInstance());
+        }
+    }
+
+    private final CommandExecutor delegate;
+
+    CommandTimingExecutor(CommandExecutor delegate) {
+        this.delegate = delegate;
+    }
+
+    public static void addListener(@NonNull CommandListener listener) {
+        LISTENERS.add(listener);
+    }
+
+    /**
+     * Wraps the session's command executor. Drivers that are not a {@link RemoteWebDriver} are left alone.
+     */
+    public static void install(WebDriver driver) {
+        if (!(driver instanceof RemoteWebDriver) || LISTENERS.isEmpty()) {
+            return;
+        }
+        RemoteWebDriver remoteWebDriver = (RemoteWebDriver) driver;
+        if (remoteWebDriver.getCommandExecutor() instanceof CommandTimingExecutor) {
+            return;
+        }
+        try {
+            Method setter = RemoteWebDriver.class.getDeclaredMethod("setCommandExecutor", CommandExecutor.class);
+            setter.setAccessible(true);
+            setter.invoke(remoteWebDriver, new CommandTimingExecutor(remoteWebDriver.getCommandExecutor()));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            LOG.warn("Driver commands of {} will not be instrumented: {}", driver.getClass().getSimpleName(), e.toString());
+        }
+    }
+
+    @Override
+    public Response execute(Command command) throws IOException {
+        long start = System.nanoTime();
+        Response response = null;
+        try {
+            response = delegate.execute(command);
+            return response;
+        } finally {
+            long nanos = System.nanoTime() - start;
+            for (CommandListener listener : LISTENERS) {
+                try {
+                    listener.onCommand(command, response, nanos);
+                } catch (RuntimeException e) {
+                    LOG.debug("Command listener {} failed: {}", listener, e.toString());
+                }
+            }
+        }
+    }
+}
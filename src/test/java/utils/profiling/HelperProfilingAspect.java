@@ -0,0 +1,58 @@
+package utils.profiling;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.openqa.selenium.By;
+
+/**
+ * Opens a profiler span around every public {@code SeleniumElementsHelper} call (named after the method and its
+ * locators, e.g. {@code click(By.id: submit)}), every batch and every wait of a wait engine.
+ * Woven at load time by the AspectJ agent the surefire configuration already uses for Allure steps
+ * (registered in {@code META-INF/aop-ajc.xml}).
+ */
+@Aspect
+public class HelperProfilingAspect {
+
+    @Around("execution(public * helpers.SeleniumElementsHelper.*(..))"
+            + " && !execution(* helpers.SeleniumElementsHelper.get*Engine())"
+            + " && !execution(* helpers.SeleniumElementsHelper.getElementCache())"
+            + " && !execution(* helpers.SeleniumElementsHelper.batch())"
+            + " || execution(public * helpers.ElementBatch.execute())")
+    public Object profileHelperCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!Profiler.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        Span span = Profiler.open(Profiler.Category.HELPER, describe(joinPoint));
+        try {
+            return joinPoint.proceed();
+        } finally {
+            span.close();
+        }
+    }
+
+    @Around("execution(* helpers.WaitEngine+.until*(String, ..))")
+    public Object profileWait(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!Profiler.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        Span span = Profiler.open(Profiler.Category.WAIT, String.valueOf(joinPoint.getArgs()[0]));
+        try {
+            return joinPoint.proceed();
+        } finally {
+            span.close();
+        }
+    }
+
+    private static String describe(ProceedingJoinPoint joinPoint) {
+        StringBuilder name = new StringBuilder(joinPoint.getSignature().getName()).append('(');
+        boolean first = true;
+        for (Object argument : joinPoint.getArgs()) {
+            if (argument instanceof By) {
+                name.append(first ? "" : ", ").append(argument);
+                first = false;
+            }
+        }
+        return name.append(')').toString();
+    }
+}
@@ -0,0 +1,224 @@
+package utils.profiling;
+
+import org.openqa.selenium.json.Json;
+import utils.LatencyHistogram;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Aggregated profile of one test or, when fed several tests, of the suite:
+ * <ul>
+ *     <li>self time per category (driver commands, waits, helper code, test code between calls)</li>
+ *     <li>count, total, p50/p95/max per step, helper call (per locator), wait and command</li>
+ *     <li>self time per call stack in the folded format read by flamegraph.pl and speedscope</li>
+ * </ul>
+ * Adding tests is thread-safe.
+ */
+public final class ProfileReport {
+
+    private final String name;
+    private final AtomicLong tests = new AtomicLong();
+    private final LatencyHistogram testDurations = new LatencyHistogram();
+    private final Map<Profiler.Category, LongAdder> selfNanos = new ConcurrentHashMap<>();
+    private final Map<String, HotSpot> hotSpots = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> foldedNanos = new ConcurrentHashMap<>();
+    private final boolean recordsSteps;
+    private final List<Map<String, Object>> steps = Collections.synchronizedList(new ArrayList<>());
+
+    /**
+     * @param recordsSteps whether to keep the step timeline; only per-test reports do, a suite report would
+     *                     accumulate every step of the run.
+     */
+    ProfileReport(String name, boolean recordsSteps) {
+        this.name = name;
+        this.recordsSteps = recordsSteps;
+    }
+
+    static ProfileReport of(Span test) {
+        ProfileReport report = new ProfileReport(test.getName(), true);
+        report.add(test);
+        return report;
+    }
+
+    void add(Span test) {
+        tests.incrementAndGet();
+        testDurations.record(test.getDurationNanos());
+        for (Span child : test.getChildren()) {
+            if (recordsSteps && child.getCategory() == Profiler.Category.STEP) {
+                Map<String, Object> step = new LinkedHashMap<>();
+                step.put("name", child.getName());
+                step.put("startMillis", (child.getStartNanos() - test.getStartNanos()) / 1_000_000);
+                step.put("millis", child.getDurationNanos() / 1_000_000);
+                steps.add(step);
+            }
+        }
+        collect(test, null);
+    }
+
+    private void collect(Span span, String parentStack) {
+        String stack = parentStack == null ? frameOf(span) : parentStack + ";" + frameOf(span);
+        long self = span.getSelfNanos();
+        foldedNanos.computeIfAbsent(stack, key -> new LongAdder()).add(self);
+        selfNanos.computeIfAbsent(span.getCategory(), key -> new LongAdder()).add(self);
+        if (span.getCategory() != Profiler.Category.TEST) {
+            hotSpots.computeIfAbsent(span.getCategory() + " " + span.getName(), key -> new HotSpot(span.getCategory(), span.getName()))
+                    .durations.record(span.getDurationNanos());
+        }
+        for (Span child : span.getChildren()) {
+            collect(child, stack);
+        }
+    }
+
+    private static String frameOf(Span span) {
+        String frame;
+        switch (span.getCategory()) {
+            case STEP:
+                frame = "step: " + span.getName();
+                break;
+            case WAIT:
+                frame = "wait: " + span.getName();
+                break;
+            case COMMAND:
+                frame = "driver: " + span.getName();
+                break;
+            default:
+                frame = span.getName();
+        }
+        return frame.replace(';', ',').replace('\n', ' ').replace('\r', ' ');
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getTestCount() {
+        return tests.get();
+    }
+
+    /**
+     * @return name, start offset and duration of every step, in the order they ran; empty for the suite report.
+     */
+    public List<Map<String, Object>> getSteps() {
+        synchronized (steps) {
+            return new ArrayList<>(steps);
+        }
+    }
+
+    public Map<Profiler.Category, Long> getSelfMillisByCategory() {
+        Map<Profiler.Category, Long> millis = new TreeMap<>();
+        selfNanos.forEach((category, nanos) -> millis.put(category, TimeUnit.NANOSECONDS.toMillis(nanos.sum())));
+        return millis;
+    }
+
+    /**
+     * @return the spans with the most total time, highest first.
+     */
+    public List<HotSpot> getHotSpots(int limit) {
+        List<HotSpot> sorted = new ArrayList<>(hotSpots.values());
+        sorted.sort(Comparator.comparingLong((HotSpot hotSpot) -> hotSpot.durations.getTotalMillis()).reversed());
+        return sorted.subList(0, Math.min(limit, sorted.size()));
+    }
+
+    public String toJson(int hotSpotLimit) {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("name", name);
+        report.put("tests", tests.get());
+        report.put("durationMillis", testDurations.getTotalMillis());
+        report.put("selfMillisByCategory", getSelfMillisByCategory());
+        if (recordsSteps) {
+            report.put("steps", getSteps());
+        }
+        List<Map<String, Object>> hotSpotList = new ArrayList<>();
+        for (HotSpot hotSpot : getHotSpots(hotSpotLimit)) {
+            hotSpotList.add(hotSpot.toMap());
+        }
+        report.put("hotSpots", hotSpotList);
+        return new Json().toJson(report);
+    }
+
+    /**
+     * @return one {@code frame;frame;frame microseconds} line per call stack.
+     */
+    public String toFolded() {
+        StringBuilder folded = new StringBuilder();
+        new TreeMap<>(foldedNanos).forEach((stack, nanos) -> {
+            long micros = nanos.sum() / 1000;
+            if (micros > 0) {
+                folded.append(stack).append(' ').append(micros).append('\n');
+            }
+        });
+        return folded.toString();
+    }
+
+    public String getSummary(int hotSpotLimit) {
+        StringBuilder summary = new StringBuilder("Profile '" + name + "' (" + tests.get() + " tests, "
+                + testDurations.getTotalMillis() + " ms): self time " + getSelfMillisByCategory());
+        for (HotSpot hotSpot : getHotSpots(hotSpotLimit)) {
+            summary.append(System.lineSeparator()).append("  ").append(hotSpot);
+        }
+        return summary.toString();
+    }
+
+    /**
+     * Writes {@code <baseName>.json} and {@code <baseName>.folded} into the directory.
+     */
+    public void writeTo(Path directory, String baseName, int hotSpotLimit) throws IOException {
+        Files.createDirectories(directory);
+        Files.write(directory.resolve(baseName + ".json"), toJson(hotSpotLimit).getBytes(StandardCharsets.UTF_8));
+        Files.write(directory.resolve(baseName + ".folded"), toFolded().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static final class HotSpot {
+        private final Profiler.Category category;
+        private final String name;
+        private final LatencyHistogram durations = new LatencyHistogram();
+
+        private HotSpot(Profiler.Category category, String name) {
+            this.category = category;
+            this.name = name;
+        }
+
+        public Profiler.Category getCategory() {
+            return category;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public LatencyHistogram getDurations() {
+            return durations;
+        }
+
+        private Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("category", category.name());
+            map.put("name", name);
+            map.put("count", durations.getCount());
+            map.put("totalMillis", durations.getTotalMillis());
+            map.put("p50Millis", durations.getPercentileMillis(50));
+            map.put("p95Millis", durations.getPercentileMillis(95));
+            map.put("maxMillis", durations.getMaxMillis());
+            return map;
+        }
+
+        @Override
+        public String toString() {
+            return category + " " + name + ": total=" + durations.getTotalMillis() + "ms, " + durations;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package utils.profiling;
+
+import utils.FrameworkConfig;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Records where a test spends its time as a tree of {@link Span}s: steps ({@code TestBase.testStep}), helper calls
+ * and waits ({@link HelperProfilingAspect}) and WebDriver commands ({@link CommandTimingExecutor}).
+ * Each test thread owns its tree; {@link #endTest} turns it into a {@link ProfileReport} and adds it to the suite profile.
+ * Disable with {@code -Dfast.profiler.enabled=false}.
+ */
+public final class Profiler {
+
+    public enum Category { TEST, STEP, HELPER, WAIT, COMMAND }
+
+    private static final boolean ENABLED = FrameworkConfig.getBoolean("fast.profiler.enabled", true);
+    private static final ThreadLocal<TestProfile> CURRENT = new ThreadLocal<>();
+    private static final ProfileReport SUITE = new ProfileReport("suite", false);
+
+    private Profiler() { }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    public static void startTest(String testName) {
+        if (ENABLED) {
+            CURRENT.set(new TestProfile(new Span(Category.TEST, testName, System.nanoTime())));
+        }
+    }
+
+    /**
+     * Ends the current step and everything still open inside it, and starts the next one.
+     */
+    public static void step(String name) {
+        TestProfile profile = CURRENT.get();
+        if (profile == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        finishOpenSpans(profile, now);
+        Span step = new Span(Category.STEP, name, now);
+        profile.root.add(step);
+        profile.open.push(step);
+    }
+
+    public static Span open(Category category, String name) {
+        TestProfile profile = CURRENT.get();
+        if (profile == null) {
+            return Span.NOOP;
+        }
+        Span span = new Span(category, name, System.nanoTime());
+        parentOf(profile).add(span);
+        profile.open.push(span);
+        return span;
+    }
+
+    /**
+     * Records an operation that has already finished, e.g. a driver command timed by its executor.
+     */
+    public static void record(Category category, String name, long nanos) {
+        TestProfile profile = CURRENT.get();
+        if (profile == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        Span span = new Span(category, name, now - nanos);
+        span.finish(now);
+        parentOf(profile).add(span);
+    }
+
+    /**
+     * Finishes the current test's profile.
+     *
+     * @return the test's report, or null when no test was profiled on this thread.
+     */
+    public static ProfileReport endTest() {
+        TestProfile profile = CURRENT.get();
+        if (profile == null) {
+            return null;
+        }
+        CURRENT.remove();
+        long now = System.nanoTime();
+        finishOpenSpans(profile, now);
+        profile.root.finish(now);
+        SUITE.add(profile.root);
+        return ProfileReport.of(profile.root);
+    }
+
+    public static ProfileReport getSuiteReport() {
+        return SUITE;
+    }
+
+    static void close(Span span) {
+        TestProfile profile = CURRENT.get();
+        if (profile == null || !span.isOpen() || !profile.open.contains(span)) {
+            return;
+        }
+        long now = System.nanoTime();
+        Span top;
+        do {
+            top = profile.open.pop();
+            top.finish(now);  // spans opened inside this one and left open end with it
+        } while (top != span);
+    }
+
+    private static Span parentOf(TestProfile profile) {
+        Span parent = profile.open.peek();
+        return parent == null ? profile.root : parent;
+    }
+
+    private static void finishOpenSpans(TestProfile profile, long now) {
+        while (!profile.open.isEmpty()) {
+            profile.open.pop().finish(now);
+        }
+    }
+
+    private static final class TestProfile {
+        private final Span root;
+        private final Deque<Span> open = new ArrayDeque<>();
+
+        private TestProfile(Span root) {
+            this.root = root;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package utils.profiling;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One timed unit of work in a test profile: the test itself, a step, a helper call, a wait or a driver command.
+ * Spans returned by {@link Profiler#open} must be closed by the thread that opened them, ideally with try-with-resources.
+ */
+public final class Span implements AutoCloseable {
+
+    static final Span NOOP = new Span(null, null, 0);
+
+    private final Profiler.Category category;
+    private final String name;
+    private final long startNanos;
+    private long durationNanos = -1;
+    private List<Span> children;
+
+    Span(Profiler.Category category, String name, long startNanos) {
+        this.category = category;
+        this.name = name;
+        this.startNanos = startNanos;
+    }
+
+    public Profiler.Category getCategory() {
+        return category;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    /**
+     * @return duration minus the time spent in child spans.
+     */
+    public long getSelfNanos() {
+        long childNanos = 0;
+        for (Span child : getChildren()) {
+            childNanos += child.durationNanos;
+        }
+        return Math.max(0, durationNanos - childNanos);
+    }
+
+    public List<Span> getChildren() {
+        return children == null ? Collections.emptyList() : children;
+    }
+
+    boolean isOpen() {
+        return durationNanos < 0;
+    }
+
+    long getStartNanos() {
+        return startNanos;
+    }
+
+    void finish(long endNanos) {
+        durationNanos = Math.max(0, endNanos - startNanos);
+    }
+
+    void add(Span child) {
+        if (children == null) {
+            children = new ArrayList<>();
+        }
+        children.add(child);
+    }
+
+    @Override
+    public void close() {
+        if (this != NOOP) {
+            Profiler.close(this);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return category + " " + name + " (" + durationNanos / 1_000_000 + " ms)";
+    }
+}
@@ -0,0 +1,135 @@
+package utils.reporting;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.AllureResultsWriter;
+import io.qameta.allure.FileSystemResultsWriter;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import utils.FrameworkConfig;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Sets up where and how Allure results of this run are written. Settings:
+ * <ul>
+ *     <li>{@code fast.allure.runsDirectory} - default {@code target/allure-runs}; each run writes into its own
+ *     {@code <runsDirectory>/<runId>} directory, so the report only reads the current run</li>
+ *     <li>{@code fast.allure.runId} - set by the pom to the build timestamp, generated otherwise</li>
+ *     <li>{@code fast.allure.keepRuns} - older run directories are deleted, default {@code 5}</li>
+ *     <li>{@code fast.allure.writer} - {@code files} (regular Allure results) or {@code compact} (one append-only
+ *     {@code .jsonl} file per JVM, expanded with {@link CompactResults})</li>
+ *     <li>{@code fast.allure.async} - write from a background thread, default {@code true};
+ *     {@code fast.allure.queueSize} - default {@code 10000}</li>
+ * </ul>
+ */
+public final class AllureResults {
+    private static final Logger LOG = LogManager.getLogger(AllureResults.class);
+
+    private static Path runDirectory;
+    private static AllureResultsWriter writer;
+
+    private AllureResults() { }
+
+    /**
+     * Installs the configured writer as Allure's lifecycle. Must run before the Allure TestNG listener is created,
+     * which is why {@code base.AllureResultsListener} is registered as a TestNG service ahead of it.
+     */
+    public static synchronized void install() {
+        if (writer != null) {
+            return;
+        }
+        Path runsDirectory = getRunsDirectory();
+        String runId = FrameworkConfig.get("fast.allure.runId", new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date()));
+        runDirectory = runsDirectory.resolve(runId);
+        try {
+            Files.createDirectories(runDirectory);
+            deleteOldRuns(runsDirectory, FrameworkConfig.getInt("fast.allure.keepRuns", 5));
+            boolean compact = "compact".equalsIgnoreCase(FrameworkConfig.get("fast.allure.writer", "files"));
+            AllureResultsWriter resultsWriter = compact
+                    ? new CompactResultsWriter(runDirectory.resolve("results-" + UUID.randomUUID() + ".jsonl"))
+                    : new FileSystemResultsWriter(runDirectory);
+            writer = FrameworkConfig.getBoolean("fast.allure.async", true)
+                    ? new AsyncResultsWriter(resultsWriter, FrameworkConfig.getInt("fast.allure.queueSize", 10_000))
+                    : resultsWriter;
+        } catch (IOException e) {
+            LOG.error("Could not prepare Allure run directory " + runDirectory + "; using Allure's default writer", e);
+            return;
+        }
+        System.setProperty("allure.results.directory", runDirectory.toString());
+        Allure.setLifecycle(new AllureLifecycle(writer));
+        Runtime.getRuntime().addShutdownHook(new Thread(AllureResults::flush, "fast-allure-flush"));
+        LOG.info("Allure results of this run go to " + runDirectory + " (" + writer.getClass().getSimpleName() + ")");
+    }
+
+    /**
+     * Blocks until every result written so far is on disk.
+     */
+    public static void flush() {
+        if (writer instanceof Flushable) {
+            try {
+                ((Flushable) writer).flush();
+            } catch (IOException e) {
+                LOG.error("Could not flush Allure results: " + e.getMessage(), e);
+            }
+        }
+    }
+
+    public static Path getRunsDirectory() {
+        return Paths.get(FrameworkConfig.get("fast.allure.runsDirectory", "target/allure-runs"));
+    }
+
+    public static synchronized Path getRunDirectory() {
+        return runDirectory;
+    }
+
+    public static synchronized String getStatistics() {
+        return writer instanceof AsyncResultsWriter ? ((AsyncResultsWriter) writer).getStatistics() : "AllureResults: synchronous writer";
+    }
+
+    /**
+     * @return run directories under the runs directory, oldest first.
+     */
+    public static List<Path> listRuns(Path runsDirectory) {
+        List<Path> runs = new ArrayList<>();
+        if (!Files.isDirectory(runsDirectory)) {
+            return runs;
+        }
+        try (DirectoryStream<Path> directories = Files.newDirectoryStream(runsDirectory, Files::isDirectory)) {
+            directories.forEach(runs::add);
+        } catch (IOException e) {
+            LOG.warn("Could not list Allure runs in " + runsDirectory + ": " + e.getMessage());
+        }
+        runs.sort(Comparator.comparing(Path::getFileName));
+        return runs;
+    }
+
+    private static void deleteOldRuns(Path runsDirectory, int keepRuns) {
+        List<Path> runs = listRuns(runsDirectory);
+        runs.remove(runDirectory);
+        for (int i = 0; i < runs.size() - Math.max(0, keepRuns - 1); i++) {
+            deleteRecursively(runs.get(i));
+        }
+    }
+
+    private static void deleteRecursively(Path directory) {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            LOG.info("Deleted old Allure run " + directory);
+        } catch (IOException e) {
+            LOG.warn("Could not delete old Allure run " + directory + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package utils.reporting;
+
+import io.qameta.allure.AllureResultsWriter;
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.model.TestResultContainer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands Allure results to a single background thread, so serializing and writing them does not block test threads.
+ * The queue is bounded: when the writer falls behind, tests wait for space instead of results being dropped.
+ * Attachment streams are read on the calling thread because the caller may close them after the call.
+ */
+public class AsyncResultsWriter implements AllureResultsWriter, Flushable, Closeable {
+    private static final Logger LOG = LogManager.getLogger(AsyncResultsWriter.class);
+
+    private final AllureResultsWriter delegate;
+    private final BlockingQueue<Runnable> queue;
+    private final Thread worker;
+    private final Object drainLock = new Object();
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong blockedNanos = new AtomicLong();
+    private volatile boolean closed;
+
+    public AsyncResultsWriter(AllureResultsWriter delegate, int queueSize) {
+        this.delegate = delegate;
+        this.queue = new ArrayBlockingQueue<>(queueSize);
+        this.worker = new Thread(this::drain, "fast-allure-writer");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    @Override
+    public void write(TestResult testResult) {
+        submit(() -> delegate.write(testResult));
+    }
+
+    @Override
+    public void write(TestResultContainer testResultContainer) {
+        submit(() -> delegate.write(testResultContainer));
+    }
+
+    @Override
+    public void write(String source, InputStream attachment) {
+        byte[] content = readFully(attachment);
+        submit(() -> delegate.write(source, new ByteArrayInputStream(content)));
+    }
+
+    /**
+     * Blocks until every result submitted so far has been written.
+     */
+    @Override
+    public void flush() {
+        synchronized (drainLock) {
+            while (pending.get() > 0 && worker.isAlive()) {
+                try {
+                    drainLock.wait(100);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        flush();
+        closed = true;
+        worker.interrupt();
+    }
+
+    public String getStatistics() {
+        return String.format("AsyncResultsWriter: written=%d, failed=%d, pending=%d, testThreadsBlocked=%dms",
+                written.get(), failed.get(), pending.get(), TimeUnit.NANOSECONDS.toMillis(blockedNanos.get()));
+    }
+
+    private void submit(Runnable task) {
+        if (closed) {
+            task.run();  // late results, e.g. from shutdown hooks, are written synchronously
+            return;
+        }
+        pending.incrementAndGet();
+        if (queue.offer(task)) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            queue.put(task);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pending.decrementAndGet();
+            task.run();
+        } finally {
+            blockedNanos.addAndGet(System.nanoTime() - start);
+        }
+    }
+
+    private void drain() {
+        while (!closed || !queue.isEmpty()) {
+            Runnable task;
+            try {
+                task = queue.take();
+            } catch (InterruptedException e) {
+                if (closed) {
+                    return;
+                }
+                continue;
+            }
+            try {
+                task.run();
+                written.incrementAndGet();
+            } catch (RuntimeException e) {
+                failed.incrementAndGet();
+                LOG.error("Could not write Allure result: {}", e.getMessage(), e);
+            } finally {
+                if (pending.decrementAndGet() == 0) {
+                    flushDelegate();
+                    synchronized (drainLock) {
+                        drainLock.notifyAll();
+                    }
+                }
+            }
+        }
+    }
+
+    private void flushDelegate() {
+        if (delegate instanceof Flushable) {
+            try {
+                ((Flushable) delegate).flush();
+            } catch (IOException e) {
+                LOG.error("Could not flush Allure results: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    private static byte[] readFully(InputStream inputStream) {
+        try (InputStream in = inputStream) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read Allure attachment", e);
+        }
+    }
+}
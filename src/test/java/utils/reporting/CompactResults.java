@@ -0,0 +1,89 @@
+package utils.reporting;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.qameta.allure.model.Allure2ModelJackson;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Base64;
+
+/**
+ * Format of the compact results files written by {@link CompactResultsWriter}: one JSON object per line with
+ * {@code type} ({@value #RESULT}, {@value #CONTAINER} or {@value #ATTACHMENT}), {@code name} (uuid or attachment
+ * source) and {@code data} (the Allure model, or the Base64 attachment content).
+ */
+public final class CompactResults {
+    private static final Logger LOG = LogManager.getLogger(CompactResults.class);
+
+    public static final String FILE_PATTERN = "*.jsonl";
+    static final String TYPE = "type";
+    static final String NAME = "name";
+    static final String DATA = "data";
+    static final String RESULT = "result";
+    static final String CONTAINER = "container";
+    static final String ATTACHMENT = "attachment";
+
+    private CompactResults() { }
+
+    /**
+     * Writes the Allure files recorded in every compact file of {@code runDirectory} into {@code resultsDirectory}.
+     *
+     * @return number of files written.
+     */
+    public static int expand(Path runDirectory, Path resultsDirectory) throws IOException {
+        ObjectMapper mapper = Allure2ModelJackson.createMapper();
+        Files.createDirectories(resultsDirectory);
+        int files = 0;
+        try (DirectoryStream<Path> compactFiles = Files.newDirectoryStream(runDirectory, FILE_PATTERN)) {
+            for (Path compactFile : compactFiles) {
+                try (BufferedReader reader = Files.newBufferedReader(compactFile, StandardCharsets.UTF_8)) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        if (line.trim().isEmpty()) {
+                            continue;
+                        }
+                        JsonNode record = mapper.readTree(line);
+                        String name = record.get(NAME).asText();
+                        switch (record.get(TYPE).asText()) {
+                            case RESULT:
+                                mapper.writeValue(resultsDirectory.resolve(name + "-result.json").toFile(), record.get(DATA));
+                                break;
+                            case CONTAINER:
+                                mapper.writeValue(resultsDirectory.resolve(name + "-container.json").toFile(), record.get(DATA));
+                                break;
+                            case ATTACHMENT:
+                                Files.write(resultsDirectory.resolve(name), Base64.getDecoder().decode(record.get(DATA).asText()));
+                                break;
+                            default:
+                                LOG.warn("Skipping unknown record type in " + compactFile + ": " + record.get(TYPE));
+                                continue;
+                        }
+                        files++;
+                    }
+                }
+            }
+        }
+        LOG.info("Expanded " + files + " Allure files from " + runDirectory + " into " + resultsDirectory);
+        return files;
+    }
+
+    /**
+     * Usage: {@code CompactResults <runDirectory> [<resultsDirectory>]}; the results directory defaults to
+     * {@code <runDirectory>/allure-results}.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            throw new IllegalArgumentException("Usage: CompactResults <runDirectory> [<resultsDirectory>]");
+        }
+        Path runDirectory = Paths.get(args[0]);
+        expand(runDirectory, args.length > 1 ? Paths.get(args[1]) : runDirectory.resolve("allure-results"));
+    }
+}
@@ -0,0 +1,87 @@
+package utils.reporting;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.qameta.allure.AllureResultsWriter;
+import io.qameta.allure.model.Allure2ModelJackson;
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.model.TestResultContainer;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Base64;
+
+/**
+ * Appends every Allure result, container and attachment as one JSON line to a single file instead of writing
+ * one file each. {@link CompactResults#expand} turns the file into a regular Allure results directory on demand.
+ */
+public class CompactResultsWriter implements AllureResultsWriter, Flushable, Closeable {
+
+    private final ObjectMapper mapper = Allure2ModelJackson.createMapper().disable(SerializationFeature.INDENT_OUTPUT);
+    private final BufferedWriter writer;
+
+    public CompactResultsWriter(Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    @Override
+    public void write(TestResult testResult) {
+        append(record(CompactResults.RESULT, testResult.getUuid()).set(CompactResults.DATA, mapper.valueToTree(testResult)));
+    }
+
+    @Override
+    public void write(TestResultContainer testResultContainer) {
+        append(record(CompactResults.CONTAINER, testResultContainer.getUuid())
+                .set(CompactResults.DATA, mapper.valueToTree(testResultContainer)));
+    }
+
+    @Override
+    public void write(String source, InputStream attachment) {
+        try (InputStream in = attachment) {
+            ByteArrayOutputStream content = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                content.write(buffer, 0, read);
+            }
+            append(record(CompactResults.ATTACHMENT, source).put(CompactResults.DATA, Base64.getEncoder().encodeToString(content.toByteArray())));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write Allure attachment " + source, e);
+        }
+    }
+
+    @Override
+    public synchronized void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        writer.close();
+    }
+
+    private ObjectNode record(String type, String name) {
+        return mapper.createObjectNode().put(CompactResults.TYPE, type).put(CompactResults.NAME, name);
+    }
+
+    private synchronized void append(JsonNode record) {
+        try {
+            writer.write(mapper.writeValueAsString(record));
+            writer.newLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not append Allure " + record.get(CompactResults.TYPE).asText(), e);
+        }
+    }
+}
@@ -0,0 +1,302 @@
+package utils.reporting;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.logging.LogEntry;
+import org.openqa.selenium.logging.LogType;
+import org.openqa.selenium.logging.Logs;
+import utils.FrameworkConfig;
+import utils.profiling.ProfileReport;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Collects the evidence of a failed test while its browser is still open: screenshot, DOM, browser console,
+ * network requests (resource timing) and the step timeline of the test profile.
+ *
+ * <p>Only the driver round-trips run on the test thread; the attachments are registered with Allure right away,
+ * and decoding, compressing and writing their content happens on a small background pool. The queue is bounded:
+ * when it is full, the test thread writes its own artifacts instead of piling up screenshots in memory.
+ * Page sources larger than {@code fast.artifacts.compressAboveKb} (default 256) are attached gzipped.
+ *
+ * <p>Settings: {@code fast.artifacts.enabled} (default true), {@code fast.artifacts.threads} (default 2),
+ * {@code fast.artifacts.queueSize} (default 16).
+ */
+public final class FailureArtifacts {
+    private static final Logger LOG = LogManager.getLogger(FailureArtifacts.class);
+
+    private static final String PAGE_STATE_SCRIPT =
+            "var resources = [];"
+            + "var entries = window.performance && performance.getEntriesByType ? performance.getEntriesByType('resource') : [];"
+            + "for (var i = 0; i < entries.length; i++) {"
+            + "  var e = entries[i];"
+            + "  resources.push({ name: e.name, initiatorType: e.initiatorType, startMillis: Math.round(e.startTime),"
+            + "      millis: Math.round(e.duration), transferSize: e.transferSize || 0, status: e.responseStatus || null });"
+            + "}"
+            + "return { url: location.href, title: document.title, readyState: document.readyState,"
+            + "    html: document.documentElement ? document.documentElement.outerHTML : '', resources: resources };";
+
+    private static final boolean ENABLED = FrameworkConfig.getBoolean("fast.artifacts.enabled", true);
+    private static final int COMPRESS_ABOVE_BYTES = FrameworkConfig.getInt("fast.artifacts.compressAboveKb", 256) * 1024;
+    private static final ThreadPoolExecutor EXECUTOR = createExecutor();
+
+    private static final Object DRAIN_LOCK = new Object();
+    private static final AtomicLong pending = new AtomicLong();
+    private static final AtomicLong captured = new AtomicLong();
+    private static final AtomicLong written = new AtomicLong();
+    private static final AtomicLong failed = new AtomicLong();
+    private static final AtomicLong ranOnTestThread = new AtomicLong();
+    private static final AtomicLong writtenBytes = new AtomicLong();
+    private static final AtomicLong captureNanos = new AtomicLong();
+
+    private FailureArtifacts() { }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Captures the artifacts of a failed test and attaches them to the Allure test case or fixture running on this
+     * thread. Must be called before the driver is quit or returned to the pool. Never throws: a browser that is
+     * already gone yields fewer artifacts.
+     */
+    public static void capture(WebDriver driver, String testName, Throwable failure, ProfileReport profile) {
+        if (!ENABLED) {
+            return;
+        }
+        long start = System.nanoTime();
+        List<Artifact> artifacts = new ArrayList<>();
+        if (driver instanceof TakesScreenshot) {
+            try {
+                // decoding the base64 payload is left to the background writer
+                String screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BASE64);
+                artifacts.add(new Artifact("Screenshot", "image/png", ".png", () -> Base64.getMimeDecoder().decode(screenshot)));
+            } catch (WebDriverException e) {
+                LOG.debug("No screenshot of {}: {}", testName, firstLine(e));
+            }
+        }
+        Map<String, Object> pageState = readPageState(driver, testName);
+        if (pageState != null) {
+            String html = String.valueOf(pageState.remove("html"));
+            Object resources = pageState.remove("resources");
+            artifacts.add(text("Page source", "text/html", ".html", html));
+            artifacts.add(text("Network", "application/json", ".json", () -> new Json().toJson(resources)));
+        }
+        List<LogEntry> consoleEntries = readConsole(driver, testName);
+        if (consoleEntries != null) {
+            artifacts.add(text("Browser console", "text/plain", ".log", () -> formatConsole(consoleEntries)));
+        }
+        Map<String, Object> timeline = new LinkedHashMap<>();
+        timeline.put("test", testName);
+        timeline.put("failure", failure != null ? failure.toString() : null);
+        if (pageState != null) {
+            timeline.put("page", pageState);
+        }
+        timeline.put("steps", profile != null ? profile.getSteps() : Collections.emptyList());
+        artifacts.add(text("Step timeline", "application/json", ".json", () -> new Json().toJson(timeline)));
+
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        for (Artifact artifact : artifacts) {
+            artifact.source = lifecycle.prepareAttachment(artifact.name, artifact.type, artifact.extension);
+        }
+        captured.incrementAndGet();
+        captureNanos.addAndGet(System.nanoTime() - start);
+        submit(() -> write(lifecycle, artifacts));
+    }
+
+    /**
+     * Blocks until the artifacts of every capture so far are written; call it before the Allure results are flushed.
+     */
+    public static void flush() {
+        synchronized (DRAIN_LOCK) {
+            while (pending.get() > 0) {
+                try {
+                    DRAIN_LOCK.wait(100);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    public static String getStatistics() {
+        long captures = captured.get();
+        return String.format("FailureArtifacts[enabled=%s]: captures=%d, avgCapture=%dms, written=%d (%d KB), failed=%d, "
+                        + "pending=%d, writtenOnTestThread=%d",
+                ENABLED, captures, captures == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(captureNanos.get()) / captures,
+                written.get(), writtenBytes.get() / 1024, failed.get(), pending.get(), ranOnTestThread.get());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> readPageState(WebDriver driver, String testName) {
+        if (!(driver instanceof JavascriptExecutor)) {
+            return null;
+        }
+        try {
+            Object state = ((JavascriptExecutor) driver).executeScript(PAGE_STATE_SCRIPT);
+            if (state instanceof Map) {
+                return new LinkedHashMap<>((Map<String, Object>) state);
+            }
+        } catch (WebDriverException e) {
+            LOG.debug("No page state of {}: {}", testName, firstLine(e));
+        }
+        return null;
+    }
+
+    /**
+     * Console logs are only available from drivers that support the logging endpoint, e.g. Chrome.
+     */
+    private static List<LogEntry> readConsole(WebDriver driver, String testName) {
+        try {
+            Logs logs = driver.manage().logs();
+            return logs != null ? logs.get(LogType.BROWSER).getAll() : null;
+        } catch (WebDriverException | UnsupportedOperationException e) {
+            LOG.debug("No browser console of {}: {}", testName, firstLine(e));
+            return null;
+        }
+    }
+
+    private static String formatConsole(List<LogEntry> entries) {
+        SimpleDateFormat format = new SimpleDateFormat("HH:mm:ss.SSS");
+        StringBuilder console = new StringBuilder();
+        for (LogEntry entry : entries) {
+            console.append(format.format(new Date(entry.getTimestamp()))).append(' ')
+                    .append(entry.getLevel()).append(' ').append(entry.getMessage()).append('\n');
+        }
+        return console.toString();
+    }
+
+    private static void write(AllureLifecycle lifecycle, List<Artifact> artifacts) {
+        for (Artifact artifact : artifacts) {
+            try {
+                byte[] content = artifact.content.get();
+                lifecycle.writeAttachment(artifact.source, new ByteArrayInputStream(content));
+                written.incrementAndGet();
+                writtenBytes.addAndGet(content.length);
+            } catch (RuntimeException e) {
+                failed.incrementAndGet();
+                LOG.warn("Could not write failure artifact '{}': {}", artifact.name, e.getMessage());
+            }
+        }
+    }
+
+    private static Artifact text(String name, String type, String extension, TextSupplier text) {
+        return new Artifact(name, type, extension, () -> text.get().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * The size is known up front, so whether to compress is decided before the attachment is registered.
+     */
+    private static Artifact text(String name, String type, String extension, String text) {
+        if (text.length() <= COMPRESS_ABOVE_BYTES) {
+            return text(name, type, extension, () -> text);
+        }
+        return new Artifact(name, "application/gzip", extension + ".gz", () -> gzip(text.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static byte[] gzip(byte[] content) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(content.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(content);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+
+    private static void submit(Runnable task) {
+        pending.incrementAndGet();
+        Runnable tracked = () -> {
+            try {
+                task.run();
+            } finally {
+                if (pending.decrementAndGet() == 0) {
+                    synchronized (DRAIN_LOCK) {
+                        DRAIN_LOCK.notifyAll();
+                    }
+                }
+            }
+        };
+        try {
+            EXECUTOR.execute(tracked);
+        } catch (RuntimeException e) {
+            tracked.run();
+        }
+    }
+
+    private static ThreadPoolExecutor createExecutor() {
+        int threads = Math.max(1, FrameworkConfig.getInt("fast.artifacts.threads", 2));
+        AtomicInteger counter = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, FrameworkConfig.getInt("fast.artifacts.queueSize", 16))),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "fast-artifacts-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (runnable, pool) -> {
+                    ranOnTestThread.incrementAndGet();
+                    runnable.run();
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static String firstLine(Throwable e) {
+        String message = String.valueOf(e.getMessage());
+        int newLine = message.indexOf('\n');
+        return newLine < 0 ? message : message.substring(0, newLine);
+    }
+
+    @FunctionalInterface
+    private interface ContentSupplier {
+        byte[] get();
+    }
+
+    @FunctionalInterface
+    private interface TextSupplier {
+        String get();
+    }
+
+    private static final class Artifact {
+        private final String name;
+        private final String type;
+        private final String extension;
+        private final ContentSupplier content;
+        private String source;
+
+        private Artifact(String name, String type, String extension, ContentSupplier content) {
+            this.name = name;
+            this.type = type;
+            this.extension = extension;
+            this.content = content;
+        }
+    }
+}